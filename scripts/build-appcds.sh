@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+#
+# Builds an AppCDS archive for the game launcher.
+#
+# The archive is produced by a training run of VortexWarmUp, which loads and
+# exercises the classes on the Vortex gameplay path. Launching with the
+# archive maps those classes from shared memory instead of loading, verifying
+# and linking them again on every start.
+#
+# CDS only archives classes from JAR files, so the compiled classes and
+# resources are packaged into build/cds/termProject.jar first.
+#
+# Usage:
+#   JAVAFX_LIB=/path/to/javafx-sdk/lib CLASSES_DIR=out/production/Comp2522TermProject \
+#       scripts/build-appcds.sh
+#
+# Then launch with:
+#   java -XX:SharedArchiveFile=build/cds/termProject.jsa \
+#        --module-path "$JAVAFX_LIB" --add-modules javafx.controls \
+#        -cp build/cds/termProject.jar ca.bcit.termProject.Main
+
+set -euo pipefail
+
+: "${JAVAFX_LIB:?Set JAVAFX_LIB to the JavaFX SDK lib directory}"
+CLASSES_DIR="${CLASSES_DIR:-out/production/Comp2522TermProject}"
+BUILD_DIR="build/cds"
+APP_JAR="$BUILD_DIR/termProject.jar"
+ARCHIVE="$BUILD_DIR/termProject.jsa"
+
+if [ ! -d "$CLASSES_DIR" ]; then
+    echo "Compiled classes not found in $CLASSES_DIR, build the project first." >&2
+    exit 1
+fi
+
+mkdir -p "$BUILD_DIR"
+rm -f "$APP_JAR" "$ARCHIVE"
+
+jar --create --file "$APP_JAR" -C "$CLASSES_DIR" .
+
+java -XX:ArchiveClassesAtExit="$ARCHIVE" \
+     --module-path "$JAVAFX_LIB" --add-modules javafx.controls \
+     -cp "$APP_JAR" ca.bcit.termProject.vortexGame.VortexWarmUp
+
+echo "AppCDS archive written to $ARCHIVE"
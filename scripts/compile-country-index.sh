@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+#
+# Compiles the word game's country text files (src/res/[a-z].txt) into the
+# binary index src/res/countries.idx.
+#
+# World maps the index at startup instead of parsing the text files. The index
+# records the size and modification time of every text file, and World rebuilds
+# it itself when it is missing or stale. Run this script only to build it ahead
+# of time, for example when src/res will not be writable at startup.
+#
+# Usage (from the repository root):
+#   CLASSES_DIR=out/production/Comp2522TermProject scripts/compile-country-index.sh
+
+set -euo pipefail
+
+CLASSES_DIR="${CLASSES_DIR:-out/production/Comp2522TermProject}"
+
+if [ ! -d "$CLASSES_DIR" ]; then
+    echo "Compiled classes not found in $CLASSES_DIR, build the project first." >&2
+    exit 1
+fi
+
+java -cp "$CLASSES_DIR" ca.bcit.termProject.wordGame.CountryIndexCompiler
@@ -1,6 +1,7 @@
 package ca.bcit.termProject;
 
 import ca.bcit.termProject.numberGame.NumberGame;
+import ca.bcit.termProject.vortexGame.ScoreManager;
 import ca.bcit.termProject.vortexGame.VortexGameEngine;
 import ca.bcit.termProject.wordGame.WordGame;
 import javafx.application.Application;
@@ -32,6 +33,7 @@ import java.util.Scanner;
  * <ul>
  *   <li>Uses JavaFX application framework</li>
  *   <li>Runs console menu in separate thread</li>
+ *   <li>Loads Word game data in the background while the menu waits</li>
  *   <li>Manages cross-thread JavaFX launches</li>
  *   <li>Handles graceful shutdown</li>
  * </ul>
@@ -72,6 +74,8 @@ public class Main extends Application
     public void start(final Stage primaryStage)
     {
         Platform.setImplicitExit(false);
+        WordGame.preloadCountries();
+        ScoreManager.preload();
 
         new Thread(() ->
         {
@@ -0,0 +1,228 @@
+package ca.bcit.termProject.vortexGame;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Functional interface for automated players used by the headless simulator.
+ *
+ * <p>A policy looks at the current game state once per tick and sets the keys
+ * it wants held down. Controls persist between ticks, so a policy may leave
+ * them untouched to keep its previous input.
+ *
+ * <p>Built-in Policies:
+ * <table border="1">
+ *   <tr><th>Policy</th><th>Behaviour</th></tr>
+ *   <tr><td>idle</td><td>Never moves</td></tr>
+ *   <tr><td>random-walk</td><td>Holds a random direction, changing it now and then</td></tr>
+ *   <tr><td>dodge-nearest</td><td>Moves away from the closest projectile, boosting when it is close</td></tr>
+ * </table>
+ *
+ * <p>Implementation Requirements:
+ * <ul>
+ *   <li>Must be stateless, one policy instance is shared by all sessions and threads</li>
+ *   <li>Must only draw randomness from the supplied session random</li>
+ * </ul>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface BotPolicy
+{
+    /**
+     * Chance per tick that the random walk picks new keys.
+     */
+    double RANDOM_WALK_CHANGE_CHANCE    = 0.05;
+    /**
+     * Distance at which the dodging bot starts fleeing a projectile (pixels).
+     */
+    double DANGER_RADIUS_PX             = 200;
+    /**
+     * Distance at which the dodging bot boosts away (pixels).
+     */
+    double BOOST_RADIUS_PX              = 90;
+    /**
+     * Distance from the screen centre the dodging bot drifts back within (pixels).
+     */
+    double CENTRE_DEAD_ZONE_PX          = 40;
+
+    /**
+     * Chooses the input for the next tick.
+     *
+     * @param player The bot's player
+     * @param projectiles Projectiles currently in play
+     * @param random The session's seeded source of randomness
+     * @param controls The keys to hold for the next tick, kept from the previous tick
+     */
+    void decide(final Player player,
+                final List<Projectile> projectiles,
+                final Random random,
+                final Controls controls);
+
+    /**
+     * Creates a policy that never presses any key.
+     *
+     * @return idle policy
+     */
+    static BotPolicy idle()
+    {
+        return (player, projectiles, random, controls) -> controls.release();
+    }
+
+    /**
+     * Creates a policy that wanders in random directions.
+     *
+     * <p>Each tick there is a small chance to pick a new combination of
+     * direction keys; otherwise the previous keys stay held.
+     *
+     * @return random walk policy
+     */
+    static BotPolicy randomWalk()
+    {
+        return (player, projectiles, random, controls) ->
+        {
+            if (random.nextDouble() < RANDOM_WALK_CHANGE_CHANCE)
+            {
+                controls.set(random.nextBoolean(),
+                        random.nextBoolean(),
+                        random.nextBoolean(),
+                        random.nextBoolean(),
+                        false);
+            }
+        };
+    }
+
+    /**
+     * Creates a policy that flees the nearest projectile.
+     *
+     * <p>When no projectile is within the danger radius the bot drifts back
+     * toward the centre of the screen so it does not get pinned in a corner.
+     *
+     * @return dodge nearest policy
+     */
+    static BotPolicy dodgeNearest()
+    {
+        return (player, projectiles, random, controls) ->
+        {
+            final double playerX;
+            final double playerY;
+            Projectile nearest;
+            double nearestDistance;
+
+            playerX = player.getCentreX();
+            playerY = player.getCentreY();
+            nearest = null;
+            nearestDistance = Double.MAX_VALUE;
+
+            for (final Projectile projectile : projectiles)
+            {
+                final double dx;
+                final double dy;
+                final double distance;
+
+                dx = projectile.getCentreX() - playerX;
+                dy = projectile.getCentreY() - playerY;
+                distance = Math.hypot(dx, dy);
+
+                if (distance < nearestDistance)
+                {
+                    nearest = projectile;
+                    nearestDistance = distance;
+                }
+            }
+
+            if (nearest != null && nearestDistance < DANGER_RADIUS_PX)
+            {
+                final double awayX;
+                final double awayY;
+
+                awayX = playerX - nearest.getCentreX();
+                awayY = playerY - nearest.getCentreY();
+                controls.set(awayY < 0, awayY > 0, awayX < 0, awayX > 0, nearestDistance < BOOST_RADIUS_PX);
+            }
+            else
+            {
+                final double toCentreX;
+                final double toCentreY;
+
+                toCentreX = VortexGameEngine.HALF_SCREEN_WIDTH_PX - playerX;
+                toCentreY = VortexGameEngine.HALF_SCREEN_HEIGHT_PX - playerY;
+                controls.set(toCentreY < -CENTRE_DEAD_ZONE_PX,
+                        toCentreY > CENTRE_DEAD_ZONE_PX,
+                        toCentreX < -CENTRE_DEAD_ZONE_PX,
+                        toCentreX > CENTRE_DEAD_ZONE_PX,
+                        false);
+            }
+        };
+    }
+
+    /**
+     * Looks up a built-in policy by its command-line name.
+     *
+     * @param name One of idle, random-walk or dodge-nearest
+     * @return the matching policy
+     */
+    static BotPolicy byName(final String name)
+    {
+        return switch (name)
+        {
+            case "idle" -> idle();
+            case "random-walk" -> randomWalk();
+            case "dodge-nearest" -> dodgeNearest();
+            default -> throw new IllegalArgumentException("Unknown bot policy: " + name);
+        };
+    }
+
+    /**
+     * Mutable set of keys a bot holds down for one tick.
+     */
+    final class Controls
+    {
+        private boolean up;
+        private boolean down;
+        private boolean left;
+        private boolean right;
+        private boolean boost;
+
+        /**
+         * Sets every key at once.
+         *
+         * @param up W key state
+         * @param down S key state
+         * @param left A key state
+         * @param right D key state
+         * @param boost Shift key state
+         */
+        public void set(final boolean up,
+                        final boolean down,
+                        final boolean left,
+                        final boolean right,
+                        final boolean boost)
+        {
+            this.up = up;
+            this.down = down;
+            this.left = left;
+            this.right = right;
+            this.boost = boost;
+        }
+
+        /**
+         * Releases every key.
+         */
+        public void release()
+        {
+            set(false, false, false, false, false);
+        }
+
+        /**
+         * Applies the held keys to the player for one tick.
+         *
+         * @param player The player to move
+         */
+        public void applyTo(final Player player)
+        {
+            player.updateMovement(up, down, left, right, boost);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package ca.bcit.termProject.vortexGame;
+
+/**
+ * Immutable set of tuning constants that control how fast Vortex gets harder.
+ *
+ * <p>The projectile spawn rate is the number of ticks between projectile
+ * spawns. It starts at the initial rate and falls logarithmically toward the
+ * minimum rate, reaching it once the time to max difficulty has elapsed.
+ *
+ * <p>Profile Attributes:
+ * <table border="1">
+ *   <tr><th>Attribute</th><th>Description</th></tr>
+ *   <tr><td>Initial Spawn Rate</td><td>Ticks between spawns at the start</td></tr>
+ *   <tr><td>Minimum Spawn Rate</td><td>Ticks between spawns at max difficulty</td></tr>
+ *   <tr><td>Time To Max Difficulty</td><td>Seconds until the minimum rate is reached</td></tr>
+ *   <tr><td>Update Interval</td><td>Rate is recalculated every 5 seconds</td></tr>
+ * </table>
+ *
+ * <p>Shared by the game engine and the headless simulator so that balance
+ * changes can be measured before they are played.</p>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class DifficultyProfile
+{
+    private static final int SPAWN_UPDATE_INTERVAL      = 5;
+    private static final int INIT_LOG_SCALING_MULTIPLIER = 1;
+    private static final int MIN_RATE                   = 1;
+    private static final int MIN_TIME                   = 0;
+
+    private final int initialSpawnRate;
+    private final int minSpawnRate;
+    private final int timeToMaxDifficulty;
+
+    /**
+     * Constructs a validated difficulty profile.
+     *
+     * @param initialSpawnRate Ticks between projectile spawns at the start
+     * @param minSpawnRate Ticks between projectile spawns at max difficulty
+     * @param timeToMaxDifficulty Seconds until the minimum spawn rate is reached
+     */
+    public DifficultyProfile(final int initialSpawnRate,
+                             final int minSpawnRate,
+                             final int timeToMaxDifficulty)
+    {
+        validateProfile(initialSpawnRate, minSpawnRate, timeToMaxDifficulty);
+
+        this.initialSpawnRate = initialSpawnRate;
+        this.minSpawnRate = minSpawnRate;
+        this.timeToMaxDifficulty = timeToMaxDifficulty;
+    }
+
+    /**
+     * Calculates the projectile spawn rate after the given survival time.
+     *
+     * <p>The rate only changes on 5 second boundaries, matching the
+     * difficulty steps the player sees in game.
+     *
+     * @param survivalSeconds Whole seconds survived so far
+     * @return Ticks between projectile spawns
+     */
+    public int spawnRateAt(final long survivalSeconds)
+    {
+        final long steppedSeconds;
+        final double progress;
+
+        steppedSeconds = survivalSeconds - survivalSeconds % SPAWN_UPDATE_INTERVAL;
+
+        // Logarithmic difficulty scaling
+        progress = Math.min(INIT_LOG_SCALING_MULTIPLIER, (double) steppedSeconds / timeToMaxDifficulty);
+        return (int) (initialSpawnRate -
+                (initialSpawnRate - minSpawnRate) *
+                        Math.log1p(progress * (Math.E - INIT_LOG_SCALING_MULTIPLIER)));
+    }
+
+    /**
+     * Gets the spawn rate at the start of a session.
+     *
+     * @return initial ticks between projectile spawns
+     */
+    public int getInitialSpawnRate()
+    {
+        return initialSpawnRate;
+    }
+
+    /**
+     * Gets the spawn rate at max difficulty.
+     *
+     * @return minimum ticks between projectile spawns
+     */
+    public int getMinSpawnRate()
+    {
+        return minSpawnRate;
+    }
+
+    /**
+     * Gets the time it takes to reach max difficulty.
+     *
+     * @return seconds until the minimum spawn rate
+     */
+    public int getTimeToMaxDifficulty()
+    {
+        return timeToMaxDifficulty;
+    }
+
+    /**
+     * Formats the profile as initial:minimum:seconds.
+     *
+     * @return compact profile description
+     */
+    @Override
+    public String toString()
+    {
+        return initialSpawnRate + ":" + minSpawnRate + ":" + timeToMaxDifficulty;
+    }
+
+    /*
+     * Validates the rates are positive and ordered, and the time is positive.
+     *
+     * @param initialSpawnRate starting ticks between spawns
+     * @param minSpawnRate final ticks between spawns
+     * @param timeToMaxDifficulty seconds to reach the final rate
+     */
+    private static void validateProfile(final int initialSpawnRate,
+                                        final int minSpawnRate,
+                                        final int timeToMaxDifficulty)
+    {
+        if (minSpawnRate < MIN_RATE ||
+                initialSpawnRate < minSpawnRate)
+        {
+            throw new IllegalArgumentException("Spawn rates must be positive and initial >= minimum");
+        }
+        if (timeToMaxDifficulty <= MIN_TIME)
+        {
+            throw new IllegalArgumentException("Time to max difficulty must be positive");
+        }
+    }
+}
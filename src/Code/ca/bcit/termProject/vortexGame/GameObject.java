@@ -10,7 +10,7 @@ import javafx.scene.shape.Rectangle;
  *   <li>Standardized position and size properties</li>
  *   <li>Basic movement implementation</li>
  *   <li>Size validation</li>
- *   <li>Common collision detection base</li>
+ *   <li>Common collision detection, shared by the game and the simulator</li>
  * </ul>
  *
  * <p>Key Characteristics:
@@ -27,6 +27,7 @@ import javafx.scene.shape.Rectangle;
  *   <li>Extends JavaFX Rectangle for rendering</li>
  *   <li>Implements Movable interface for movement</li>
  *   <li>Uses square dimensions for simplified collision</li>
+ *   <li>Collides on its rotated, outlined box, computed without a scene graph</li>
  *   <li>Enforces minimum size constraints</li>
  * </ul>
  *
@@ -36,7 +37,13 @@ import javafx.scene.shape.Rectangle;
 public abstract class GameObject extends Rectangle
         implements Movable
 {
-    private static final int MIN_SIZE = 0;
+    /**
+     * Outline width VortexDesign.css gives players, projectiles and power-ups.
+     */
+    static final double OUTLINE_WIDTH   = 2;
+
+    private static final int MIN_SIZE   = 0;
+    private static final int HALVES     = 2;
 
     /**
      * Constructs a new game object with specified position and size.
@@ -81,6 +88,62 @@ public abstract class GameObject extends Rectangle
         setY(getY() + deltaY);
     }
 
+    /**
+     * Checks if this object touches another.
+     *
+     * <p>Each object is treated as the axis-aligned box around its square,
+     * widened by its outline and turned by its rotation, which is the box
+     * {@code getBoundsInParent()} reports on screen. The box is computed from
+     * the object's own geometry, so headless simulations, where no CSS is
+     * applied, see the same hitboxes as the game.
+     *
+     * @param other The object to test against
+     * @return true if the two boxes overlap or touch
+     */
+    public final boolean collidesWith(final GameObject other)
+    {
+        final double reach;
+
+        reach = halfExtent() + other.halfExtent();
+        return Math.abs(getCentreX() - other.getCentreX()) <= reach &&
+                Math.abs(getCentreY() - other.getCentreY()) <= reach;
+    }
+
+    /**
+     * Gets the horizontal centre of the object.
+     *
+     * @return centre x coordinate (pixels)
+     */
+    public final double getCentreX()
+    {
+        return getX() + getWidth() / HALVES;
+    }
+
+    /**
+     * Gets the vertical centre of the object.
+     *
+     * @return centre y coordinate (pixels)
+     */
+    public final double getCentreY()
+    {
+        return getY() + getHeight() / HALVES;
+    }
+
+    /*
+     * Gets half the side of the axis-aligned box around the outlined,
+     * rotated square.
+     *
+     * @return half extent (pixels)
+     */
+    private double halfExtent()
+    {
+        final double angle;
+
+        angle = Math.toRadians(getRotate());
+        return (getWidth() + OUTLINE_WIDTH) / HALVES *
+                (Math.abs(Math.cos(angle)) + Math.abs(Math.sin(angle)));
+    }
+
     /*
      * Validates objects do not spawn with a negative size.
      *
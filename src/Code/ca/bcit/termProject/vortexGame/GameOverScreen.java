@@ -18,6 +18,7 @@ import static ca.bcit.termProject.vortexGame.Star.spawnStars;
  * <p>This screen provides:
  * <ul>
  *   <li>Final survival time display</li>
+ *   <li>Global rank and percentile of the run</li>
  *   <li>Options to retry or return to main menu</li>
  *   <li>Dramatic visual presentation</li>
  *   <li>Consistent UI styling</li>
@@ -28,6 +29,7 @@ import static ca.bcit.termProject.vortexGame.Star.spawnStars;
  *   <tr><th>Component</th><th>Features</th></tr>
  *   <tr><td>Title</td><td>Red-tinged drop shadow, large font</td></tr>
  *   <tr><td>Score Display</td><td>Formatted survival time</td></tr>
+ *   <tr><td>Rank Display</td><td>Rank among all runs, from the O(log n) rank index</td></tr>
  *   <tr><td>Buttons</td><td>Glow effect on hover, consistent sizing</td></tr>
  *   <tr><td>Background</td><td>Animated star particles</td></tr>
  * </table>
@@ -47,7 +49,8 @@ public final class GameOverScreen extends Pane
     private static final int MENU_ITEM_SPACING = 25;
     private static final int TITLE_OFFSET_Y = 120;
     private static final int SCORE_OFFSET_Y = 180;
-    private static final int BUTTON_OFFSET_Y = 240;
+    private static final int RANK_OFFSET_Y = 215;
+    private static final int BUTTON_OFFSET_Y = 250;
     private static final int QUIT_BUTTON_OFFSET_Y = 2;
     private static final int BUTTON_WIDTH = 240;
     private static final int BUTTON_HEIGHT = 60;
@@ -57,6 +60,7 @@ public final class GameOverScreen extends Pane
     private static final double GLOW_LEVEL = 0.3;
     private static final double SHADOW_RADIUS = 10.0;
     private static final Color SHADOW_COLOR = Color.rgb(200, 0, 0, 0.9);
+    private static final String PERCENT_FORMAT = "%.1f";
 
     private final VortexGameEngine gameEngine;
     private final long survivalTime;
@@ -93,6 +97,7 @@ public final class GameOverScreen extends Pane
 
         final Text title;
         final Text scoreText;
+        final Text rankText;
         final Button retryButton;
         final Button menuButton;
         final Button quitButton;
@@ -101,6 +106,10 @@ public final class GameOverScreen extends Pane
         menuButton = new Button("MAIN MENU");
         quitButton = new Button("QUIT");
         scoreText = new Text("Survival Time: " + survivalTime + " seconds");
+        rankText = new Text("Rank: #" + ScoreManager.getRank(survivalTime) +
+                " of " + ScoreManager.getRunCount() +
+                " (better than " + String.format(PERCENT_FORMAT, ScoreManager.getPercentBelow(survivalTime)) +
+                "% of runs)");
         title = new Text("GAME OVER");
         textShadow = new DropShadow(SHADOW_RADIUS, SHADOW_COLOR);
         buttonGlow = new Glow(GLOW_LEVEL);
@@ -117,6 +126,12 @@ public final class GameOverScreen extends Pane
         scoreText.setX(VortexGameEngine.HALF_SCREEN_WIDTH_PX - TITLE_X_OFFSET);
         scoreText.setY(SCORE_OFFSET_Y);
 
+        // Rank styling
+        rankText.getStyleClass().add("leaderboard-score");
+        rankText.setEffect(textShadow);
+        rankText.setX(VortexGameEngine.HALF_SCREEN_WIDTH_PX - TITLE_X_OFFSET);
+        rankText.setY(RANK_OFFSET_Y);
+
         // Button styling and effects
         styleButton(retryButton, VortexGameEngine.HALF_SCREEN_WIDTH_PX - HALF_BUTTON_WIDTH,
                 BUTTON_OFFSET_Y, buttonGlow, e -> gameEngine.startGame());
@@ -129,7 +144,7 @@ public final class GameOverScreen extends Pane
                 e -> ((Stage) gameEngine.getRoot().getScene().getWindow()).close());
 
         spawnStars(gameEngine);
-        getChildren().addAll(title, scoreText, retryButton, menuButton, quitButton);
+        getChildren().addAll(title, scoreText, rankText, retryButton, menuButton, quitButton);
     }
 
     /**
@@ -0,0 +1,102 @@
+package ca.bcit.termProject.vortexGame;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent in-memory leaderboard of the best scores.
+ *
+ * <p>Leaderboard Behaviour:
+ * <ul>
+ *   <li>Scores are counted per distinct value in a skip list, highest first</li>
+ *   <li>Any number of threads can add and read without a shared lock</li>
+ *   <li>Values below the best capacity distinct scores are trimmed</li>
+ *   <li>Scores from this process and merged from other processes look the same</li>
+ * </ul>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class Leaderboard
+{
+    private static final long NONE = 0;
+
+    private final int capacity;
+    private final ConcurrentSkipListMap<Long, LongAdder> counts;
+
+    /**
+     * Constructs an empty leaderboard.
+     *
+     * @param capacity Number of distinct scores to keep
+     */
+    public Leaderboard(final int capacity)
+    {
+        this.capacity = capacity;
+        this.counts = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+    }
+
+    /**
+     * Adds one occurrence of a score.
+     *
+     * @param score The survival time in seconds
+     */
+    public void add(final long score)
+    {
+        counts.computeIfAbsent(score, key -> new LongAdder()).increment();
+
+        while (counts.size() > capacity)
+        {
+            counts.pollLastEntry();
+        }
+    }
+
+    /**
+     * Adds every score held by an index.
+     *
+     * @param index The index to copy from
+     */
+    public void addAll(final TopScoreIndex index)
+    {
+        for (final long score : index.top(index.getCapacity()))
+        {
+            add(score);
+        }
+    }
+
+    /**
+     * Removes every score.
+     */
+    public void clear()
+    {
+        counts.clear();
+    }
+
+    /**
+     * Gets the best scores, highest first, repeating scores that were reached more than once.
+     *
+     * @param n The maximum number of scores to return
+     * @return up to n scores
+     */
+    public List<Long> top(final int n)
+    {
+        final List<Long> result;
+
+        result = new ArrayList<>(n);
+        for (final Map.Entry<Long, LongAdder> entry : counts.entrySet())
+        {
+            for (long i = NONE; i < entry.getValue().sum() && result.size() < n; i++)
+            {
+                result.add(entry.getKey());
+            }
+            if (result.size() >= n)
+            {
+                break;
+            }
+        }
+        return result;
+    }
+}
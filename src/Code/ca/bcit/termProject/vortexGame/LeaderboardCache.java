@@ -0,0 +1,165 @@
+package ca.bcit.termProject.vortexGame;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+
+/**
+ * Observable, in-memory copy of the leaderboard shown on the main menu.
+ *
+ * <p>Cache Behaviour:
+ * <ul>
+ *   <li>Loaded from {@link ScoreManager} once, on the watcher thread, the first time it is used</li>
+ *   <li>Updated from memory whenever this process saves a score</li>
+ *   <li>Refreshed from disk when a {@link WatchService} sees another process write</li>
+ *   <li>File events from this process's own writes are skipped</li>
+ *   <li>Changes are published on the JavaFX Application Thread</li>
+ * </ul>
+ *
+ * <p>Cache Characteristics:
+ * <table border="1">
+ *   <tr><th>Attribute</th><th>Value</th></tr>
+ *   <tr><td>Size</td><td>Top 10 scores</td></tr>
+ *   <tr><td>Watched Directory</td><td>The score log directory</td></tr>
+ *   <tr><td>Debounce</td><td>200ms after the first file event</td></tr>
+ *   <tr><td>Watcher Thread</td><td>Daemon, so it never keeps the JVM alive</td></tr>
+ * </table>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class LeaderboardCache
+{
+    private static final int CACHED_SCORES    = 10;
+    private static final long DEBOUNCE_MILLIS = 200;
+
+    private static LeaderboardCache instance;
+
+    private final ObservableList<String> scores;
+    private final ObservableList<String> readOnlyScores;
+
+    /*
+     * Subscribes to local saves and starts the thread that loads the initial
+     * scores and watches the score log directory. Opening the score log can
+     * migrate or rebuild indexes, so it never happens on the calling thread.
+     */
+    private LeaderboardCache()
+    {
+        scores = FXCollections.observableArrayList();
+        readOnlyScores = FXCollections.unmodifiableObservableList(scores);
+
+        ScoreManager.addScoreListener(() -> publish(ScoreManager.getCachedHighestNScores(CACHED_SCORES)));
+        startWatcher(ScoreManager.getLogDirectory());
+    }
+
+    /**
+     * Gets the shared cache, creating it on first use.
+     *
+     * @return the leaderboard cache
+     */
+    public static synchronized LeaderboardCache getInstance()
+    {
+        if (instance == null)
+        {
+            instance = new LeaderboardCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the cached scores, highest first.
+     *
+     * <p>The list only changes on the JavaFX Application Thread, so UI code
+     * can add listeners to it directly.
+     *
+     * @return read-only observable list of score strings
+     */
+    public ObservableList<String> getScores()
+    {
+        return readOnlyScores;
+    }
+
+    /*
+     * Replaces the cached scores on the FX thread if they changed.
+     *
+     * @param latest the newest top scores
+     */
+    private void publish(final List<String> latest)
+    {
+        Platform.runLater(() ->
+        {
+            if (!scores.equals(latest))
+            {
+                scores.setAll(latest);
+            }
+        });
+    }
+
+    /*
+     * Starts a daemon thread that loads the leaderboard, then reloads it when
+     * files in the score log directory change. Events arriving within the
+     * debounce window are folded into one reload.
+     *
+     * @param directory the score log directory, created by the first load
+     */
+    private void startWatcher(final Path directory)
+    {
+        final Thread thread;
+
+        thread = new Thread(() ->
+        {
+            final WatchService watcher;
+
+            publish(ScoreManager.getHighestNScores(CACHED_SCORES));
+            try
+            {
+                watcher = directory.getFileSystem().newWatchService();
+                directory.register(watcher,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+            }
+            catch (final IOException e)
+            {
+                System.err.println("Leaderboard will not see other players' scores");
+                e.printStackTrace();
+                return;
+            }
+
+            try
+            {
+                while (true)
+                {
+                    WatchKey key;
+
+                    key = watcher.take();
+                    Thread.sleep(DEBOUNCE_MILLIS);
+                    while (key != null)
+                    {
+                        key.pollEvents();
+                        key.reset();
+                        key = watcher.poll();
+                    }
+                    // This process's own appends are already published by the score listener
+                    if (ScoreManager.hasUnseenScores())
+                    {
+                        publish(ScoreManager.getHighestNScores(CACHED_SCORES));
+                    }
+                }
+            }
+            catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }, "vortex-leaderboard-watch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
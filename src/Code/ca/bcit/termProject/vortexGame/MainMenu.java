@@ -12,6 +12,9 @@ import javafx.scene.effect.Glow;
 import javafx.scene.paint.Color;
 import javafx.event.EventHandler;
 import javafx.event.ActionEvent;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
 
 import java.util.List;
 
@@ -25,6 +28,7 @@ import static ca.bcit.termProject.vortexGame.Star.spawnStars;
  *   <li>Game title with visual effects</li>
  *   <li>Top scores leaderboard with two-column layout</li>
  *   <li>Interactive buttons with hover effects</li>
+ *   <li>Access to the statistics screen</li>
  *   <li>Game tutorial/instructions section</li>
  *   <li>Animated background elements</li>
  * </ul>
@@ -42,7 +46,7 @@ import static ca.bcit.termProject.vortexGame.Star.spawnStars;
  * <ul>
  *   <li>Uses JavaFX layout containers (VBox/HBox)</li>
  *   <li>Applies CSS styling through classes</li>
- *   <li>Integrates with ScoreManager for leaderboard data</li>
+ *   <li>Binds to the shared {@link LeaderboardCache} for leaderboard data</li>
  *   <li>Maintains consistent visual effects</li>
  * </ul>
  *
@@ -63,6 +67,7 @@ public final class MainMenu extends Pane
     private static final int TITLE_X_OFFSET         = 180;
     private static final int LEADERBOARD_X_OFFSET   = 120;
     private static final int HALF_BUTTON_WIDTH      = BUTTON_WIDTH / 2;
+    private static final int SMALL_BUTTON_WIDTH     = (BUTTON_WIDTH - MENU_ITEM_SPACING) / 2;
     private static final double GLOW_LEVEL          = 0.3;
     private static final double SHADOW_RADIUS       = 10.0;
     private static final Color SHADOW_COLOR         = Color.rgb(100, 100, 255, 0.9);
@@ -72,6 +77,10 @@ public final class MainMenu extends Pane
     private static final int TOP_SCORES_COUNT       = 5;
 
     private final VortexGameEngine gameEngine;
+    private final VBox leftColumn;
+    private final VBox rightColumn;
+    private final ListChangeListener<String> scoreListener;
+    private DropShadow scoreShadow;
 
     /**
      * Constructs a new main menu with game engine reference.
@@ -79,7 +88,7 @@ public final class MainMenu extends Pane
      * <p>Initialization includes:
      * <ul>
      *   <li>Creating all UI components</li>
-     *   <li>Loading leaderboard data</li>
+     *   <li>Binding to the cached leaderboard</li>
      *   <li>Setting up event handlers</li>
      *   <li>Adding star background elements</li>
      * </ul>
@@ -89,6 +98,9 @@ public final class MainMenu extends Pane
     public MainMenu(final VortexGameEngine gameEngine)
     {
         this.gameEngine = gameEngine;
+        this.leftColumn = new VBox(SCORE_SPACING);
+        this.rightColumn = new VBox(SCORE_SPACING);
+        this.scoreListener = change -> showScores(LeaderboardCache.getInstance().getScores());
         createContent();
     }
 
@@ -103,6 +115,7 @@ public final class MainMenu extends Pane
         final Text title;
         final VBox leaderboard;
         final Button startButton;
+        final Button statsButton;
         final Button quitButton;
         final Text tutorialTitle;
         final Text tutorial;
@@ -114,6 +127,7 @@ public final class MainMenu extends Pane
         title            = new Text("VORTEX - BULLET HELL");
         leaderboard      = new VBox(MENU_ITEM_SPACING);
         startButton      = new Button("START GAME");
+        statsButton      = new Button("STATS");
         quitButton       = new Button("QUIT");
         tutorialTitle    = new Text("HOW TO PLAY");
         tutorial         = new Text();
@@ -122,11 +136,11 @@ public final class MainMenu extends Pane
 
         setupTitle(title, textShadow);
         setupLeaderboard(leaderboard, leaderboardTitle, textShadow);
-        setupButtons(startButton, quitButton, buttonGlow);
+        setupButtons(startButton, statsButton, quitButton, buttonGlow);
         setupTutorial(tutorialTitle, tutorial, textShadow, tutorialText);
 
         spawnStars(gameEngine);
-        getChildren().addAll(title, leaderboard, startButton, quitButton, tutorialTitle, tutorial);
+        getChildren().addAll(title, leaderboard, startButton, statsButton, quitButton, tutorialTitle, tutorial);
     }
 
     /*
@@ -156,9 +170,7 @@ public final class MainMenu extends Pane
                                   final DropShadow shadow)
     {
         final HBox scoreColumns;
-        final VBox leftColumn;
-        final VBox rightColumn;
-        final List<String> allScores;
+        final ObservableList<String> cachedScores;
 
         leaderboard.setLayoutX(VortexGameEngine.HALF_SCREEN_WIDTH_PX - LEADERBOARD_X_OFFSET);
         leaderboard.setLayoutY(LEADERBOARD_OFFSET_Y);
@@ -168,18 +180,32 @@ public final class MainMenu extends Pane
         leaderboard.getChildren().add(title);
 
         scoreColumns = new HBox(COLUMN_SPACING);
-        leftColumn = new VBox(SCORE_SPACING);
-        rightColumn = new VBox(SCORE_SPACING);
-        allScores = ScoreManager.getHighestNScores(MAX_SCORES_DISPLAYED);
+        cachedScores = LeaderboardCache.getInstance().getScores();
+        scoreShadow = shadow;
 
         scoreColumns.setAlignment(Pos.CENTER);
-        addScoresToColumn(leftColumn, allScores, 0, TOP_SCORES_COUNT, shadow);
-        addScoresToColumn(rightColumn, allScores, TOP_SCORES_COUNT, MAX_SCORES_DISPLAYED, shadow);
+        showScores(cachedScores);
+
+        // Weak, so menus that are no longer shown can be collected
+        cachedScores.addListener(new WeakListChangeListener<>(scoreListener));
 
         scoreColumns.getChildren().addAll(leftColumn, rightColumn);
         leaderboard.getChildren().add(scoreColumns);
     }
 
+    /*
+     * Rebuilds both score columns from the cached leaderboard.
+     *
+     * @param scores the cached scores, highest first
+     */
+    private void showScores(final List<String> scores)
+    {
+        leftColumn.getChildren().clear();
+        rightColumn.getChildren().clear();
+        addScoresToColumn(leftColumn, scores, 0, TOP_SCORES_COUNT, scoreShadow);
+        addScoresToColumn(rightColumn, scores, TOP_SCORES_COUNT, MAX_SCORES_DISPLAYED, scoreShadow);
+    }
+
     /**
      * Adds scores to a column within the specified range.
      * @param column The column to add scores to
@@ -238,10 +264,12 @@ public final class MainMenu extends Pane
      * Sets up the menu buttons.
      *
      * @param startButton The start game button
+     * @param statsButton The statistics button, sharing a row with quit
      * @param quitButton The quit button
      * @param glow The glow effect
      */
     private void setupButtons(final Button startButton,
+                              final Button statsButton,
                               final Button quitButton,
                               final Glow glow)
     {
@@ -251,11 +279,19 @@ public final class MainMenu extends Pane
                 glow,
                 e -> gameEngine.startGame());
 
-        styleButton(quitButton,
+        styleButton(statsButton,
                 VortexGameEngine.HALF_SCREEN_WIDTH_PX - HALF_BUTTON_WIDTH,
                 BUTTON_OFFSET_Y + BUTTON_HEIGHT + MENU_ITEM_SPACING,
                 glow,
+                e -> gameEngine.showStatsScreen());
+        statsButton.setPrefWidth(SMALL_BUTTON_WIDTH);
+
+        styleButton(quitButton,
+                VortexGameEngine.HALF_SCREEN_WIDTH_PX + HALF_BUTTON_WIDTH - SMALL_BUTTON_WIDTH,
+                BUTTON_OFFSET_Y + BUTTON_HEIGHT + MENU_ITEM_SPACING,
+                glow,
                 e -> ((Stage) gameEngine.getRoot().getScene().getWindow()).close());
+        quitButton.setPrefWidth(SMALL_BUTTON_WIDTH);
     }
 
     /*
@@ -41,6 +41,7 @@ public abstract class PowerUp extends GameObject
     private static final int POWER_UP_ANGLE           = 45;
     private static final PowerUpType[] POWER_UP_TYPES = PowerUpType.values();
 
+    private final PowerUpType type;
 
     /**
      * Enumeration of available power-up types.
@@ -52,7 +53,7 @@ public abstract class PowerUp extends GameObject
      *   <li>New power-up variant registration</li>
      * </ul>
      */
-    enum PowerUpType
+    public enum PowerUpType
     {
         SPEED_BOOST,
         BOOST_UP,
@@ -79,10 +80,21 @@ public abstract class PowerUp extends GameObject
                    final PowerUpType type)
     {
         super(x, y, POWER_UP_SIZE);
+        this.type = type;
         setRotate(POWER_UP_ANGLE);
         getStyleClass().add("PowerUp");
     }
 
+    /**
+     * Gets which variant this power-up is.
+     *
+     * @return the power-up type
+     */
+    public PowerUpType getType()
+    {
+        return type;
+    }
+
     /**
      * Applies the power-up's unique effect to the player.
      *
@@ -110,27 +122,46 @@ public abstract class PowerUp extends GameObject
      * @param gameEngine The active game instance
      */
     public static void spawnPowerUp(final VortexGameEngine gameEngine)
+    {
+        spawnPowerUp(gameEngine, new Random());
+    }
+
+    /**
+     * Generates a random power-up from the given source of randomness and adds it to the game.
+     *
+     * @param gameEngine The active game instance
+     * @param rand Source of randomness for position and type
+     */
+    public static void spawnPowerUp(final VortexGameEngine gameEngine,
+                                    final Random rand)
+    {
+        gameEngine.getRoot().getChildren().add(createPowerUp(rand));
+    }
+
+    /**
+     * Creates a random power-up at valid game coordinates without adding it to a scene.
+     *
+     * <p>Used by the game engine and by the headless simulator.
+     *
+     * @param rand Source of randomness for position and type
+     * @return A new power-up of a random type
+     */
+    public static PowerUp createPowerUp(final Random rand)
     {
         final double x;
         final double y;
-        final Random rand;
-        final PowerUp powerUp;
         final PowerUp.PowerUpType type;
 
-        rand = new Random();
-
         x = rand.nextInt(SCREEN_WIDTH_PX - POWER_UP_SIZE);
         y = rand.nextInt(SCREEN_HEIGHT_PX - POWER_UP_SIZE);
 
         type = POWER_UP_TYPES[rand.nextInt(POWER_UP_TYPES.length)];
 
-        powerUp = switch (type)
+        return switch (type)
         {
             case SPEED_BOOST -> new SpeedBoostPowerUp(x, y);
             case BOOST_UP -> new BoostUpPowerUp(x, y);
             case REFRESH_BOOST -> new RefreshBoostPowerUp(x, y);
         };
-
-        gameEngine.getRoot().getChildren().add(powerUp);
     }
 }
\ No newline at end of file
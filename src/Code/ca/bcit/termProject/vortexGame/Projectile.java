@@ -28,6 +28,7 @@ import java.util.Random;
  *   <li>Direction vector points toward random screen center point</li>
  *   <li>Rotation direction randomly clockwise/counter-clockwise</li>
  *   <li>Movement unaffected by game difficulty</li>
+ *   <li>Straight-line motion makes the exit tick computable at spawn</li>
  * </ul>
  *
  * @author Conner Ponton
@@ -57,7 +58,11 @@ public final class Projectile extends GameObject
     private static final int RIGHT      = 3;
     private static final int LEFT       = 1;
     private static final int MIN_MAG    = 0;
+    private static final int MIN_TICKS  = 1;
+    private static final int SCREEN_ORIGIN          = 0;
+    private static final double SPAWN_EDGE_CHANCE   = 0.5;
 
+    private final Random random;
     private final double directionX;
     private final double directionY;
     private final int speed;
@@ -82,6 +87,25 @@ public final class Projectile extends GameObject
     public Projectile(final double x,
                       final double y,
                       final double size)
+    {
+        this(x, y, size, RAND);
+    }
+
+    /**
+     * Constructs a new projectile whose randomness comes from the given source.
+     *
+     * <p>Used by seeded sessions and the headless simulator so a run can be
+     * reproduced from its seed.
+     *
+     * @param x The horizontal spawn coordinate (in pixels)
+     * @param y The vertical spawn coordinate (in pixels)
+     * @param size The diameter of the projectile (10-60 pixels)
+     * @param random Source of randomness for speed, direction and rotation
+     */
+    public Projectile(final double x,
+                      final double y,
+                      final double size,
+                      final Random random)
     {
         super(x, y, size);
 
@@ -89,14 +113,50 @@ public final class Projectile extends GameObject
 
         final double[] direction;
 
-        direction = calculateDirection(x, y);
+        this.random     = random;
+        direction       = calculateDirection(x, y);
 
         getStyleClass().add("projectile");
         this.speed      = calculateSpeed(size);
         this.directionX = direction[DIR_X];
         this.directionY = direction[DIR_Y];
-        this.currRot    = RAND.nextDouble(MAX_INITIAL_ANGLE);
-        this.rotDir     = RAND.nextInt(RIGHT) - LEFT;
+        this.currRot    = random.nextDouble(MAX_INITIAL_ANGLE);
+        this.rotDir     = random.nextInt(RIGHT) - LEFT;
+    }
+
+    /**
+     * Creates a projectile of random size at a random point just beyond a screen edge.
+     *
+     * <p>Half of the projectiles enter from the left or right edge and
+     * half from the top or bottom edge.
+     *
+     * @param random Source of randomness for position, size and movement
+     * @return A new projectile ready to be added to the game
+     */
+    public static Projectile spawnAtScreenEdge(final Random random)
+    {
+        double x;
+        double y;
+
+        x = random.nextInt(VortexGameEngine.SCREEN_WIDTH_PX);
+        y = random.nextInt(VortexGameEngine.SCREEN_HEIGHT_PX);
+
+        if (random.nextDouble() < SPAWN_EDGE_CHANCE)
+        {
+            x = random.nextDouble() < SPAWN_EDGE_CHANCE ?
+                    SCREEN_ORIGIN - MAX_PROJECTILE_SIZE :
+                    VortexGameEngine.SCREEN_WIDTH_PX + MAX_PROJECTILE_SIZE;
+        }
+        else
+        {
+            y = random.nextDouble() < SPAWN_EDGE_CHANCE ?
+                    SCREEN_ORIGIN - MAX_PROJECTILE_SIZE :
+                    VortexGameEngine.SCREEN_HEIGHT_PX + MAX_PROJECTILE_SIZE;
+        }
+
+        return new Projectile(x, y,
+                random.nextInt(MAX_PROJECTILE_SIZE - MIN_PROJECTILE_SIZE) + MIN_PROJECTILE_SIZE,
+                random);
     }
 
     /**
@@ -116,6 +176,30 @@ public final class Projectile extends GameObject
                 getY() < MAP_EDGE || getY() > screenHeight;
     }
 
+    /**
+     * Computes how many movement updates it takes to leave the playable area.
+     *
+     * <p>Because projectiles travel in a straight line at a constant speed, the
+     * answer is known at spawn time. After exactly the returned number of
+     * {@link #updateMovement()} calls, {@link #isOffScreen(int, int)} becomes
+     * true for the same bounds.
+     *
+     * @param screenWidth The culling width in pixels
+     * @param screenHeight The culling height in pixels
+     * @return Number of movement updates until the projectile is off screen (at least 1)
+     */
+    public int ticksUntilOffScreen(final int screenWidth,
+                                   final int screenHeight)
+    {
+        final long ticksX;
+        final long ticksY;
+
+        ticksX = ticksToLeaveAxis(getX(), directionX * speed, screenWidth);
+        ticksY = ticksToLeaveAxis(getY(), directionY * speed, screenHeight);
+
+        return (int) Math.max(MIN_TICKS, Math.min(ticksX, ticksY));
+    }
+
     /**
      * Updates projectile position and rotation each frame.
      *
@@ -130,7 +214,30 @@ public final class Projectile extends GameObject
     {
         setRotate(currRot);
         move(directionX * speed, directionY * speed);
-        currRot += RAND.nextInt(speed) * rotDir;
+        currRot += random.nextInt(speed) * rotDir;
+    }
+
+    /*
+     * Solves for the first update at which one coordinate leaves [MAP_EDGE, max].
+     *
+     * @param position starting coordinate
+     * @param velocity signed displacement per update
+     * @param max upper culling bound for this axis
+     * @return number of updates, or Integer.MAX_VALUE if this axis never leaves
+     */
+    private static long ticksToLeaveAxis(final double position,
+                                         final double velocity,
+                                         final int max)
+    {
+        if (velocity > MIN_MAG)
+        {
+            return (long) Math.floor((max - position) / velocity) + MIN_TICKS;
+        }
+        if (velocity < MIN_MAG)
+        {
+            return (long) Math.floor((position - MAP_EDGE) / -velocity) + MIN_TICKS;
+        }
+        return Integer.MAX_VALUE;
     }
 
     /*
@@ -149,12 +256,12 @@ public final class Projectile extends GameObject
     {
         if (size < MIN_SIZE_AFFECT)
         {
-            return RAND.nextInt((MAX_PROJECTILE_SPEED - MIN_PROJECTILE_SPEED))
+            return random.nextInt((MAX_PROJECTILE_SPEED - MIN_PROJECTILE_SPEED))
                     + MIN_PROJECTILE_SPEED;
         }
         else
         {
-            return RAND.nextInt((MAX_PROJECTILE_SPEED - MIN_PROJECTILE_SPEED
+            return random.nextInt((MAX_PROJECTILE_SPEED - MIN_PROJECTILE_SPEED
                     - ((int)size / SIZE_SPEED_MODIFIER)))
                     + MIN_PROJECTILE_SPEED;
         }
@@ -183,8 +290,8 @@ public final class Projectile extends GameObject
         final double deltaY;
         final double magnitude;
 
-        centerX = RAND.nextInt(CENTER_BOX_MAX) + CENTER_BOX_MIN; // Random center X
-        centerY = RAND.nextInt(CENTER_BOX_MAX) + CENTER_BOX_MIN; // Random center Y
+        centerX = random.nextInt(CENTER_BOX_MAX) + CENTER_BOX_MIN; // Random center X
+        centerY = random.nextInt(CENTER_BOX_MAX) + CENTER_BOX_MIN; // Random center Y
 
         deltaX = centerX - x;
         deltaY= centerY - y;
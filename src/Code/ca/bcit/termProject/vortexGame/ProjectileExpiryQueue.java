@@ -0,0 +1,113 @@
+package ca.bcit.termProject.vortexGame;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time-indexed queue of projectiles bucketed by the tick on which they leave the screen.
+ *
+ * <p>Projectiles move in straight lines, so their exit tick is computed once at
+ * spawn with {@link Projectile#ticksUntilOffScreen(int, int)}. Culling then only
+ * touches the bucket for the current tick instead of bounds-checking every
+ * projectile every frame.
+ *
+ * <p>Queue Characteristics:
+ * <table border="1">
+ *   <tr><th>Operation</th><th>Cost</th></tr>
+ *   <tr><td>Schedule</td><td>O(1)</td></tr>
+ *   <tr><td>Drain tick</td><td>O(projectiles expiring on that tick)</td></tr>
+ *   <tr><td>Clear</td><td>O(pending buckets)</td></tr>
+ * </table>
+ *
+ * <p>Implementation Details:
+ * <ul>
+ *   <li>Uses a HashMap from tick to bucket</li>
+ *   <li>Emptied buckets are recycled to avoid per-tick allocation</li>
+ *   <li>Not thread-safe, intended for the game loop thread</li>
+ * </ul>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class ProjectileExpiryQueue
+{
+    private final Map<Long, List<Projectile>> buckets;
+    private final Deque<List<Projectile>> freeBuckets;
+
+    /**
+     * Constructs an empty expiry queue.
+     */
+    public ProjectileExpiryQueue()
+    {
+        this.buckets = new HashMap<>();
+        this.freeBuckets = new ArrayDeque<>();
+    }
+
+    /**
+     * Schedules a projectile to be culled on the given tick.
+     *
+     * @param projectile The projectile to cull
+     * @param expiryTick The tick on which the projectile is off screen
+     */
+    public void schedule(final Projectile projectile,
+                         final long expiryTick)
+    {
+        buckets.computeIfAbsent(expiryTick, tick -> takeBucket()).add(projectile);
+    }
+
+    /**
+     * Moves every projectile expiring on the given tick into the output list.
+     *
+     * @param tick The current tick
+     * @param expired Destination list for the expiring projectiles
+     */
+    public void drainInto(final long tick,
+                          final List<Projectile> expired)
+    {
+        final List<Projectile> bucket;
+
+        bucket = buckets.remove(tick);
+        if (bucket != null)
+        {
+            expired.addAll(bucket);
+            releaseBucket(bucket);
+        }
+    }
+
+    /**
+     * Removes all scheduled projectiles, typically when a new session starts.
+     */
+    public void clear()
+    {
+        buckets.values().forEach(this::releaseBucket);
+        buckets.clear();
+    }
+
+    /*
+     * Takes a recycled bucket or allocates a new one.
+     *
+     * @return an empty bucket
+     */
+    private List<Projectile> takeBucket()
+    {
+        final List<Projectile> bucket;
+
+        bucket = freeBuckets.poll();
+        return bucket != null ? bucket : new ArrayList<>();
+    }
+
+    /*
+     * Empties a bucket and returns it to the free list.
+     *
+     * @param bucket the bucket to recycle
+     */
+    private void releaseBucket(final List<Projectile> bucket)
+    {
+        bucket.clear();
+        freeBuckets.push(bucket);
+    }
+}
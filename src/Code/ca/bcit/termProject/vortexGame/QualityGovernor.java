@@ -0,0 +1,217 @@
+package ca.bcit.termProject.vortexGame;
+
+/**
+ * Adaptive governor that trades cosmetic detail for frame time.
+ *
+ * <p>The governor watches the time between rendered frames and steps
+ * through a fixed ladder of {@link QualityLevel}s:
+ * <ul>
+ *   <li>Steps down one level when a full window of frames runs over budget</li>
+ *   <li>Steps up one level after several consecutive windows with headroom</li>
+ *   <li>Never touches gameplay state, only visual settings; projectiles are
+ *       always rotated because their rotation is part of the hitbox</li>
+ * </ul>
+ *
+ * <p>Quality Ladder:
+ * <table border="1">
+ *   <tr><th>Level</th><th>Sacrificed</th></tr>
+ *   <tr><td>HIGH</td><td>Nothing</td></tr>
+ *   <tr><td>NO_BLUR</td><td>Star BoxBlur</td></tr>
+ *   <tr><td>REDUCED_STARS</td><td>Two thirds of the background stars</td></tr>
+ *   <tr><td>MINIMAL</td><td>Every background star</td></tr>
+ * </table>
+ *
+ * <p>Implementation Details:
+ * <ul>
+ *   <li>Frame times are kept in a fixed ring buffer with a running sum</li>
+ *   <li>Stepping up requires more evidence than stepping down (hysteresis)</li>
+ *   <li>Not thread-safe, intended for the JavaFX Application Thread</li>
+ * </ul>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class QualityGovernor
+{
+    /**
+     * Target time between frames in nanoseconds (60 frames per second).
+     */
+    static final long FRAME_BUDGET_NANOS = 16_666_667;
+
+    /**
+     * Number of frames averaged before the level is reconsidered.
+     */
+    static final int FRAME_WINDOW = 30;
+
+    private static final double DOWNGRADE_RATIO     = 1.25;
+    private static final double UPGRADE_RATIO       = 1.1;
+    private static final int UPGRADE_WINDOWS        = 3;
+    private static final long MAX_FRAME_SAMPLE      = FRAME_BUDGET_NANOS * 10;
+    private static final int INITIAL_VALUE          = 0;
+    private static final int LEVEL_STEP             = 1;
+    private static final int NO_STARS               = 0;
+    private static final QualityLevel[] LEVELS      = QualityLevel.values();
+
+    /**
+     * Ordered quality levels from best looking to cheapest.
+     *
+     * <p>Each level describes:
+     * <ul>
+     *   <li>Whether stars are blurred</li>
+     *   <li>How many stars are shown (every n-th star, or none)</li>
+     * </ul>
+     */
+    public enum QualityLevel
+    {
+        HIGH(true, 1),
+        NO_BLUR(false, 1),
+        REDUCED_STARS(false, 3),
+        MINIMAL(false, NO_STARS);
+
+        private final boolean starBlur;
+        private final int starStride;
+
+        QualityLevel(final boolean starBlur,
+                     final int starStride)
+        {
+            this.starBlur = starBlur;
+            this.starStride = starStride;
+        }
+
+        /**
+         * Checks if stars should carry their blur effect.
+         *
+         * @return true if star blur is enabled
+         */
+        public boolean isStarBlurEnabled()
+        {
+            return starBlur;
+        }
+
+        /**
+         * Determines if the star at the given index should be displayed.
+         *
+         * @param starIndex position of the star within the starfield
+         * @return true if the star is visible at this level
+         */
+        public boolean isStarVisible(final int starIndex)
+        {
+            return starStride != NO_STARS &&
+                    starIndex % starStride == INITIAL_VALUE;
+        }
+    }
+
+    private final long[] frameSamples;
+    private long frameSum;
+    private int sampleIndex;
+    private int samplesInWindow;
+    private int goodWindows;
+    private QualityLevel level;
+
+    /**
+     * Constructs a governor starting at the highest quality level.
+     */
+    public QualityGovernor()
+    {
+        this.frameSamples = new long[FRAME_WINDOW];
+        this.level = QualityLevel.HIGH;
+        reset();
+    }
+
+    /**
+     * Records the time taken by the most recent frame.
+     *
+     * <p>Samples are clamped so a single hitch (window drag, GC pause)
+     * cannot dominate the whole window.
+     *
+     * @param frameNanos Time since the previous frame in nanoseconds
+     * @return true if the quality level changed as a result
+     */
+    public boolean recordFrame(final long frameNanos)
+    {
+        final long sample;
+        final double average;
+
+        sample = Math.min(Math.max(frameNanos, INITIAL_VALUE), MAX_FRAME_SAMPLE);
+
+        frameSum -= frameSamples[sampleIndex];
+        frameSamples[sampleIndex] = sample;
+        frameSum += sample;
+        sampleIndex = (sampleIndex + LEVEL_STEP) % FRAME_WINDOW;
+        samplesInWindow++;
+
+        if (samplesInWindow < FRAME_WINDOW)
+        {
+            return false;
+        }
+
+        average = (double) frameSum / FRAME_WINDOW;
+        samplesInWindow = INITIAL_VALUE;
+
+        if (average > FRAME_BUDGET_NANOS * DOWNGRADE_RATIO)
+        {
+            goodWindows = INITIAL_VALUE;
+            return stepTo(level.ordinal() + LEVEL_STEP);
+        }
+
+        if (average < FRAME_BUDGET_NANOS * UPGRADE_RATIO)
+        {
+            goodWindows++;
+            if (goodWindows >= UPGRADE_WINDOWS)
+            {
+                goodWindows = INITIAL_VALUE;
+                return stepTo(level.ordinal() - LEVEL_STEP);
+            }
+        }
+        else
+        {
+            goodWindows = INITIAL_VALUE;
+        }
+        return false;
+    }
+
+    /**
+     * Discards all recorded frame samples without changing the level.
+     *
+     * <p>Called when a session starts so menu frames do not count
+     * toward gameplay decisions.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < FRAME_WINDOW; i++)
+        {
+            frameSamples[i] = INITIAL_VALUE;
+        }
+        frameSum = INITIAL_VALUE;
+        sampleIndex = INITIAL_VALUE;
+        samplesInWindow = INITIAL_VALUE;
+        goodWindows = INITIAL_VALUE;
+    }
+
+    /**
+     * Gets the current quality level.
+     *
+     * @return active quality level
+     */
+    public QualityLevel getLevel()
+    {
+        return level;
+    }
+
+    /*
+     * Moves to the level at the given ordinal if it exists.
+     *
+     * @param ordinal target level ordinal
+     * @return true if the level changed
+     */
+    private boolean stepTo(final int ordinal)
+    {
+        if (ordinal < INITIAL_VALUE ||
+                ordinal >= LEVELS.length)
+        {
+            return false;
+        }
+        level = LEVELS[ordinal];
+        return true;
+    }
+}
@@ -0,0 +1,1108 @@
+package ca.bcit.termProject.vortexGame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only binary log of {@link ScoreRecord}s split into segment files.
+ *
+ * <p>Log Behaviour:
+ * <ul>
+ *   <li>Appends go to the newest (active) segment through a channel kept open</li>
+ *   <li>A full active segment is sealed and a new one is started</li>
+ *   <li>Reads map each segment with a read-only {@link MappedByteBuffer}</li>
+ *   <li>Sealed segments are merged and trimmed by a background compaction pass</li>
+ *   <li>Compaction writes a new segment file and only then deletes the ones it replaces</li>
+ *   <li>A replaced segment that cannot be deleted yet, such as one still mapped on
+ *       Windows, is hidden from reads and deleted by a later open or compaction</li>
+ *   <li>A torn record at the end of the active segment is discarded on open</li>
+ *   <li>Each segment records its own format version; older segments stay readable</li>
+ *   <li>New records always go to a segment in the current format</li>
+ * </ul>
+ *
+ * <p>Segment Format:
+ * <table border="1">
+ *   <tr><th>Field</th><th>Type</th><th>Description</th></tr>
+ *   <tr><td>Magic</td><td>int</td><td>Identifies a score segment</td></tr>
+ *   <tr><td>Version</td><td>short</td><td>Record format version</td></tr>
+ *   <tr><td>Record Size</td><td>short</td><td>Bytes per record</td></tr>
+ *   <tr><td>First Position</td><td>long</td><td>Log position of the segment's first record</td></tr>
+ *   <tr><td>Records</td><td>fixed width</td><td>See {@link ScoreRecord}</td></tr>
+ * </table>
+ *
+ * <p>Compaction keeps every record from the most recent runs and the best
+ * scores of older runs, so the leaderboard survives trimming. The log
+ * position only grows, even when old records are trimmed.
+ *
+ * <p>Sharing Between Processes:
+ * <ul>
+ *   <li>Every process opens its own ScoreLog on the same directory</li>
+ *   <li>Appends, rolls and compaction swaps hold an exclusive lock on score.lock</li>
+ *   <li>Reads hold a shared lock, so they never see a half-written record</li>
+ *   <li>Records written by other processes are handed to a {@link Follower}</li>
+ * </ul>
+ *
+ * <p>Thread-safe; one instance should be shared by every thread in a process.</p>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class ScoreLog implements Closeable
+{
+    private static final int MAGIC                  = 0x56534C47;
+    private static final int HEADER_BYTES           = Integer.BYTES + Short.BYTES + Short.BYTES + Long.BYTES;
+    private static final int SEGMENT_RECORDS        = 8192;
+    private static final int COMPACT_AFTER_SEGMENTS = 4;
+    private static final int FIRST_SEGMENT_ID       = 1;
+    private static final int FIRST_INDEX            = 0;
+    private static final int NEXT                   = 1;
+    private static final long START_POSITION        = 0;
+    private static final boolean SHARED             = true;
+    private static final String SEGMENT_PREFIX      = "segment-";
+    private static final String SEGMENT_SUFFIX      = ".vlog";
+    private static final String SEGMENT_NAME_FORMAT = SEGMENT_PREFIX + "%08d" + SEGMENT_SUFFIX;
+    private static final String GENERATION_MARK     = "_";
+    private static final String COMPACTED_FORMAT    = SEGMENT_PREFIX + "%08d" + GENERATION_MARK + "%04d" + SEGMENT_SUFFIX;
+    private static final int FIRST_GENERATION       = 0;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+    private static final String LOCK_NAME           = "score.lock";
+    private static final String COMPACT_PREFIX      = "compact-";
+    private static final String COMPACT_SUFFIX      = ".tmp";
+
+    /**
+     * Receives records that another process appended to the log.
+     */
+    public interface Follower
+    {
+        /**
+         * Follower that ignores foreign records.
+         */
+        Follower IGNORE = new Follower()
+        {
+            @Override
+            public void accept(final ScoreRecord record)
+            {
+            }
+
+            @Override
+            public void reset()
+            {
+            }
+        };
+
+        /**
+         * Called once for each record another process appended.
+         *
+         * @param record The foreign record
+         */
+        void accept(final ScoreRecord record);
+
+        /**
+         * Called when compaction by another process removed records this log
+         * had not yet followed; every retained record is then replayed.
+         */
+        void reset();
+
+        /**
+         * Called after this process's own records were appended, while the
+         * log is still locked, so no reset can fall between the append and
+         * this call.
+         *
+         * @param records The records just appended, in order
+         */
+        default void appended(final List<ScoreRecord> records)
+        {
+        }
+    }
+
+    private final Path directory;
+    private final int retainedTopScores;
+    private final int retainedRecentRecords;
+    private final FileChannel lockChannel;
+    private final ExecutorService compactor;
+    private final AtomicBoolean compacting;
+    private FileChannel activeChannel;
+    private Path activeSegment;
+    private long activeId;
+    private long activeFirstPosition;
+    private long activeRecords;
+    private short activeVersion;
+    private int activeRecordBytes;
+
+    /**
+     * Opens the log, creating the directory and first segment if needed.
+     *
+     * @param directory Directory holding the segment files
+     * @param retainedTopScores Number of best scores compaction never trims
+     * @param retainedRecentRecords Number of most recent records compaction never trims
+     * @throws IOException if the log cannot be opened
+     */
+    public ScoreLog(final Path directory,
+                    final int retainedTopScores,
+                    final int retainedRecentRecords) throws IOException
+    {
+        final FileLock lock;
+
+        this.directory = directory;
+        this.retainedTopScores = retainedTopScores;
+        this.retainedRecentRecords = retainedRecentRecords;
+        this.compacting = new AtomicBoolean();
+        this.compactor = Executors.newSingleThreadExecutor(task ->
+        {
+            final Thread thread;
+
+            thread = new Thread(task, "vortex-score-compactor");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve(LOCK_NAME),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        lock = lockChannel.lock();
+        try
+        {
+            final List<Path> segments;
+
+            segments = listSegments();
+            deleteSuperseded(segments);
+            if (segments.isEmpty())
+            {
+                startSegment(FIRST_SEGMENT_ID, START_POSITION);
+            }
+            else
+            {
+                openActiveSegment(segments.getLast());
+                activeChannel.truncate(HEADER_BYTES + activeRecords * activeRecordBytes);
+            }
+        }
+        finally
+        {
+            lock.release();
+        }
+    }
+
+    /**
+     * Appends records to the end of the log as one locked operation.
+     *
+     * <p>Records other processes appended since this log last looked are
+     * handed to the follower first, so the caller sees every record once.
+     *
+     * @param records The records to append, in order
+     * @param follower Receives records appended by other processes
+     * @return the log position after the appended records
+     * @throws IOException if the records cannot be written
+     */
+    public synchronized long append(final List<ScoreRecord> records,
+                                    final Follower follower) throws IOException
+    {
+        final FileLock lock;
+
+        lock = lockChannel.lock();
+        try
+        {
+            catchUp(follower);
+            appendLocked(records);
+            follower.appended(records);
+            return getEndPosition();
+        }
+        finally
+        {
+            lock.release();
+        }
+    }
+
+    /**
+     * Appends records only if the log holds no records at all.
+     *
+     * <p>Used for one-time imports, so two processes starting together
+     * cannot both import the same data.
+     *
+     * @param records The records to import
+     * @return true if the records were appended
+     * @throws IOException if the records cannot be written
+     */
+    public synchronized boolean appendIfEmpty(final List<ScoreRecord> records) throws IOException
+    {
+        final FileLock lock;
+
+        lock = lockChannel.lock();
+        try
+        {
+            catchUp(Follower.IGNORE);
+            if (getEndPosition() != START_POSITION)
+            {
+                return false;
+            }
+            appendLocked(records);
+            return true;
+        }
+        finally
+        {
+            lock.release();
+        }
+    }
+
+    /**
+     * Hands any records other processes appended to the follower.
+     *
+     * @param follower Receives records appended by other processes
+     * @throws IOException if the log cannot be read
+     */
+    public synchronized void refresh(final Follower follower) throws IOException
+    {
+        final FileLock lock;
+
+        lock = lockChannel.lock(START_POSITION, Long.MAX_VALUE, SHARED);
+        try
+        {
+            catchUp(follower);
+        }
+        finally
+        {
+            lock.release();
+        }
+    }
+
+    /**
+     * Checks, without reading them, whether other processes appended records
+     * this log has not followed yet.
+     *
+     * @return true if a {@link #refresh(Follower)} would find foreign records
+     * @throws IOException if the segments cannot be listed
+     */
+    public synchronized boolean hasUnseenRecords() throws IOException
+    {
+        final FileLock lock;
+
+        lock = lockChannel.lock(START_POSITION, Long.MAX_VALUE, SHARED);
+        try
+        {
+            return !activeSegment.equals(listSegments().getLast()) ||
+                    completeRecords(activeChannel.size(), activeRecordBytes) > activeRecords;
+        }
+        finally
+        {
+            lock.release();
+        }
+    }
+
+    /**
+     * Visits every retained record from oldest to newest.
+     *
+     * <p>Read-only: records other processes appended are visited too, but
+     * are still handed to a follower by the next {@link #refresh(Follower)}.
+     * Records are decoded one at a time, so memory use does not grow with
+     * the size of the log.
+     *
+     * <p>Only opening the segments holds the lock. The records present at
+     * that moment are then visited while appends and compaction carry on;
+     * a segment compaction deletes meanwhile stays readable through its
+     * open channel.
+     *
+     * @param visitor Called once per record
+     * @throws IOException if a segment cannot be read
+     */
+    public void forEach(final Consumer<ScoreRecord> visitor) throws IOException
+    {
+        final List<Path> segments;
+        final List<FileChannel> channels;
+        final List<Long> counts;
+
+        channels = new ArrayList<>();
+        counts = new ArrayList<>();
+        try
+        {
+            synchronized (this)
+            {
+                final FileLock lock;
+
+                lock = lockChannel.lock(START_POSITION, Long.MAX_VALUE, SHARED);
+                try
+                {
+                    segments = listSegments();
+                    for (final Path segment : segments)
+                    {
+                        final FileChannel channel;
+
+                        channel = FileChannel.open(segment, StandardOpenOption.READ);
+                        channels.add(channel);
+                        counts.add(completeRecords(channel.size(), readHeader(channel, segment).recordBytes));
+                    }
+                }
+                finally
+                {
+                    lock.release();
+                }
+            }
+
+            for (int i = FIRST_INDEX; i < segments.size(); i++)
+            {
+                readSegment(channels.get(i), segments.get(i), START_POSITION, counts.get(i), visitor);
+            }
+        }
+        finally
+        {
+            for (final FileChannel channel : channels)
+            {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Visits every retained record from oldest to newest and moves this log's
+     * view to the current end, so records seen here are not handed to a
+     * follower later.
+     *
+     * <p>Used to rebuild state derived from the whole log.
+     *
+     * @param visitor Called once per record
+     * @return the log position after the last visited record
+     * @throws IOException if a segment cannot be read
+     */
+    public synchronized long replay(final Consumer<ScoreRecord> visitor) throws IOException
+    {
+        final FileLock lock;
+
+        lock = lockChannel.lock(START_POSITION, Long.MAX_VALUE, SHARED);
+        try
+        {
+            final List<Path> segments;
+
+            segments = listSegments();
+            activeChannel.close();
+            openActiveSegment(segments.getLast());
+
+            for (final Path segment : segments)
+            {
+                readSegment(segment, START_POSITION, recordCount(segment), visitor);
+            }
+            return getEndPosition();
+        }
+        finally
+        {
+            lock.release();
+        }
+    }
+
+    /**
+     * Forces every appended record in the active segment to the storage device.
+     *
+     * @throws IOException if the segment cannot be synced
+     */
+    public synchronized void sync() throws IOException
+    {
+        activeChannel.force(false);
+    }
+
+    /**
+     * Gets the log position after the newest record this log has seen.
+     *
+     * <p>The position counts every record ever appended, so it can be used to
+     * tell whether a derived index is up to date.
+     *
+     * @return end position of the log
+     */
+    public synchronized long getEndPosition()
+    {
+        return activeFirstPosition + activeRecords;
+    }
+
+    /**
+     * Stops background compaction, waiting for a running pass to finish,
+     * and closes the active segment.
+     *
+     * @throws IOException if the active segment cannot be closed
+     */
+    @Override
+    public void close() throws IOException
+    {
+        compactor.shutdown();
+        try
+        {
+            // Not synchronized here: the compaction swap needs this monitor
+            compactor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this)
+        {
+            activeChannel.close();
+            lockChannel.close();
+        }
+    }
+
+    /*
+     * Writes records at the end of the active segment, rolling to new
+     * segments as they fill. Caller holds the exclusive file lock.
+     *
+     * @param records the records to write
+     * @throws IOException if the write fails
+     */
+    private void appendLocked(final List<ScoreRecord> records) throws IOException
+    {
+        final ByteBuffer buffer;
+
+        buffer = ByteBuffer.allocate(ScoreRecord.BYTES * Math.max(NEXT, Math.min(records.size(), SEGMENT_RECORDS)));
+
+        for (final ScoreRecord record : records)
+        {
+            if (activeRecords >= SEGMENT_RECORDS ||
+                    activeVersion != ScoreRecord.VERSION)
+            {
+                writeBuffer(buffer);
+                rollSegment();
+            }
+            if (!buffer.hasRemaining())
+            {
+                writeBuffer(buffer);
+            }
+            record.writeTo(buffer);
+            activeRecords++;
+        }
+        writeBuffer(buffer);
+    }
+
+    /*
+     * Reads records other processes appended, following them into newer
+     * segments. Caller holds the file lock.
+     *
+     * @param follower receives each foreign record
+     * @throws IOException if a segment cannot be read
+     */
+    private void catchUp(final Follower follower) throws IOException
+    {
+        while (true)
+        {
+            final List<Path> segments;
+            final int index;
+            final long available;
+            final Path next;
+
+            segments = listSegments();
+            index = segments.indexOf(activeSegment);
+            if (index < FIRST_INDEX)
+            {
+                // Compacted away, possibly into a file holding the same records
+                resync(segments, follower);
+                return;
+            }
+
+            available = completeRecords(activeChannel.size(), activeRecordBytes);
+            if (available > activeRecords)
+            {
+                readSegment(activeSegment, activeRecords, available, follower::accept);
+                activeRecords = available;
+            }
+
+            if (index == segments.size() - NEXT)
+            {
+                return;
+            }
+
+            next = segments.get(index + NEXT);
+            if (segmentId(next) != activeId + NEXT ||
+                    readHeader(next).firstPosition != getEndPosition())
+            {
+                resync(segments, follower);
+                return;
+            }
+
+            activeChannel.close();
+            openActiveSegment(next);
+            activeRecords = START_POSITION;
+        }
+    }
+
+    /*
+     * Replays every retained record after another process compacted records
+     * this log had not read yet. Caller holds the file lock.
+     *
+     * @param segments the current segment files
+     * @param follower told to reset, then given every record
+     * @throws IOException if a segment cannot be read
+     */
+    private void resync(final List<Path> segments,
+                        final Follower follower) throws IOException
+    {
+        activeChannel.close();
+        openActiveSegment(segments.getLast());
+        follower.reset();
+        for (final Path segment : segments)
+        {
+            readSegment(segment, START_POSITION, recordCount(segment), follower::accept);
+        }
+    }
+
+    /*
+     * Writes out and clears the append buffer at the end of the active segment.
+     *
+     * @param buffer the filled buffer
+     * @throws IOException if the write fails
+     */
+    private void writeBuffer(final ByteBuffer buffer) throws IOException
+    {
+        long position;
+
+        buffer.flip();
+        position = activeChannel.size();
+        while (buffer.hasRemaining())
+        {
+            position += activeChannel.write(buffer, position);
+        }
+        buffer.clear();
+    }
+
+    /*
+     * Seals the active segment, starts the next one and schedules compaction.
+     * Caller holds the exclusive file lock.
+     *
+     * @throws IOException if the new segment cannot be created
+     */
+    private void rollSegment() throws IOException
+    {
+        final long nextPosition;
+
+        nextPosition = getEndPosition();
+        activeChannel.force(false);
+        activeChannel.close();
+        startSegment(activeId + NEXT, nextPosition);
+
+        if (listSegments().size() - NEXT >= COMPACT_AFTER_SEGMENTS &&
+                compacting.compareAndSet(false, true))
+        {
+            compactor.execute(this::compactSealedSegments);
+        }
+    }
+
+    /*
+     * Creates a segment file with a header and makes it the active segment.
+     *
+     * @param id the segment number
+     * @param firstPosition log position of the segment's first record
+     * @throws IOException if the segment cannot be created
+     */
+    private void startSegment(final long id,
+                              final long firstPosition) throws IOException
+    {
+        activeSegment = directory.resolve(String.format(SEGMENT_NAME_FORMAT, id));
+        activeChannel = FileChannel.open(activeSegment,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        activeChannel.write(header(firstPosition));
+        activeId = id;
+        activeFirstPosition = firstPosition;
+        activeRecords = START_POSITION;
+        activeVersion = ScoreRecord.VERSION;
+        activeRecordBytes = ScoreRecord.BYTES;
+    }
+
+    /*
+     * Opens a segment as the active segment and counts its complete records.
+     *
+     * @param segment the segment file
+     * @throws IOException if the segment cannot be opened or is invalid
+     */
+    private void openActiveSegment(final Path segment) throws IOException
+    {
+        final SegmentHeader header;
+
+        activeChannel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        header = readHeader(activeChannel, segment);
+
+        activeSegment = segment;
+        activeId = segmentId(segment);
+        activeFirstPosition = header.firstPosition;
+        activeVersion = header.version;
+        activeRecordBytes = header.recordBytes;
+        activeRecords = completeRecords(activeChannel.size(), activeRecordBytes);
+    }
+
+    /*
+     * Merges every sealed segment into one, trimming old low scores.
+     * Runs on the compactor thread; the active segment is never touched.
+     * Sealed segments never change, so only the final swap takes the
+     * exclusive file lock. The result gets the last sealed segment's number
+     * under a new generation, so no file another process may have open is
+     * ever overwritten; a process reading a deleted segment resyncs.
+     */
+    private void compactSealedSegments()
+    {
+        Path temp;
+
+        temp = null;
+        try
+        {
+            final List<Path> sealed;
+            final long firstPosition;
+            final long[] total;
+            final PriorityQueue<Long> best;
+            final long keepScoresAtLeast;
+            final long keepRecordsFrom;
+
+            synchronized (this)
+            {
+                final List<Path> segments;
+
+                segments = listSegments();
+                sealed = new ArrayList<>(segments.subList(FIRST_INDEX, segments.size() - NEXT));
+            }
+            if (sealed.size() < COMPACT_AFTER_SEGMENTS)
+            {
+                return;
+            }
+
+            total = new long[NEXT];
+            best = new PriorityQueue<>();
+            for (final Path segment : sealed)
+            {
+                readSegment(segment, START_POSITION, recordCount(segment), record ->
+                {
+                    total[FIRST_INDEX]++;
+                    best.add(record.getScore());
+                    if (best.size() > retainedTopScores)
+                    {
+                        best.poll();
+                    }
+                });
+            }
+
+            keepScoresAtLeast = best.isEmpty() ? Long.MIN_VALUE : best.peek();
+            keepRecordsFrom = total[FIRST_INDEX] - retainedRecentRecords;
+            firstPosition = readHeader(sealed.getFirst()).firstPosition;
+            temp = Files.createTempFile(directory, COMPACT_PREFIX, COMPACT_SUFFIX);
+
+            try (final FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE))
+            {
+                final ByteBuffer buffer;
+                final long[] seen;
+
+                buffer = ByteBuffer.allocate(ScoreRecord.BYTES * SEGMENT_RECORDS);
+                seen = new long[NEXT];
+                out.write(header(firstPosition));
+
+                for (final Path segment : sealed)
+                {
+                    readSegment(segment, START_POSITION, recordCount(segment), record ->
+                    {
+                        if (seen[FIRST_INDEX]++ >= keepRecordsFrom ||
+                                record.getScore() >= keepScoresAtLeast)
+                        {
+                            if (!buffer.hasRemaining())
+                            {
+                                flushBuffer(out, buffer);
+                            }
+                            record.writeTo(buffer);
+                        }
+                    });
+                }
+                flushBuffer(out, buffer);
+                out.force(true);
+            }
+
+            synchronized (this)
+            {
+                final FileLock lock;
+
+                lock = lockChannel.lock();
+                try
+                {
+                    for (final Path segment : sealed)
+                    {
+                        if (Files.notExists(segment))
+                        {
+                            // Another process compacted these segments first
+                            return;
+                        }
+                    }
+
+                    Files.move(temp, compactedPath(sealed.getLast()), StandardCopyOption.ATOMIC_MOVE);
+                    temp = null;
+                    deleteSuperseded(listSegments());
+                }
+                finally
+                {
+                    lock.release();
+                }
+            }
+        }
+        catch (final IOException | IllegalStateException e)
+        {
+            System.err.println("Score log compaction failed");
+            e.printStackTrace();
+        }
+        finally
+        {
+            deleteQuietly(temp);
+            compacting.set(false);
+        }
+    }
+
+    /*
+     * Deletes a leftover compaction file, if there is one.
+     *
+     * @param temp the file, or null
+     */
+    private static void deleteQuietly(final Path temp)
+    {
+        if (temp != null)
+        {
+            try
+            {
+                Files.deleteIfExists(temp);
+            }
+            catch (final IOException e)
+            {
+                System.err.println("Failed to delete " + temp);
+            }
+        }
+    }
+
+    /*
+     * Writes out and clears a buffer, wrapping IO failures for use inside visitors.
+     *
+     * @param channel the destination
+     * @param buffer the filled buffer
+     */
+    private static void flushBuffer(final FileChannel channel,
+                                    final ByteBuffer buffer)
+    {
+        try
+        {
+            buffer.flip();
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+        catch (final IOException e)
+        {
+            throw new IllegalStateException("Failed to write compacted segment", e);
+        }
+    }
+
+    /*
+     * Lists the current segment files in order. Segments left behind by a
+     * compaction that stopped before deleting them are not listed.
+     *
+     * @return segment paths, oldest first
+     * @throws IOException if the directory cannot be listed
+     */
+    private List<Path> listSegments() throws IOException
+    {
+        final List<Path> segments;
+
+        try (final Stream<Path> files = Files.list(directory))
+        {
+            segments = files.filter(ScoreLog::isSegment)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        for (int i = segments.size() - NEXT; i > FIRST_INDEX; i--)
+        {
+            if (generation(segments.get(i)) > FIRST_GENERATION)
+            {
+                return new ArrayList<>(segments.subList(i, segments.size()));
+            }
+        }
+        return segments;
+    }
+
+    /*
+     * Deletes segments a finished compaction replaced. Caller holds the
+     * exclusive file lock.
+     *
+     * <p>Segments this process read during compaction may still be mapped,
+     * and other processes may have them open. Where the platform refuses to
+     * delete such a file it is left in place: listSegments() already hides
+     * it, and the next open or compaction tries again.
+     *
+     * @param current the current segments, from listSegments()
+     * @throws IOException if the directory cannot be listed
+     */
+    private void deleteSuperseded(final List<Path> current) throws IOException
+    {
+        try (final Stream<Path> files = Files.list(directory))
+        {
+            for (final Path segment : files.filter(ScoreLog::isSegment).toList())
+            {
+                if (!current.contains(segment))
+                {
+                    try
+                    {
+                        Files.deleteIfExists(segment);
+                    }
+                    catch (final IOException e)
+                    {
+                        System.err.println("Deferred deleting replaced score segment " + segment);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Builds the path a compacted copy of sealed segments is stored under:
+     * the last one's number with the next generation, which sorts after it.
+     *
+     * @param last the newest segment being compacted
+     * @return the compacted segment path
+     */
+    private Path compactedPath(final Path last)
+    {
+        return directory.resolve(String.format(COMPACTED_FORMAT, segmentId(last), generation(last) + NEXT));
+    }
+
+    /*
+     * Maps a segment read-only and visits a range of its records.
+     *
+     * @param segment the segment file
+     * @param from index of the first record to read
+     * @param to index after the last record to read
+     * @param visitor called once per record
+     * @throws IOException if the segment cannot be mapped
+     */
+    private static void readSegment(final Path segment,
+                                    final long from,
+                                    final long to,
+                                    final Consumer<ScoreRecord> visitor) throws IOException
+    {
+        try (final FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ))
+        {
+            readSegment(channel, segment, from, to, visitor);
+        }
+    }
+
+    /*
+     * Maps an open segment read-only and visits a range of its records.
+     *
+     * @param channel the open segment
+     * @param segment the segment file, for error messages
+     * @param from index of the first record to read
+     * @param to index after the last record to read
+     * @param visitor called once per record
+     * @throws IOException if the segment cannot be mapped
+     */
+    private static void readSegment(final FileChannel channel,
+                                    final Path segment,
+                                    final long from,
+                                    final long to,
+                                    final Consumer<ScoreRecord> visitor) throws IOException
+    {
+        final SegmentHeader header;
+        final MappedByteBuffer mapped;
+
+        header = readHeader(channel, segment);
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, START_POSITION,
+                HEADER_BYTES + to * header.recordBytes);
+        mapped.position(Math.toIntExact(HEADER_BYTES + from * header.recordBytes));
+        for (long i = from; i < to; i++)
+        {
+            visitor.accept(ScoreRecord.readFrom(mapped, header.version));
+        }
+    }
+
+    /*
+     * Counts the complete records in a segment.
+     *
+     * @param segment the segment file
+     * @return number of whole records after the header
+     * @throws IOException if the size cannot be read
+     */
+    private static long recordCount(final Path segment) throws IOException
+    {
+        try (final FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ))
+        {
+            return completeRecords(channel.size(), readHeader(channel, segment).recordBytes);
+        }
+    }
+
+    /*
+     * Converts a segment size into its number of complete records.
+     *
+     * @param size the segment size in bytes
+     * @param recordBytes the segment's bytes per record
+     * @return number of whole records after the header
+     */
+    private static long completeRecords(final long size,
+                                        final int recordBytes)
+    {
+        return Math.max(START_POSITION, (size - HEADER_BYTES) / recordBytes);
+    }
+
+    /*
+     * Reads and validates the header of a segment file.
+     *
+     * @param segment the segment file
+     * @return the decoded header
+     * @throws IOException if the header cannot be read
+     */
+    private static SegmentHeader readHeader(final Path segment) throws IOException
+    {
+        try (final FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ))
+        {
+            return readHeader(channel, segment);
+        }
+    }
+
+    /*
+     * Encodes a segment header.
+     *
+     * @param firstPosition log position of the segment's first record
+     * @return header ready to write
+     */
+    private static ByteBuffer header(final long firstPosition)
+    {
+        final ByteBuffer header;
+
+        header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC);
+        header.putShort(ScoreRecord.VERSION);
+        header.putShort((short) ScoreRecord.BYTES);
+        header.putLong(firstPosition);
+        header.flip();
+        return header;
+    }
+
+    /*
+     * Reads and validates a segment header from the start of an open channel.
+     *
+     * @param channel the open segment
+     * @param segment the segment file, for error messages
+     * @return the decoded header
+     * @throws IOException if the header is missing or from an unknown format
+     */
+    private static SegmentHeader readHeader(final FileChannel channel,
+                                            final Path segment) throws IOException
+    {
+        final ByteBuffer header;
+        final short version;
+        final short recordBytes;
+
+        header = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(header, START_POSITION);
+        header.flip();
+
+        if (header.remaining() < HEADER_BYTES ||
+                header.getInt() != MAGIC)
+        {
+            throw new IOException("Not a score segment: " + segment);
+        }
+
+        version = header.getShort();
+        recordBytes = header.getShort();
+        if ((version != ScoreRecord.VERSION && version != ScoreRecord.LEGACY_VERSION) ||
+                recordBytes != ScoreRecord.bytesFor(version))
+        {
+            throw new IOException("Unsupported score segment format: " + segment);
+        }
+        return new SegmentHeader(version, recordBytes, header.getLong());
+    }
+
+    /*
+     * Checks whether a file name follows the segment naming pattern.
+     *
+     * @param path the file to check
+     * @return true for segment files
+     */
+    private static boolean isSegment(final Path path)
+    {
+        final String name;
+
+        name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    /*
+     * Extracts the segment number from a segment file name.
+     *
+     * @param segment the segment file
+     * @return the segment number
+     */
+    private static long segmentId(final Path segment)
+    {
+        return Long.parseLong(nameParts(segment)[FIRST_INDEX]);
+    }
+
+    /*
+     * Extracts how many times a segment has been compacted from its file name.
+     *
+     * @param segment the segment file
+     * @return the generation, 0 for a segment that was appended to directly
+     */
+    private static int generation(final Path segment)
+    {
+        final String[] parts;
+
+        parts = nameParts(segment);
+        return parts.length > NEXT ? Integer.parseInt(parts[NEXT]) : FIRST_GENERATION;
+    }
+
+    /*
+     * Splits a segment file name into its number and optional generation.
+     *
+     * @param segment the segment file
+     * @return the number, followed by the generation if there is one
+     */
+    private static String[] nameParts(final Path segment)
+    {
+        final String name;
+
+        name = segment.getFileName().toString();
+        return name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())
+                .split(GENERATION_MARK);
+    }
+
+    /*
+     * Decoded segment header.
+     */
+    private static final class SegmentHeader
+    {
+        private final short version;
+        private final int recordBytes;
+        private final long firstPosition;
+
+        /*
+         * @param version the segment's record format version
+         * @param recordBytes bytes per record
+         * @param firstPosition log position of the segment's first record
+         */
+        private SegmentHeader(final short version,
+                              final int recordBytes,
+                              final long firstPosition)
+        {
+            this.version = version;
+            this.recordBytes = recordBytes;
+            this.firstPosition = firstPosition;
+        }
+    }
+}
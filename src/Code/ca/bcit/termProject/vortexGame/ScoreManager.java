@@ -1,14 +1,16 @@
 package ca.bcit.termProject.vortexGame;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -16,26 +18,42 @@ import java.util.stream.Collectors;
  *
  * <p>This utility class handles all score-related file operations including:
  * <ul>
- *   <li>Appending new scores to the score file</li>
- *   <li>Reading and sorting existing scores</li>
- *   <li>Providing top N scores for display</li>
+ *   <li>Queuing new score records for a background writer</li>
+ *   <li>Migrating the legacy text score file once</li>
+ *   <li>Providing top N scores for display from a top score index</li>
+ *   <li>Ranking a score against every stored run without scanning them</li>
+ *   <li>Streaming every stored run to a visitor for statistics</li>
  *   <li>Handling file system exceptions gracefully</li>
  * </ul>
  *
  * <p>File System Characteristics:
  * <table border="1">
  *   <tr><th>Attribute</th><th>Value</th></tr>
- *   <tr><td>File Location</td><td>src/res/VortexScore.txt</td></tr>
- *   <tr><td>Format</td><td>One score per line (plain text)</td></tr>
- *   <tr><td>Encoding</td><td>System default charset</td></tr>
- *   <tr><td>Concurrency</td><td>Not thread-safe</td></tr>
+ *   <tr><td>Log Location</td><td>src/res/VortexScores/, see {@link ScoreLog}</td></tr>
+ *   <tr><td>Format</td><td>Fixed-width binary {@link ScoreRecord}s</td></tr>
+ *   <tr><td>Index Location</td><td>src/res/VortexScore.top, see {@link TopScoreIndex}</td></tr>
+ *   <tr><td>Rank Index Location</td><td>src/res/VortexScore.rank, see {@link ScoreRankIndex}</td></tr>
+ *   <tr><td>Legacy File</td><td>src/res/VortexScore.txt, left in place once migrated</td></tr>
+ *   <tr><td>Migration Marker</td><td>src/res/VortexScores/legacy.imported, written once migrated</td></tr>
+ *   <tr><td>Concurrency</td><td>Thread and process safe, see below</td></tr>
+ *   <tr><td>Flush Policy</td><td>System property vortex.scores.flush: none, every_batch or periodic</td></tr>
+ *   <tr><td>Sync Interval</td><td>System property vortex.scores.syncMillis, default 1000</td></tr>
  * </table>
  *
+ * <p>Concurrency:
+ * <ul>
+ *   <li>Callers only share a brief lock on the unwritten scores; scores go to a concurrent {@link Leaderboard} and a queue</li>
+ *   <li>Disk writes happen on a {@link ScoreWriter} thread</li>
+ *   <li>Appends take a file lock, so several processes can share the score log</li>
+ *   <li>Scores other processes append are merged when the leaderboard is read</li>
+ * </ul>
+ *
  * <p>Error Handling:
  * <ul>
  *   <li>Prints stack traces to stderr on failure</li>
  *   <li>Returns default values when scores unavailable</li>
- *   <li>Creates score file if non-existent</li>
+ *   <li>Creates the score log if non-existent</li>
+ *   <li>Rebuilds the indexes from the score log when either is missing or stale</li>
  * </ul>
  *
  * @author Conner Ponton
@@ -43,29 +61,61 @@ import java.util.stream.Collectors;
  */
 public final class ScoreManager
 {
+    private static final int INDEX_CAPACITY          = 100;
+    private static final int RETAINED_RECENT_RECORDS = 1_000_000;
+    private static final long EMPTY_LOG              = 0;
+    private static final long FIRST_RANK             = 1;
+    private static final Path LOG_DIRECTORY          = Paths.get("src", "res", "VortexScores");
+    private static final Path INDEX_FILE             = Paths.get("src", "res", "VortexScore.top");
+    private static final Path RANK_FILE              = Paths.get("src", "res", "VortexScore.rank");
+    private static final Path LEGACY_FILE            = Paths.get("src", "res", "VortexScore.txt");
+    private static final Path MIGRATED_MARKER        = LOG_DIRECTORY.resolve("legacy.imported");
+    private static final int EMPTY_MARKER            = 0;
+    private static final String FLUSH_PROPERTY       = "vortex.scores.flush";
+    private static final String SYNC_PROPERTY        = "vortex.scores.syncMillis";
+    private static final long DEFAULT_SYNC_MILLIS    = 1000;
+
+    private static final List<Runnable> SCORE_LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static volatile Store store;
+
+    /**
+     * Persists a player's score with no session details.
+     *
+     * @param score The survival time in seconds to record
+     */
+    public static void saveScore(final long score)
+    {
+        saveScore(new ScoreRecord(score, System.currentTimeMillis(), ScoreRecord.UNKNOWN));
+    }
+
     /**
-     * Persists a player's score to the score file.
+     * Persists a finished run to the score log.
      *
      * <p>Operation Details:
      * <ul>
-     *   <li>Appends score as new line in UTF-8 format</li>
-     *   <li>Creates score file if it doesn't exist</li>
+     *   <li>Adds the score to the in-memory leaderboard and rank index immediately</li>
+     *   <li>Queues the record for the background writer and returns</li>
+     *   <li>Notifies score listeners on the calling thread</li>
+     *   <li>Opens the score log on first use</li>
      *   <li>Handles IO exceptions with error logging</li>
      * </ul>
      *
-     * @param score The survival time in seconds to record
+     * @param record The run to record
      */
-    public static void saveScore(final long score)
+    public static void saveScore(final ScoreRecord record)
     {
         try
         {
-            final Path path;
-            path = Paths.get("src","res", "VortexScore.txt");
-            if (Files.notExists(path))
+            final Store current;
+
+            current = open();
+            current.add(record);
+            current.writer.submit(record);
+            for (final Runnable listener : SCORE_LISTENERS)
             {
-                Files.createFile(path);
+                listener.run();
             }
-            Files.write(path, (score + "\n").getBytes(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
         }
         catch (final IOException e)
         {
@@ -74,17 +124,199 @@ public final class ScoreManager
         }
     }
 
+    /**
+     * Starts opening the score log on a background thread, so the first
+     * screen that needs scores does not wait for a legacy migration or an
+     * index rebuild.
+     *
+     * <p>Safe to call more than once; does nothing once the log is open.
+     */
+    public static void preload()
+    {
+        final Thread loader;
+
+        if (store != null)
+        {
+            return;
+        }
+
+        loader = new Thread(() ->
+        {
+            try
+            {
+                open();
+            }
+            catch (final IOException e)
+            {
+                System.err.println("Failed to open score log");
+                e.printStackTrace();
+            }
+        }, "vortex-score-open");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Registers a callback run after this process saves a score.
+     *
+     * @param listener Called on the saving thread; must not block
+     */
+    public static void addScoreListener(final Runnable listener)
+    {
+        SCORE_LISTENERS.add(listener);
+    }
+
+    /**
+     * Retrieves the highest N scores known to this process without touching the disk.
+     *
+     * <p>Includes this process's queued scores and other processes' scores
+     * merged so far, but does not look for new ones.
+     *
+     * @param n The maximum number of scores to return, at most 100
+     * @return list of score strings, or singleton "No Scores!" list
+     */
+    public static List<String> getCachedHighestNScores(final int n)
+    {
+        try
+        {
+            return formatScores(open().leaderboard.top(Math.min(n, INDEX_CAPACITY)));
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Failed score file read");
+            e.printStackTrace();
+        }
+        return formatScores(List.of());
+    }
+
+    /**
+     * Gets the rank a score holds among every run known to this process.
+     *
+     * <p>Answered from the in-memory rank index in O(log n), so it includes
+     * scores just saved and never reads the score log.
+     *
+     * @param score The survival time in seconds
+     * @return 1-based rank, where 1 is the best, or 1 if scores are unavailable
+     */
+    public static long getRank(final long score)
+    {
+        try
+        {
+            return open().liveRanks.rank(score);
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Failed score file read");
+            e.printStackTrace();
+        }
+        return FIRST_RANK;
+    }
+
+    /**
+     * Gets the percentage of known runs that scored strictly lower than a score.
+     *
+     * @param score The survival time in seconds
+     * @return percentage between 0 and 100, or 0 if scores are unavailable
+     */
+    public static double getPercentBelow(final long score)
+    {
+        try
+        {
+            return open().liveRanks.percentBelow(score);
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Failed score file read");
+            e.printStackTrace();
+        }
+        return EMPTY_LOG;
+    }
+
+    /**
+     * Gets the number of runs known to this process.
+     *
+     * @return run count, or 0 if scores are unavailable
+     */
+    public static long getRunCount()
+    {
+        try
+        {
+            return open().liveRanks.getTotal();
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Failed score file read");
+            e.printStackTrace();
+        }
+        return EMPTY_LOG;
+    }
+
+    /**
+     * Checks whether other processes appended scores this process has not
+     * merged yet. Changes to the score log caused by this process's own
+     * writes report false, so watchers can skip them.
+     *
+     * @return true if the next {@link #getHighestNScores(int)} would merge new scores
+     */
+    public static boolean hasUnseenScores()
+    {
+        try
+        {
+            return open().log.hasUnseenRecords();
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Failed score file read");
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Gets the directory holding the score log, for watching it for changes.
+     *
+     * @return the score log directory
+     */
+    public static Path getLogDirectory()
+    {
+        return LOG_DIRECTORY;
+    }
+
+    /**
+     * Writes every queued score and closes the score log.
+     *
+     * <p>Runs automatically at JVM shutdown; safe to call more than once.
+     */
+    public static synchronized void shutdown()
+    {
+        final Store current;
+
+        current = store;
+        if (current != null)
+        {
+            store = null;
+            current.writer.close();
+            try
+            {
+                current.log.close();
+            }
+            catch (final IOException e)
+            {
+                System.err.println("Failed to close score log");
+                e.printStackTrace();
+            }
+        }
+    }
+
     /**
      * Retrieves the highest N scores from persistent storage.
      *
      * <p>Processing Pipeline:
      * <ol>
-     *   <li>Reads all lines from score file</li>
-     *   <li>Filters empty/null entries</li>
-     *   <li>Parses to integers</li>
-     *   <li>Sorts in descending order</li>
-     *   <li>Limits to top N results</li>
-     *   <li>Converts back to strings</li>
+     *   <li>Merges scores other processes appended since the last look</li>
+     *   <li>Reads the in-memory leaderboard, including queued scores</li>
+     *   <li>Falls back to scanning the score log when N exceeds the leaderboard</li>
+     *   <li>Converts scores to strings</li>
      * </ol>
      *
      * @param n The maximum number of scores to return
@@ -94,32 +326,365 @@ public final class ScoreManager
     {
         try
         {
-            final Path path;
-            path = Paths.get("src", "res", "VortexScore.txt");
+            final Store current;
 
-            if (Files.exists(path))
+            current = open();
+            if (n <= INDEX_CAPACITY)
             {
-                final List<String> scores;
-                scores = Files.readAllLines(path);
-                return scores.stream()
-                        .filter(Objects::nonNull)
-                        .filter(s -> !s.trim().isEmpty())
-                        .map(Integer::parseInt)
-                        .sorted(Comparator.reverseOrder())
-                        .limit(n)
-                        .map(Object::toString)
-                        .collect(Collectors.toList());
+                current.log.refresh(current);
+                return formatScores(current.leaderboard.top(n));
             }
+            return formatScores(scanHighestNScores(current.log, n));
         } catch (final IOException e)
         {
             System.err.println("Failed score file read");
             e.printStackTrace();
         }
+        return formatScores(List.of());
+    }
+
+    /**
+     * Streams every stored run, oldest first, to a visitor such as {@link ScoreStatistics}.
+     *
+     * <p>Records are decoded one at a time straight from the score log and
+     * never collected into a list, so memory use depends only on the
+     * visitor. Runs still queued for the background writer are not included.
+     *
+     * @param visitor Called once per stored run
+     * @return true if the whole log was read
+     */
+    public static boolean forEachRecord(final Consumer<ScoreRecord> visitor)
+    {
+        try
+        {
+            open().log.forEach(visitor);
+            return true;
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Failed score file read");
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /*
+     * Converts scores to strings, or the "No Scores!" placeholder when empty.
+     *
+     * @param scores the scores, highest first
+     * @return score strings for display
+     */
+    private static List<String> formatScores(final List<Long> scores)
+    {
+        if (scores.isEmpty())
+        {
+            final List<String> noScores;
+
+            noScores = new ArrayList<>();
+            noScores.add("No Scores!");
+            return noScores;
+        }
+
+        return scores.stream()
+                .map(Object::toString)
+                .collect(Collectors.toList());
+    }
+
+    /*
+     * Opens the score store on first use. Only the first call takes the class
+     * lock; later callers read the volatile field and never block.
+     *
+     * @return the open store
+     * @throws IOException if the log cannot be opened
+     */
+    private static Store open() throws IOException
+    {
+        Store current;
+
+        current = store;
+        if (current == null)
+        {
+            synchronized (ScoreManager.class)
+            {
+                current = store;
+                if (current == null)
+                {
+                    current = new Store();
+                    store = current;
+                    Runtime.getRuntime().addShutdownHook(new Thread(ScoreManager::shutdown, "vortex-score-drain"));
+                }
+            }
+        }
+        return current;
+    }
+
+    /*
+     * Reads the flush policy from its system property, defaulting to periodic.
+     *
+     * @return the configured flush policy
+     */
+    private static ScoreWriter.FlushPolicy flushPolicy()
+    {
+        final String configured;
+
+        configured = System.getProperty(FLUSH_PROPERTY, ScoreWriter.FlushPolicy.PERIODIC.name());
+        try
+        {
+            return ScoreWriter.FlushPolicy.valueOf(configured.trim().toUpperCase());
+        }
+        catch (final IllegalArgumentException e)
+        {
+            System.err.println("Unknown score flush policy " + configured + ", using periodic");
+            return ScoreWriter.FlushPolicy.PERIODIC;
+        }
+    }
+
+    /*
+     * Copies every score from the legacy text file into an empty log, then
+     * writes a marker beside the log so it is never imported twice. The text
+     * file itself is left alone.
+     *
+     * @param scoreLog the freshly opened log
+     * @throws IOException if the legacy file cannot be read
+     */
+    private static void migrateLegacyScores(final ScoreLog scoreLog) throws IOException
+    {
+        final List<ScoreRecord> legacy;
+
+        if (scoreLog.getEndPosition() != EMPTY_LOG ||
+                Files.exists(MIGRATED_MARKER) ||
+                Files.notExists(LEGACY_FILE))
+        {
+            return;
+        }
+
+        legacy = new ArrayList<>();
+        try (final BufferedReader reader = Files.newBufferedReader(LEGACY_FILE))
+        {
+            String line;
+
+            while ((line = reader.readLine()) != null)
+            {
+                if (!line.trim().isEmpty())
+                {
+                    legacy.add(new ScoreRecord(Long.parseLong(line.trim()),
+                            ScoreRecord.UNKNOWN,
+                            ScoreRecord.UNKNOWN));
+                }
+            }
+        }
+
+        // Written even if another process imported first, so no one rereads the file
+        scoreLog.appendIfEmpty(legacy);
+        Files.write(MIGRATED_MARKER, new byte[EMPTY_MARKER]);
+    }
+
+    /*
+     * Reads the top score index sidecar if it matches the score log.
+     *
+     * @param scoreLog the open score log
+     * @return the stored index, or null if it is missing or stale
+     */
+    private static TopScoreIndex readIndex(final ScoreLog scoreLog)
+    {
+        if (Files.exists(INDEX_FILE))
+        {
+            try
+            {
+                final TopScoreIndex index;
+
+                index = TopScoreIndex.read(INDEX_FILE);
+                if (index.getIndexedPosition() == scoreLog.getEndPosition() &&
+                        index.getCapacity() == INDEX_CAPACITY)
+                {
+                    return index;
+                }
+            }
+            catch (final IOException e)
+            {
+                System.err.println("Rebuilding unreadable score index");
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Reads the rank index sidecar if it matches the score log.
+     *
+     * @param scoreLog the open score log
+     * @return the stored rank index, or null if it is missing or stale
+     */
+    private static ScoreRankIndex readRanks(final ScoreLog scoreLog)
+    {
+        if (Files.exists(RANK_FILE))
+        {
+            try
+            {
+                final ScoreRankIndex ranks;
+
+                ranks = ScoreRankIndex.read(RANK_FILE);
+                if (ranks.getIndexedPosition() == scoreLog.getEndPosition() &&
+                        ranks.getMaxSeconds() == ScoreRecord.MAX_TRACKED_SECONDS)
+                {
+                    return ranks;
+                }
+            }
+            catch (final IOException e)
+            {
+                System.err.println("Rebuilding unreadable score rank index");
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Fills empty indexes with one pass over the score log and saves them.
+     * Both are rebuilt together so they always share one log position.
+     *
+     * @param scoreLog the open score log
+     * @param index an empty top score index
+     * @param ranks an empty rank index
+     * @throws IOException if the score log cannot be read
+     */
+    private static void rebuildIndexes(final ScoreLog scoreLog,
+                                       final TopScoreIndex index,
+                                       final ScoreRankIndex ranks) throws IOException
+    {
+        final long endPosition;
+
+        endPosition = scoreLog.replay(record ->
+        {
+            index.offer(record.getScore());
+            ranks.add(record.getScore());
+        });
+        index.setIndexedPosition(endPosition);
+        index.write(INDEX_FILE);
+        ranks.setIndexedPosition(endPosition);
+        ranks.write(RANK_FILE);
+    }
+
+    /*
+     * Finds the best n scores in the score log with a bounded min-heap.
+     *
+     * @param scoreLog the open score log
+     * @param n the maximum number of scores to return
+     * @return up to n scores, highest first
+     * @throws IOException if the score log cannot be read
+     */
+    private static List<Long> scanHighestNScores(final ScoreLog scoreLog,
+                                                 final int n) throws IOException
+    {
+        final PriorityQueue<Long> best;
+
+        best = new PriorityQueue<>();
+        scoreLog.forEach(record ->
+        {
+            best.add(record.getScore());
+            if (best.size() > n)
+            {
+                best.poll();
+            }
+        });
+
+        return best.stream()
+                .sorted(Comparator.reverseOrder())
+                .collect(Collectors.toList());
+    }
+
+    /*
+     * Everything ScoreManager keeps open: the log, its durable indexes, the
+     * live leaderboard and rank index, and the background writer. Also follows
+     * records that other processes append, feeding them to every index.
+     * Scores saved here but not yet appended are tracked, so a resync that
+     * rebuilds the live views from disk keeps them. Every change to the
+     * views holds the store's monitor.
+     */
+    private static final class Store implements ScoreLog.Follower
+    {
+        private final ScoreLog log;
+        private final TopScoreIndex durableIndex;
+        private final ScoreRankIndex durableRanks;
+        private final Leaderboard leaderboard;
+        private final ScoreRankIndex liveRanks;
+        private final List<ScoreRecord> unwritten;
+        private final ScoreWriter writer;
+
+        /*
+         * Opens the log, migrates legacy scores, loads the indexes and starts the writer.
+         *
+         * @throws IOException if the log cannot be opened
+         */
+        private Store() throws IOException
+        {
+            TopScoreIndex index;
+            ScoreRankIndex ranks;
+
+            log = new ScoreLog(LOG_DIRECTORY, INDEX_CAPACITY, RETAINED_RECENT_RECORDS);
+            migrateLegacyScores(log);
+
+            index = readIndex(log);
+            ranks = readRanks(log);
+            if (index == null ||
+                    ranks == null)
+            {
+                index = new TopScoreIndex(INDEX_CAPACITY);
+                ranks = new ScoreRankIndex(ScoreRecord.MAX_TRACKED_SECONDS);
+                rebuildIndexes(log, index, ranks);
+            }
+
+            durableIndex = index;
+            durableRanks = ranks;
+            leaderboard = new Leaderboard(INDEX_CAPACITY);
+            leaderboard.addAll(durableIndex);
+            liveRanks = durableRanks.copy();
+            unwritten = new ArrayList<>();
+            writer = new ScoreWriter(log, durableIndex, INDEX_FILE, durableRanks, RANK_FILE, this,
+                    flushPolicy(), Long.getLong(SYNC_PROPERTY, DEFAULT_SYNC_MILLIS));
+        }
+
+        @Override
+        public synchronized void accept(final ScoreRecord record)
+        {
+            durableIndex.offer(record.getScore());
+            durableRanks.add(record.getScore());
+            leaderboard.add(record.getScore());
+            liveRanks.add(record.getScore());
+        }
+
+        @Override
+        public synchronized void reset()
+        {
+            durableIndex.clear();
+            durableRanks.clear();
+            leaderboard.clear();
+            liveRanks.clear();
+            for (final ScoreRecord record : unwritten)
+            {
+                leaderboard.add(record.getScore());
+                liveRanks.add(record.getScore());
+            }
+        }
 
-        final List<String> noScores;
+        @Override
+        public synchronized void appended(final List<ScoreRecord> records)
+        {
+            for (final ScoreRecord record : records)
+            {
+                // Identity, not equality: two runs can hold the same values
+                unwritten.removeIf(pending -> pending == record);
+            }
+        }
 
-        noScores = new ArrayList<>();
-        noScores.add("No Scores!");
-        return noScores;
+        /*
+         * Adds a newly saved score to the live views and marks it unwritten.
+         *
+         * @param record the saved run
+         */
+        private synchronized void add(final ScoreRecord record)
+        {
+            unwritten.add(record);
+            leaderboard.add(record.getScore());
+            liveRanks.add(record.getScore());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,278 @@
+package ca.bcit.termProject.vortexGame;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Counts of every score by survival second, answering rank and percentile
+ * queries in logarithmic time. Persisted as a sidecar file.
+ *
+ * <p>Index Behaviour:
+ * <ul>
+ *   <li>Backed by a Fenwick (binary indexed) tree with one slot per second</li>
+ *   <li>Adding a score and counting scores above or below it are O(log n)</li>
+ *   <li>Scores above the cap share the last slot, so they rank as equals</li>
+ *   <li>The header records the score log position that has been indexed</li>
+ * </ul>
+ *
+ * <p>Sidecar Format:
+ * <table border="1">
+ *   <tr><th>Field</th><th>Type</th></tr>
+ *   <tr><td>Magic</td><td>int</td></tr>
+ *   <tr><td>Version</td><td>int</td></tr>
+ *   <tr><td>Indexed Log Position</td><td>long</td></tr>
+ *   <tr><td>Max Seconds</td><td>int</td></tr>
+ *   <tr><td>Total Scores</td><td>long</td></tr>
+ *   <tr><td>Tree</td><td>max seconds + 2 longs, stored as-is</td></tr>
+ * </table>
+ *
+ * <p>Thread-safe; every method locks the index.</p>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class ScoreRankIndex
+{
+    private static final int MAGIC            = 0x56524E4B;
+    private static final int VERSION          = 1;
+    private static final int MIN_SECONDS      = 1;
+    private static final int INITIAL_VALUE    = 0;
+    private static final int ROOT_OFFSET      = 1;
+    private static final int CAP_SLOT         = 1;
+    private static final int FIRST_RANK       = 1;
+    private static final double MAX_PERCENT   = 100.0;
+    private static final String TEMP_SUFFIX   = ".tmp";
+
+    private final long[] tree;
+    private long total;
+    private long indexedPosition;
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param maxSeconds Highest survival time counted exactly; longer runs share the top slot
+     */
+    public ScoreRankIndex(final int maxSeconds)
+    {
+        if (maxSeconds < MIN_SECONDS)
+        {
+            throw new IllegalArgumentException("Max seconds must be positive");
+        }
+        // One slot per second from 0 to the cap, plus the unused root slot
+        this.tree = new long[maxSeconds + CAP_SLOT + ROOT_OFFSET];
+    }
+
+    /**
+     * Counts one more occurrence of a score.
+     *
+     * @param score The survival time in seconds
+     */
+    public synchronized void add(final long score)
+    {
+        for (int i = slot(score); i < tree.length; i += i & -i)
+        {
+            tree[i]++;
+        }
+        total++;
+    }
+
+    /**
+     * Gets the 1-based rank a score holds: one more than the number of higher scores.
+     *
+     * @param score The survival time in seconds
+     * @return rank, where 1 is the best
+     */
+    public synchronized long rank(final long score)
+    {
+        return total - countAtMost(slot(score)) + FIRST_RANK;
+    }
+
+    /**
+     * Gets the percentage of scores that are strictly lower than a score.
+     *
+     * @param score The survival time in seconds
+     * @return percentage between 0 and 100, or 0 if the index is empty
+     */
+    public synchronized double percentBelow(final long score)
+    {
+        if (total == INITIAL_VALUE)
+        {
+            return INITIAL_VALUE;
+        }
+        return countAtMost(slot(score) - ROOT_OFFSET) * MAX_PERCENT / total;
+    }
+
+    /**
+     * Gets the number of scores counted.
+     *
+     * @return total scores
+     */
+    public synchronized long getTotal()
+    {
+        return total;
+    }
+
+    /**
+     * Gets the highest survival time counted exactly.
+     *
+     * @return cap in seconds
+     */
+    public int getMaxSeconds()
+    {
+        return tree.length - CAP_SLOT - ROOT_OFFSET;
+    }
+
+    /**
+     * Removes every score and resets the indexed position.
+     */
+    public synchronized void clear()
+    {
+        Arrays.fill(tree, INITIAL_VALUE);
+        total = INITIAL_VALUE;
+        indexedPosition = INITIAL_VALUE;
+    }
+
+    /**
+     * Creates an independent copy of this index.
+     *
+     * @return a copy with the same counts and position
+     */
+    public synchronized ScoreRankIndex copy()
+    {
+        final ScoreRankIndex copy;
+
+        copy = new ScoreRankIndex(getMaxSeconds());
+        System.arraycopy(tree, INITIAL_VALUE, copy.tree, INITIAL_VALUE, tree.length);
+        copy.total = total;
+        copy.indexedPosition = indexedPosition;
+        return copy;
+    }
+
+    /**
+     * Gets the score log position this index was built up to.
+     *
+     * @return indexed log position
+     */
+    public synchronized long getIndexedPosition()
+    {
+        return indexedPosition;
+    }
+
+    /**
+     * Records the score log position this index now reflects.
+     *
+     * @param indexedPosition indexed log position
+     */
+    public synchronized void setIndexedPosition(final long indexedPosition)
+    {
+        this.indexedPosition = indexedPosition;
+    }
+
+    /**
+     * Writes the index, replacing any previous sidecar in one step.
+     *
+     * @param path The sidecar file
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void write(final Path path) throws IOException
+    {
+        final Path temp;
+
+        temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), TEMP_SUFFIX);
+
+        try (final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(indexedPosition);
+            out.writeInt(getMaxSeconds());
+            out.writeLong(total);
+            for (final long node : tree)
+            {
+                out.writeLong(node);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads an index sidecar.
+     *
+     * @param path The sidecar file
+     * @return the stored index
+     * @throws IOException if the file cannot be read or is not a rank index
+     */
+    public static ScoreRankIndex read(final Path path) throws IOException
+    {
+        try (final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path))))
+        {
+            final ScoreRankIndex index;
+            final long indexedPosition;
+            final int maxSeconds;
+            final long total;
+
+            if (in.readInt() != MAGIC ||
+                    in.readInt() != VERSION)
+            {
+                throw new IOException("Not a score rank index: " + path);
+            }
+
+            indexedPosition = in.readLong();
+            maxSeconds = in.readInt();
+            total = in.readLong();
+
+            if (maxSeconds < MIN_SECONDS ||
+                    total < INITIAL_VALUE)
+            {
+                throw new IOException("Corrupt score rank index: " + path);
+            }
+
+            index = new ScoreRankIndex(maxSeconds);
+            for (int i = 0; i < index.tree.length; i++)
+            {
+                index.tree[i] = in.readLong();
+            }
+            index.total = total;
+            index.indexedPosition = indexedPosition;
+            return index;
+        }
+    }
+
+    /*
+     * Maps a score to its 1-based tree slot, clamping to the cap.
+     *
+     * @param score the survival time in seconds
+     * @return tree slot
+     */
+    private int slot(final long score)
+    {
+        return (int) Math.min(Math.max(score, INITIAL_VALUE), getMaxSeconds()) + ROOT_OFFSET;
+    }
+
+    /*
+     * Sums the counts of every slot up to and including the given one.
+     *
+     * @param slot the last 1-based slot to include; 0 for none
+     * @return number of scores in those slots
+     */
+    private long countAtMost(final int slot)
+    {
+        long count;
+
+        count = INITIAL_VALUE;
+        for (int i = slot; i > INITIAL_VALUE; i -= i & -i)
+        {
+            count += tree[i];
+        }
+        return count;
+    }
+}
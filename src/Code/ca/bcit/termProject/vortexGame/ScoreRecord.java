@@ -0,0 +1,315 @@
+package ca.bcit.termProject.vortexGame;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Immutable record of one finished Vortex run.
+ *
+ * <p>Records are stored back to back in the binary score log, so every
+ * record of one format version has the same fixed width.
+ *
+ * <p>Record Layout (version 2):
+ * <table border="1">
+ *   <tr><th>Field</th><th>Type</th><th>Description</th></tr>
+ *   <tr><td>Score</td><td>long</td><td>Survival time in seconds</td></tr>
+ *   <tr><td>Timestamp</td><td>long</td><td>End of the run, epoch milliseconds</td></tr>
+ *   <tr><td>Seed</td><td>long</td><td>Seed of the session's random source</td></tr>
+ *   <tr><td>Power-Ups</td><td>int per type</td><td>Power-ups collected, in {@link PowerUp.PowerUpType} order</td></tr>
+ *   <tr><td>Peak Projectiles</td><td>int</td><td>Most projectiles on screen at once</td></tr>
+ *   <tr><td>Cause of Death</td><td>int</td><td>{@link DeathCause} ordinal</td></tr>
+ * </table>
+ *
+ * <p>Version 1 records hold only the first three fields; they are read with
+ * no power-ups, no peak and an {@link DeathCause#UNKNOWN} cause.
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class ScoreRecord
+{
+    private static final int LEGACY_LONG_FIELDS = 3;
+    private static final int POWER_UP_TYPES     = PowerUp.PowerUpType.values().length;
+    private static final int RUN_DETAIL_FIELDS  = 2;
+    private static final int INT_FIELDS         = POWER_UP_TYPES + RUN_DETAIL_FIELDS;
+    private static final int NONE               = 0;
+    private static final DeathCause[] CAUSES    = DeathCause.values();
+
+    /**
+     * Current record format version.
+     */
+    public static final short VERSION = 2;
+
+    /**
+     * Record format version that only stored score, timestamp and seed.
+     */
+    public static final short LEGACY_VERSION = 1;
+
+    /**
+     * Width of one encoded record in bytes.
+     */
+    public static final int BYTES = Long.BYTES * LEGACY_LONG_FIELDS + Integer.BYTES * INT_FIELDS;
+
+    /**
+     * Width of one version 1 record in bytes.
+     */
+    public static final int LEGACY_BYTES = Long.BYTES * LEGACY_LONG_FIELDS;
+
+    /**
+     * Timestamp and seed used for runs recorded before they were tracked.
+     */
+    public static final long UNKNOWN = 0;
+
+    /**
+     * Longest survival time in seconds that ranks and statistics tell apart;
+     * longer runs are counted at this cap.
+     */
+    public static final int MAX_TRACKED_SECONDS = 7200;
+
+    /**
+     * What ended a run.
+     *
+     * <p>Stored by ordinal, so new causes must only be added at the end.
+     */
+    public enum DeathCause
+    {
+        /**
+         * Not recorded, e.g. runs imported from older formats.
+         */
+        UNKNOWN,
+
+        /**
+         * Hit by a projectile in the smallest third of sizes.
+         */
+        SMALL_PROJECTILE,
+
+        /**
+         * Hit by a projectile in the middle third of sizes.
+         */
+        MEDIUM_PROJECTILE,
+
+        /**
+         * Hit by a projectile in the largest third of sizes.
+         */
+        LARGE_PROJECTILE;
+
+        private static final int SIZE_CLASSES = 3;
+
+        /**
+         * Classifies a fatal projectile by its size.
+         *
+         * @param size The projectile's width in pixels
+         * @return the matching projectile cause
+         */
+        public static DeathCause forProjectileSize(final double size)
+        {
+            final double range;
+            final double step;
+
+            range = Projectile.MAX_PROJECTILE_SIZE - Projectile.MIN_PROJECTILE_SIZE;
+            step = range / SIZE_CLASSES;
+
+            if (size < Projectile.MIN_PROJECTILE_SIZE + step)
+            {
+                return SMALL_PROJECTILE;
+            }
+            if (size < Projectile.MIN_PROJECTILE_SIZE + step + step)
+            {
+                return MEDIUM_PROJECTILE;
+            }
+            return LARGE_PROJECTILE;
+        }
+    }
+
+    private final long score;
+    private final long timestamp;
+    private final long seed;
+    private final int[] powerUps;
+    private final int peakProjectiles;
+    private final DeathCause deathCause;
+
+    /**
+     * Constructs a score record with no run details.
+     *
+     * @param score Survival time in seconds
+     * @param timestamp End of the run in epoch milliseconds
+     * @param seed Seed of the session's random source
+     */
+    public ScoreRecord(final long score,
+                       final long timestamp,
+                       final long seed)
+    {
+        this(score, timestamp, seed, new int[POWER_UP_TYPES], NONE, DeathCause.UNKNOWN);
+    }
+
+    /**
+     * Constructs a score record with full run details.
+     *
+     * @param score Survival time in seconds
+     * @param timestamp End of the run in epoch milliseconds
+     * @param seed Seed of the session's random source
+     * @param powerUps Power-ups collected, indexed by {@link PowerUp.PowerUpType} ordinal
+     * @param peakProjectiles Most projectiles on screen at once
+     * @param deathCause What ended the run
+     */
+    public ScoreRecord(final long score,
+                       final long timestamp,
+                       final long seed,
+                       final int[] powerUps,
+                       final int peakProjectiles,
+                       final DeathCause deathCause)
+    {
+        if (powerUps.length != POWER_UP_TYPES)
+        {
+            throw new IllegalArgumentException("Expected one power-up count per type");
+        }
+        this.score = score;
+        this.timestamp = timestamp;
+        this.seed = seed;
+        this.powerUps = powerUps.clone();
+        this.peakProjectiles = peakProjectiles;
+        this.deathCause = deathCause;
+    }
+
+    /**
+     * Writes this record at the buffer's position in the current format.
+     *
+     * @param buffer The buffer to write to
+     */
+    public void writeTo(final ByteBuffer buffer)
+    {
+        buffer.putLong(score);
+        buffer.putLong(timestamp);
+        buffer.putLong(seed);
+        for (final int count : powerUps)
+        {
+            buffer.putInt(count);
+        }
+        buffer.putInt(peakProjectiles);
+        buffer.putInt(deathCause.ordinal());
+    }
+
+    /**
+     * Reads a current-format record from the buffer's position.
+     *
+     * @param buffer The buffer to read from
+     * @return the decoded record
+     */
+    public static ScoreRecord readFrom(final ByteBuffer buffer)
+    {
+        return readFrom(buffer, VERSION);
+    }
+
+    /**
+     * Reads a record of the given format version from the buffer's position.
+     *
+     * @param buffer The buffer to read from
+     * @param version The format version the record was written in
+     * @return the decoded record
+     */
+    public static ScoreRecord readFrom(final ByteBuffer buffer,
+                                       final short version)
+    {
+        final long score;
+        final long timestamp;
+        final long seed;
+        final int[] powerUps;
+        final int peak;
+        final int cause;
+
+        score = buffer.getLong();
+        timestamp = buffer.getLong();
+        seed = buffer.getLong();
+        if (version == LEGACY_VERSION)
+        {
+            return new ScoreRecord(score, timestamp, seed);
+        }
+
+        powerUps = new int[POWER_UP_TYPES];
+        for (int i = 0; i < powerUps.length; i++)
+        {
+            powerUps[i] = buffer.getInt();
+        }
+        peak = buffer.getInt();
+        cause = buffer.getInt();
+        return new ScoreRecord(score, timestamp, seed, powerUps, peak,
+                cause >= NONE && cause < CAUSES.length ? CAUSES[cause] : DeathCause.UNKNOWN);
+    }
+
+    /**
+     * Gets the encoded width of a record format version.
+     *
+     * @param version The format version
+     * @return bytes per record
+     * @throws IllegalArgumentException if the version is not known
+     */
+    public static int bytesFor(final short version)
+    {
+        return switch (version)
+        {
+            case LEGACY_VERSION -> LEGACY_BYTES;
+            case VERSION -> BYTES;
+            default -> throw new IllegalArgumentException("Unknown record version " + version);
+        };
+    }
+
+    /**
+     * Gets the survival time.
+     *
+     * @return score in seconds
+     */
+    public long getScore()
+    {
+        return score;
+    }
+
+    /**
+     * Gets when the run ended.
+     *
+     * @return epoch milliseconds, or {@link #UNKNOWN}
+     */
+    public long getTimestamp()
+    {
+        return timestamp;
+    }
+
+    /**
+     * Gets the session seed.
+     *
+     * @return seed, or {@link #UNKNOWN}
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * Gets how many power-ups of one type were collected.
+     *
+     * @param type The power-up type
+     * @return number collected
+     */
+    public int getPowerUps(final PowerUp.PowerUpType type)
+    {
+        return powerUps[type.ordinal()];
+    }
+
+    /**
+     * Gets the most projectiles that were on screen at once.
+     *
+     * @return peak projectile count, or 0 if not recorded
+     */
+    public int getPeakProjectiles()
+    {
+        return peakProjectiles;
+    }
+
+    /**
+     * Gets what ended the run.
+     *
+     * @return cause of death
+     */
+    public DeathCause getDeathCause()
+    {
+        return deathCause;
+    }
+}
@@ -0,0 +1,271 @@
+package ca.bcit.termProject.vortexGame;
+
+import java.util.function.Consumer;
+
+/**
+ * One-pass aggregate statistics over a stream of {@link ScoreRecord}s.
+ *
+ * <p>Computed Values:
+ * <ul>
+ *   <li>Run count, best and mean survival time</li>
+ *   <li>Exact survival percentiles and a bucketed histogram</li>
+ *   <li>Simple moving average over the most recent runs</li>
+ *   <li>Exponential moving average, weighted towards recent runs</li>
+ *   <li>Power-ups collected per type, peak projectiles and causes of death</li>
+ * </ul>
+ *
+ * <p>Memory Characteristics:
+ * <table border="1">
+ *   <tr><th>Structure</th><th>Size</th></tr>
+ *   <tr><td>Survival histogram</td><td>One counter per second up to the cap</td></tr>
+ *   <tr><td>Moving average window</td><td>One long per run in the window</td></tr>
+ *   <tr><td>Totals</td><td>One counter per power-up type and cause of death</td></tr>
+ * </table>
+ *
+ * <p>Memory use is fixed when the statistics are constructed, so any number
+ * of runs can be fed through {@link #accept(ScoreRecord)}. Records are
+ * expected oldest first, which is the order {@link ScoreLog#forEach} visits them.
+ *
+ * <p>Not thread-safe; fill on one thread, then read.</p>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class ScoreStatistics implements Consumer<ScoreRecord>
+{
+    private static final int NONE               = 0;
+    private static final int MIN_WINDOW         = 1;
+    private static final int LAST_BUCKET        = 1;
+    private static final double MIN_SMOOTHING   = 0.0;
+    private static final double MAX_SMOOTHING   = 1.0;
+
+    private final SurvivalDistribution survival;
+    private final long[] window;
+    private final double smoothing;
+    private final long[] powerUps;
+    private final long[] deathCauses;
+    private long runs;
+    private long bestScore;
+    private long windowTotal;
+    private double exponentialAverage;
+    private long detailedRuns;
+    private long totalPeakProjectiles;
+    private int highestPeakProjectiles;
+
+    /**
+     * Constructs empty statistics.
+     *
+     * @param maxSeconds Longest survival time tracked exactly; longer runs are clamped in the histogram
+     * @param windowSize Number of most recent runs in the simple moving average
+     * @param smoothing Weight of each new run in the exponential moving average, between 0 and 1
+     */
+    public ScoreStatistics(final int maxSeconds,
+                           final int windowSize,
+                           final double smoothing)
+    {
+        if (windowSize < MIN_WINDOW)
+        {
+            throw new IllegalArgumentException("Window size must be positive");
+        }
+        if (smoothing <= MIN_SMOOTHING ||
+                smoothing > MAX_SMOOTHING)
+        {
+            throw new IllegalArgumentException("Smoothing must be in (0, 1]");
+        }
+        this.survival = new SurvivalDistribution(maxSeconds);
+        this.window = new long[windowSize];
+        this.smoothing = smoothing;
+        this.powerUps = new long[PowerUp.PowerUpType.values().length];
+        this.deathCauses = new long[ScoreRecord.DeathCause.values().length];
+    }
+
+    /**
+     * Adds one run to every statistic.
+     *
+     * @param record The next run, in log order
+     */
+    @Override
+    public void accept(final ScoreRecord record)
+    {
+        final long score;
+        final int slot;
+
+        score = record.getScore();
+        slot = (int) (runs % window.length);
+
+        survival.record(score);
+        windowTotal += score - window[slot];
+        window[slot] = score;
+        exponentialAverage = runs == NONE ? score : exponentialAverage + smoothing * (score - exponentialAverage);
+        bestScore = runs == NONE ? score : Math.max(bestScore, score);
+        runs++;
+
+        deathCauses[record.getDeathCause().ordinal()]++;
+        if (record.getDeathCause() != ScoreRecord.DeathCause.UNKNOWN)
+        {
+            for (final PowerUp.PowerUpType type : PowerUp.PowerUpType.values())
+            {
+                powerUps[type.ordinal()] += record.getPowerUps(type);
+            }
+            totalPeakProjectiles += record.getPeakProjectiles();
+            highestPeakProjectiles = Math.max(highestPeakProjectiles, record.getPeakProjectiles());
+            detailedRuns++;
+        }
+    }
+
+    /**
+     * Gets the number of runs seen.
+     *
+     * @return run count
+     */
+    public long getRuns()
+    {
+        return runs;
+    }
+
+    /**
+     * Gets the best survival time.
+     *
+     * @return best score in seconds, or 0 if empty
+     */
+    public long getBestScore()
+    {
+        return bestScore;
+    }
+
+    /**
+     * Gets the mean survival time over every run.
+     *
+     * @return mean seconds, or 0 if empty
+     */
+    public double getMean()
+    {
+        return survival.mean();
+    }
+
+    /**
+     * Finds the survival time at or below which the given percentage of runs ended.
+     *
+     * @param percent Percentile between 0 and 100
+     * @return survival seconds at that percentile
+     */
+    public int percentile(final double percent)
+    {
+        return survival.percentile(percent);
+    }
+
+    /**
+     * Counts runs into equal-width survival time buckets.
+     *
+     * <p>Bucket i holds runs that survived from i * bucketSeconds up to, but
+     * not including, (i + 1) * bucketSeconds. The last bucket also holds every
+     * longer run.
+     *
+     * @param bucketSeconds Width of each bucket in seconds
+     * @param buckets Number of buckets
+     * @return run count per bucket
+     */
+    public long[] histogram(final int bucketSeconds,
+                            final int buckets)
+    {
+        final long[] counts;
+
+        if (bucketSeconds < MIN_WINDOW ||
+                buckets < MIN_WINDOW)
+        {
+            throw new IllegalArgumentException("Bucket width and count must be positive");
+        }
+
+        counts = new long[buckets];
+        for (int second = 0; second <= survival.getMaxSeconds(); second++)
+        {
+            counts[Math.min(second / bucketSeconds, buckets - LAST_BUCKET)] += survival.countAt(second);
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the mean survival time of the most recent runs.
+     *
+     * @return simple moving average in seconds, or 0 if empty
+     */
+    public double getMovingAverage()
+    {
+        final long inWindow;
+
+        inWindow = Math.min(runs, window.length);
+        return inWindow == NONE ? NONE : (double) windowTotal / inWindow;
+    }
+
+    /**
+     * Gets the number of runs the simple moving average covers.
+     *
+     * @return window size
+     */
+    public int getWindowSize()
+    {
+        return window.length;
+    }
+
+    /**
+     * Gets the exponential moving average of survival time.
+     *
+     * @return weighted average in seconds, or 0 if empty
+     */
+    public double getExponentialAverage()
+    {
+        return exponentialAverage;
+    }
+
+    /**
+     * Gets the number of runs recorded with power-up, projectile and cause details.
+     *
+     * @return detailed run count
+     */
+    public long getDetailedRuns()
+    {
+        return detailedRuns;
+    }
+
+    /**
+     * Gets the total power-ups of one type collected in detailed runs.
+     *
+     * @param type The power-up type
+     * @return number collected
+     */
+    public long getPowerUps(final PowerUp.PowerUpType type)
+    {
+        return powerUps[type.ordinal()];
+    }
+
+    /**
+     * Gets how many runs ended for a given cause.
+     *
+     * @param cause The cause of death
+     * @return run count
+     */
+    public long getDeaths(final ScoreRecord.DeathCause cause)
+    {
+        return deathCauses[cause.ordinal()];
+    }
+
+    /**
+     * Gets the mean peak projectile count of detailed runs.
+     *
+     * @return mean peak, or 0 if there are no detailed runs
+     */
+    public double getMeanPeakProjectiles()
+    {
+        return detailedRuns == NONE ? NONE : (double) totalPeakProjectiles / detailedRuns;
+    }
+
+    /**
+     * Gets the highest peak projectile count of any run.
+     *
+     * @return highest peak
+     */
+    public int getHighestPeakProjectiles()
+    {
+        return highestPeakProjectiles;
+    }
+}
@@ -0,0 +1,273 @@
+package ca.bcit.termProject.vortexGame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue that persists score records on a dedicated I/O thread.
+ *
+ * <p>Writer Behaviour:
+ * <ul>
+ *   <li>{@link #submit(ScoreRecord)} only enqueues and never touches the disk</li>
+ *   <li>The I/O thread appends queued records to the {@link ScoreLog} in batches</li>
+ *   <li>Records other processes appended are passed to a follower first</li>
+ *   <li>After each batch the top score and rank index sidecars are rewritten</li>
+ *   <li>Data is forced to the device according to the {@link FlushPolicy}</li>
+ *   <li>{@link #close()} drains every queued record before returning</li>
+ * </ul>
+ *
+ * <p>The follower is expected to add foreign records to the same indexes,
+ * so the indexes always match the log position they are saved with. Each
+ * batch updates and saves the indexes while holding the log's monitor, the
+ * same one {@link ScoreLog#refresh(ScoreLog.Follower)} holds, so a refresh
+ * cannot reset or extend them halfway through.</p>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class ScoreWriter
+{
+    private static final int MAX_BATCH              = 256;
+    private static final long POLL_TIMEOUT_MS       = 250;
+    private static final long CLOSE_TIMEOUT_MS      = 5000;
+    private static final long NANOS_PER_MILLISECOND = 1_000_000L;
+
+    /**
+     * When written records are forced from the OS cache to the storage device.
+     */
+    public enum FlushPolicy
+    {
+        /**
+         * Never force; rely on the operating system to write back.
+         */
+        NONE,
+
+        /**
+         * Force after every batch; slowest, loses nothing on power failure.
+         */
+        EVERY_BATCH,
+
+        /**
+         * Force at most once per sync interval and when the writer closes.
+         */
+        PERIODIC
+    }
+
+    private final ScoreLog log;
+    private final TopScoreIndex index;
+    private final Path indexFile;
+    private final ScoreRankIndex ranks;
+    private final Path ranksFile;
+    private final ScoreLog.Follower follower;
+    private final FlushPolicy policy;
+    private final long syncIntervalNanos;
+    private final BlockingQueue<ScoreRecord> queue;
+    private final Thread ioThread;
+    private final Object lifecycle;
+    private volatile boolean closing;
+    private long lastSyncNanos;
+    private boolean unsynced;
+
+    /**
+     * Constructs a writer and starts its I/O thread.
+     *
+     * @param log The score log to append to
+     * @param index The top score index to keep in step with the log
+     * @param indexFile Where the index sidecar is written
+     * @param ranks The rank index to keep in step with the log
+     * @param ranksFile Where the rank index sidecar is written
+     * @param follower Receives records other processes appended, before each batch
+     * @param policy When to force written data to the device
+     * @param syncIntervalMillis Minimum time between forces under {@link FlushPolicy#PERIODIC}
+     */
+    public ScoreWriter(final ScoreLog log,
+                       final TopScoreIndex index,
+                       final Path indexFile,
+                       final ScoreRankIndex ranks,
+                       final Path ranksFile,
+                       final ScoreLog.Follower follower,
+                       final FlushPolicy policy,
+                       final long syncIntervalMillis)
+    {
+        this.log = log;
+        this.index = index;
+        this.indexFile = indexFile;
+        this.ranks = ranks;
+        this.ranksFile = ranksFile;
+        this.follower = follower;
+        this.policy = policy;
+        this.syncIntervalNanos = syncIntervalMillis * NANOS_PER_MILLISECOND;
+        this.queue = new LinkedBlockingQueue<>();
+        this.lifecycle = new Object();
+        this.lastSyncNanos = System.nanoTime();
+        this.ioThread = new Thread(this::runWriter, "vortex-score-writer");
+        this.ioThread.setDaemon(true);
+        this.ioThread.start();
+    }
+
+    /**
+     * Queues a record for writing without blocking.
+     *
+     * @param record The record to persist
+     * @throws IllegalStateException if the writer is closed
+     */
+    public void submit(final ScoreRecord record)
+    {
+        synchronized (lifecycle)
+        {
+            if (closing)
+            {
+                throw new IllegalStateException("Score writer is closed");
+            }
+            queue.add(record);
+        }
+    }
+
+    /**
+     * Stops accepting records, writes everything still queued and syncs the log.
+     */
+    public void close()
+    {
+        stopAccepting();
+        try
+        {
+            ioThread.join(CLOSE_TIMEOUT_MS);
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        if (ioThread.isAlive())
+        {
+            System.err.println("Score writer did not drain in time");
+        }
+    }
+
+    /*
+     * I/O thread loop: waits for records, writes them in batches, and exits
+     * once closing is requested and the queue is empty.
+     */
+    private void runWriter()
+    {
+        final List<ScoreRecord> batch;
+
+        batch = new ArrayList<>(MAX_BATCH);
+
+        while (!closing || !queue.isEmpty())
+        {
+            try
+            {
+                final ScoreRecord first;
+
+                first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first != null)
+                {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - batch.size());
+                    writeBatch(batch);
+                    batch.clear();
+                }
+                else if (unsynced && policy == FlushPolicy.PERIODIC)
+                {
+                    syncIfDue();
+                }
+            }
+            catch (final InterruptedException e)
+            {
+                stopAccepting();
+            }
+        }
+
+        if (unsynced && policy != FlushPolicy.NONE)
+        {
+            sync();
+        }
+    }
+
+    /*
+     * Stops accepting records. Once this returns, nothing more is queued,
+     * so the I/O thread can stop as soon as the queue is empty.
+     */
+    private void stopAccepting()
+    {
+        synchronized (lifecycle)
+        {
+            closing = true;
+        }
+    }
+
+    /*
+     * Appends a batch to the log, updates the indexes and applies the flush policy.
+     *
+     * @param batch the records to write
+     */
+    private void writeBatch(final List<ScoreRecord> batch)
+    {
+        try
+        {
+            synchronized (log)
+            {
+                final long endPosition;
+
+                endPosition = log.append(batch, follower);
+                for (final ScoreRecord record : batch)
+                {
+                    index.offer(record.getScore());
+                    ranks.add(record.getScore());
+                }
+                index.setIndexedPosition(endPosition);
+                index.write(indexFile);
+                ranks.setIndexedPosition(endPosition);
+                ranks.write(ranksFile);
+            }
+            unsynced = true;
+
+            switch (policy)
+            {
+                case EVERY_BATCH -> sync();
+                case PERIODIC -> syncIfDue();
+                case NONE -> unsynced = false;
+            }
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Failed to save");
+            e.printStackTrace();
+        }
+    }
+
+    /*
+     * Syncs the log if the sync interval has elapsed since the last sync.
+     */
+    private void syncIfDue()
+    {
+        if (System.nanoTime() - lastSyncNanos >= syncIntervalNanos)
+        {
+            sync();
+        }
+    }
+
+    /*
+     * Forces the log to the storage device.
+     */
+    private void sync()
+    {
+        try
+        {
+            log.sync();
+            unsynced = false;
+            lastSyncNanos = System.nanoTime();
+        }
+        catch (final IOException e)
+        {
+            System.err.println("Failed to sync score log");
+            e.printStackTrace();
+        }
+    }
+}
@@ -27,6 +27,7 @@ import java.util.Random;
  * <p>Performance Considerations:
  * <ul>
  *   <li>Uses shared BoxBlur instance for efficient rendering</li>
+ *   <li>Blur and star count follow the active {@link QualityGovernor.QualityLevel}</li>
  *   <li>Static spawn method minimizes object creation overhead</li>
  *   <li>CSS styling for maintainable visual properties</li>
  * </ul>
@@ -67,6 +68,22 @@ public final class Star extends GameObject
         STAR_BLUR.setHeight(STAR_BLUR_INTENSITY);
     }
 
+    /**
+     * Applies the visual settings of a quality level to this star.
+     *
+     * <p>Stars are never removed, only hidden, so stepping back up to a
+     * higher quality level restores the original starfield.
+     *
+     * @param level The active quality level
+     * @param starIndex Position of this star within its starfield
+     */
+    public void applyQuality(final QualityGovernor.QualityLevel level,
+                             final int starIndex)
+    {
+        setEffect(level.isStarBlurEnabled() ? STAR_BLUR : null);
+        setVisible(level.isStarVisible(starIndex));
+    }
+
     /**
      * Generates the complete starfield background for a game session.
      *
@@ -94,7 +111,7 @@ public final class Star extends GameObject
 
             star = new Star();
 
-            star.setEffect(STAR_BLUR);
+            star.applyQuality(gameEngine.getQualityLevel(), i);
 
             gameEngine.getRoot().getChildren().addFirst(star);
         }
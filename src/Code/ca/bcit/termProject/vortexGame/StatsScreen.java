@@ -0,0 +1,262 @@
+package ca.bcit.termProject.vortexGame;
+
+import javafx.application.Platform;
+import javafx.scene.control.Button;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.effect.Glow;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+
+import static ca.bcit.termProject.vortexGame.Star.spawnStars;
+
+/**
+ * Represents the statistics screen summarising every stored run.
+ *
+ * <p>This screen provides:
+ * <ul>
+ *   <li>Run count, best and mean survival time</li>
+ *   <li>Median, 90th and 99th percentile survival times</li>
+ *   <li>Recent and exponentially weighted moving averages</li>
+ *   <li>Power-up, peak projectile and cause of death totals</li>
+ *   <li>A survival time histogram</li>
+ * </ul>
+ *
+ * <p>UI Characteristics:
+ * <table border="1">
+ *   <tr><th>Component</th><th>Features</th></tr>
+ *   <tr><td>Title</td><td>Drop shadow, large font</td></tr>
+ *   <tr><td>Summary</td><td>One line per statistic, left column</td></tr>
+ *   <tr><td>Histogram</td><td>Bars scaled to the fullest bucket, right column</td></tr>
+ *   <tr><td>Buttons</td><td>Glow effect on hover, consistent sizing</td></tr>
+ * </table>
+ *
+ * <p>The score log is read in one streaming pass on a background thread
+ * through {@link ScoreManager#forEachRecord}, so opening the screen never
+ * blocks the JavaFX Application Thread, however long the history is.
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class StatsScreen extends Pane
+{
+    private static final int TITLE_OFFSET_Y         = 80;
+    private static final int TITLE_X_OFFSET         = 130;
+    private static final int SUMMARY_X              = 80;
+    private static final int SUMMARY_Y              = 120;
+    private static final int SUMMARY_SPACING        = 6;
+    private static final int HISTOGRAM_X            = 540;
+    private static final int HISTOGRAM_TITLE_Y      = 140;
+    private static final int HISTOGRAM_BASELINE_Y   = 480;
+    private static final int HISTOGRAM_HEIGHT       = 300;
+    private static final int HISTOGRAM_CAPTION_Y    = 510;
+    private static final int BAR_WIDTH              = 28;
+    private static final int BAR_GAP                = 4;
+    private static final int HISTOGRAM_BUCKETS      = 12;
+    private static final int BUCKET_SECONDS         = 10;
+    private static final int LAST_BUCKET            = 1;
+    private static final int BUTTON_OFFSET_Y        = 620;
+    private static final int BUTTON_WIDTH           = 240;
+    private static final int BUTTON_HEIGHT          = 60;
+    private static final int HALF_BUTTON_WIDTH      = BUTTON_WIDTH / 2;
+    private static final int MOVING_AVERAGE_RUNS    = 20;
+    private static final double SMOOTHING           = 0.1;
+    private static final double MEDIAN              = 50.0;
+    private static final double NINETIETH           = 90.0;
+    private static final double NINETY_NINTH        = 99.0;
+    private static final long EMPTY                 = 0;
+    private static final double GLOW_LEVEL          = 0.3;
+    private static final double SHADOW_RADIUS       = 10.0;
+    private static final Color SHADOW_COLOR         = Color.rgb(100, 100, 255, 0.9);
+    private static final String DECIMAL_FORMAT      = "%.1f";
+
+    private final VortexGameEngine gameEngine;
+    private final VBox summary;
+    private final Pane histogram;
+    private DropShadow textShadow;
+
+    /**
+     * Constructs the statistics screen and starts reading the score log.
+     *
+     * @param gameEngine The main game controller
+     */
+    public StatsScreen(final VortexGameEngine gameEngine)
+    {
+        this.gameEngine = gameEngine;
+        this.summary = new VBox(SUMMARY_SPACING);
+        this.histogram = new Pane();
+        createContent();
+        loadInBackground();
+    }
+
+    /*
+     * Creates the title, placeholder summary, histogram area and back button.
+     */
+    private void createContent()
+    {
+        final Glow buttonGlow;
+        final Text title;
+        final Text histogramTitle;
+        final Button backButton;
+
+        textShadow = new DropShadow(SHADOW_RADIUS, SHADOW_COLOR);
+        buttonGlow = new Glow(GLOW_LEVEL);
+        title = new Text("STATISTICS");
+        histogramTitle = new Text("SURVIVAL TIMES");
+        backButton = new Button("MAIN MENU");
+
+        title.getStyleClass().add("game-over-title");
+        title.setEffect(textShadow);
+        title.setX(VortexGameEngine.HALF_SCREEN_WIDTH_PX - TITLE_X_OFFSET);
+        title.setY(TITLE_OFFSET_Y);
+
+        summary.setLayoutX(SUMMARY_X);
+        summary.setLayoutY(SUMMARY_Y);
+        summary.getChildren().add(line("Loading..."));
+
+        histogramTitle.getStyleClass().add("leaderboard-title");
+        histogramTitle.setEffect(textShadow);
+        histogramTitle.setX(HISTOGRAM_X);
+        histogramTitle.setY(HISTOGRAM_TITLE_Y);
+
+        backButton.getStyleClass().add("menu-button");
+        backButton.setLayoutX(VortexGameEngine.HALF_SCREEN_WIDTH_PX - HALF_BUTTON_WIDTH);
+        backButton.setLayoutY(BUTTON_OFFSET_Y);
+        backButton.setPrefSize(BUTTON_WIDTH, BUTTON_HEIGHT);
+        backButton.setOnAction(e -> gameEngine.showMainMenu());
+        backButton.setOnMouseEntered(e -> backButton.setEffect(buttonGlow));
+        backButton.setOnMouseExited(e -> backButton.setEffect(null));
+
+        spawnStars(gameEngine);
+        getChildren().addAll(title, summary, histogramTitle, histogram, backButton);
+    }
+
+    /*
+     * Streams the score log into fresh statistics on a daemon thread and
+     * shows the result on the JavaFX Application Thread.
+     */
+    private void loadInBackground()
+    {
+        final Thread loader;
+
+        loader = new Thread(() ->
+        {
+            final ScoreStatistics statistics;
+            final boolean complete;
+
+            statistics = new ScoreStatistics(ScoreRecord.MAX_TRACKED_SECONDS, MOVING_AVERAGE_RUNS, SMOOTHING);
+            complete = ScoreManager.forEachRecord(statistics);
+            Platform.runLater(() -> show(statistics, complete));
+        }, "vortex-stats-query");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /*
+     * Replaces the placeholder with the computed statistics.
+     *
+     * @param statistics the filled statistics
+     * @param complete false if the score log could not be fully read
+     */
+    private void show(final ScoreStatistics statistics,
+                      final boolean complete)
+    {
+        summary.getChildren().clear();
+        if (!complete)
+        {
+            summary.getChildren().add(line("Scores could not be read"));
+            return;
+        }
+        if (statistics.getRuns() == EMPTY)
+        {
+            summary.getChildren().add(line("No Scores!"));
+            return;
+        }
+
+        summary.getChildren().addAll(
+                line("Runs: " + statistics.getRuns()),
+                line("Best: " + statistics.getBestScore() + "s"),
+                line("Mean: " + decimal(statistics.getMean()) + "s"),
+                line("Median: " + statistics.percentile(MEDIAN) + "s"),
+                line("90th Percentile: " + statistics.percentile(NINETIETH) + "s"),
+                line("99th Percentile: " + statistics.percentile(NINETY_NINTH) + "s"),
+                line("Last " + statistics.getWindowSize() + " Runs: " +
+                        decimal(statistics.getMovingAverage()) + "s"),
+                line("Trend: " + decimal(statistics.getExponentialAverage()) + "s"),
+                line("Speed Boosts: " + statistics.getPowerUps(PowerUp.PowerUpType.SPEED_BOOST)),
+                line("Boost Ups: " + statistics.getPowerUps(PowerUp.PowerUpType.BOOST_UP)),
+                line("Boost Refreshes: " + statistics.getPowerUps(PowerUp.PowerUpType.REFRESH_BOOST)),
+                line("Peak Projectiles: " + decimal(statistics.getMeanPeakProjectiles()) +
+                        " avg, " + statistics.getHighestPeakProjectiles() + " max"),
+                line("Deaths S/M/L: " +
+                        statistics.getDeaths(ScoreRecord.DeathCause.SMALL_PROJECTILE) + " / " +
+                        statistics.getDeaths(ScoreRecord.DeathCause.MEDIUM_PROJECTILE) + " / " +
+                        statistics.getDeaths(ScoreRecord.DeathCause.LARGE_PROJECTILE)));
+
+        showHistogram(statistics.histogram(BUCKET_SECONDS, HISTOGRAM_BUCKETS));
+    }
+
+    /*
+     * Draws one bar per bucket, scaled so the fullest bucket fills the height.
+     *
+     * @param counts runs per bucket
+     */
+    private void showHistogram(final long[] counts)
+    {
+        final Text caption;
+        long fullest;
+
+        fullest = EMPTY;
+        for (final long count : counts)
+        {
+            fullest = Math.max(fullest, count);
+        }
+
+        for (int i = 0; i < counts.length; i++)
+        {
+            final double height;
+            final Rectangle bar;
+
+            height = fullest == EMPTY ? EMPTY : (double) HISTOGRAM_HEIGHT * counts[i] / fullest;
+            bar = new Rectangle(HISTOGRAM_X + i * (BAR_WIDTH + BAR_GAP),
+                    HISTOGRAM_BASELINE_Y - height, BAR_WIDTH, height);
+            bar.getStyleClass().add("stats-bar");
+            histogram.getChildren().add(bar);
+        }
+
+        caption = line(BUCKET_SECONDS + "s per bar, last bar " +
+                (BUCKET_SECONDS * (counts.length - LAST_BUCKET)) + "s+");
+        caption.setX(HISTOGRAM_X);
+        caption.setY(HISTOGRAM_CAPTION_Y);
+        histogram.getChildren().add(caption);
+    }
+
+    /*
+     * Creates one styled line of summary text.
+     *
+     * @param text the line's content
+     * @return the styled text node
+     */
+    private Text line(final String text)
+    {
+        final Text line;
+
+        line = new Text(text);
+        line.getStyleClass().add("leaderboard-score");
+        line.setEffect(textShadow);
+        return line;
+    }
+
+    /*
+     * Formats a value with one decimal place.
+     *
+     * @param value the value
+     * @return formatted text
+     */
+    private static String decimal(final double value)
+    {
+        return String.format(DECIMAL_FORMAT, value);
+    }
+}
@@ -0,0 +1,159 @@
+package ca.bcit.termProject.vortexGame;
+
+/**
+ * Histogram of survival times in whole seconds.
+ *
+ * <p>Used by the batch simulator to summarise thousands of sessions:
+ * <ul>
+ *   <li>One counter per second up to a fixed cap</li>
+ *   <li>Exact percentiles without storing individual results</li>
+ *   <li>Mergeable, so each worker thread fills its own instance</li>
+ * </ul>
+ *
+ * <p>Not thread-safe; merge per-thread instances once they are complete.</p>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class SurvivalDistribution
+{
+    private static final int INITIAL_VALUE  = 0;
+    private static final int CAP_BUCKET     = 1;
+    private static final double MIN_PERCENT = 0.0;
+    private static final double MAX_PERCENT = 100.0;
+
+    private final long[] secondsHistogram;
+    private long sessions;
+    private long totalSeconds;
+
+    /**
+     * Constructs an empty distribution.
+     *
+     * @param maxSeconds Longest survival time that can be recorded; longer runs are clamped
+     */
+    public SurvivalDistribution(final int maxSeconds)
+    {
+        if (maxSeconds <= INITIAL_VALUE)
+        {
+            throw new IllegalArgumentException("Max seconds must be positive");
+        }
+        this.secondsHistogram = new long[maxSeconds + CAP_BUCKET];
+    }
+
+    /**
+     * Records one session's survival time.
+     *
+     * @param survivalSeconds Seconds survived
+     */
+    public void record(final long survivalSeconds)
+    {
+        final int bucket;
+
+        bucket = (int) Math.min(Math.max(survivalSeconds, INITIAL_VALUE), getMaxSeconds());
+        secondsHistogram[bucket]++;
+        sessions++;
+        totalSeconds += bucket;
+    }
+
+    /**
+     * Adds every session from another distribution with the same cap.
+     *
+     * @param other The distribution to merge in
+     */
+    public void merge(final SurvivalDistribution other)
+    {
+        if (other.secondsHistogram.length != secondsHistogram.length)
+        {
+            throw new IllegalArgumentException("Distributions have different caps");
+        }
+
+        for (int i = 0; i < secondsHistogram.length; i++)
+        {
+            secondsHistogram[i] += other.secondsHistogram[i];
+        }
+        sessions += other.sessions;
+        totalSeconds += other.totalSeconds;
+    }
+
+    /**
+     * Finds the survival time at or below which the given percentage of sessions ended.
+     *
+     * @param percent Percentile between 0 and 100
+     * @return survival seconds at that percentile, or 0 if empty
+     */
+    public int percentile(final double percent)
+    {
+        final double target;
+        long seen;
+
+        if (percent < MIN_PERCENT ||
+                percent > MAX_PERCENT)
+        {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+
+        target = Math.max(CAP_BUCKET, Math.ceil(sessions * percent / MAX_PERCENT));
+        seen = INITIAL_VALUE;
+
+        for (int second = 0; second < secondsHistogram.length; second++)
+        {
+            seen += secondsHistogram[second];
+            if (seen >= target)
+            {
+                return second;
+            }
+        }
+        return INITIAL_VALUE;
+    }
+
+    /**
+     * Gets the mean survival time.
+     *
+     * @return mean seconds, or 0 if empty
+     */
+    public double mean()
+    {
+        return sessions == INITIAL_VALUE ? INITIAL_VALUE : (double) totalSeconds / sessions;
+    }
+
+    /**
+     * Gets the number of sessions that survived exactly the given time.
+     *
+     * @param seconds Survival time in seconds, at most the cap
+     * @return session count for that second
+     */
+    public long countAt(final int seconds)
+    {
+        return secondsHistogram[seconds];
+    }
+
+    /**
+     * Gets the number of sessions that reached the cap without dying.
+     *
+     * @return sessions clamped to the maximum
+     */
+    public long cappedSessions()
+    {
+        return secondsHistogram[getMaxSeconds()];
+    }
+
+    /**
+     * Gets the number of recorded sessions.
+     *
+     * @return session count
+     */
+    public long getSessions()
+    {
+        return sessions;
+    }
+
+    /**
+     * Gets the largest survival time this distribution can hold.
+     *
+     * @return cap in seconds
+     */
+    public int getMaxSeconds()
+    {
+        return secondsHistogram.length - CAP_BUCKET;
+    }
+}
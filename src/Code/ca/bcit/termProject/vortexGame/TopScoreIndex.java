@@ -0,0 +1,284 @@
+package ca.bcit.termProject.vortexGame;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size, descending list of the best scores, persisted as a small sidecar file.
+ *
+ * <p>The index lets the leaderboard be read without touching the full score log:
+ * <ul>
+ *   <li>Scores are kept sorted from highest to lowest</li>
+ *   <li>New scores are placed with a binary search</li>
+ *   <li>Scores that fall off the bottom are discarded</li>
+ *   <li>The header records the score log position that has been indexed</li>
+ * </ul>
+ *
+ * <p>Sidecar Format:
+ * <table border="1">
+ *   <tr><th>Field</th><th>Type</th></tr>
+ *   <tr><td>Magic</td><td>int</td></tr>
+ *   <tr><td>Version</td><td>int</td></tr>
+ *   <tr><td>Indexed Log Position</td><td>long</td></tr>
+ *   <tr><td>Capacity</td><td>int</td></tr>
+ *   <tr><td>Count</td><td>int</td></tr>
+ *   <tr><td>Scores</td><td>count longs, highest first</td></tr>
+ * </table>
+ *
+ * <p>Thread-safe; every method locks the index.</p>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class TopScoreIndex
+{
+    private static final int MAGIC         = 0x56545849;
+    private static final int VERSION       = 2;
+    private static final int MIN_CAPACITY  = 1;
+    private static final int INITIAL_VALUE = 0;
+    private static final int NEXT          = 1;
+    private static final int HALF          = 2;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final long[] scores;
+    private int count;
+    private long indexedPosition;
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param capacity Number of top scores to keep
+     */
+    public TopScoreIndex(final int capacity)
+    {
+        if (capacity < MIN_CAPACITY)
+        {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.scores = new long[capacity];
+    }
+
+    /**
+     * Offers a score to the index.
+     *
+     * <p>Equal scores keep their arrival order, so an existing score is never
+     * pushed out by a new score of the same value.
+     *
+     * @param score The survival time in seconds
+     * @return true if the score made it into the index
+     */
+    public synchronized boolean offer(final long score)
+    {
+        final int position;
+
+        position = insertionPoint(score);
+        if (position >= scores.length)
+        {
+            return false;
+        }
+
+        final int moved;
+
+        moved = Math.min(count, scores.length - NEXT) - position;
+        if (moved > INITIAL_VALUE)
+        {
+            System.arraycopy(scores, position, scores, position + NEXT, moved);
+        }
+        scores[position] = score;
+        count = Math.min(count + NEXT, scores.length);
+        return true;
+    }
+
+    /**
+     * Gets the best scores, highest first.
+     *
+     * @param n The maximum number of scores to return
+     * @return up to n scores
+     */
+    public synchronized List<Long> top(final int n)
+    {
+        final List<Long> result;
+        final int size;
+
+        size = Math.min(n, count);
+        result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+        {
+            result.add(scores[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Removes every score and resets the indexed position.
+     */
+    public synchronized void clear()
+    {
+        count = INITIAL_VALUE;
+        indexedPosition = INITIAL_VALUE;
+    }
+
+    /**
+     * Creates an independent copy of this index.
+     *
+     * @return a copy with the same scores and position
+     */
+    public synchronized TopScoreIndex copy()
+    {
+        final TopScoreIndex copy;
+
+        copy = new TopScoreIndex(scores.length);
+        System.arraycopy(scores, INITIAL_VALUE, copy.scores, INITIAL_VALUE, count);
+        copy.count = count;
+        copy.indexedPosition = indexedPosition;
+        return copy;
+    }
+
+    /**
+     * Gets the number of scores the index can hold.
+     *
+     * @return capacity
+     */
+    public int getCapacity()
+    {
+        return scores.length;
+    }
+
+    /**
+     * Gets the number of scores currently held.
+     *
+     * @return score count
+     */
+    public synchronized int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the score log position this index was built up to.
+     *
+     * @return indexed log position
+     */
+    public synchronized long getIndexedPosition()
+    {
+        return indexedPosition;
+    }
+
+    /**
+     * Records the score log position this index now reflects.
+     *
+     * @param indexedPosition indexed log position
+     */
+    public synchronized void setIndexedPosition(final long indexedPosition)
+    {
+        this.indexedPosition = indexedPosition;
+    }
+
+    /**
+     * Writes the index, replacing any previous sidecar in one step.
+     *
+     * @param path The sidecar file
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void write(final Path path) throws IOException
+    {
+        final Path temp;
+
+        temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), TEMP_SUFFIX);
+
+        try (final DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp)))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(indexedPosition);
+            out.writeInt(scores.length);
+            out.writeInt(count);
+            for (int i = 0; i < count; i++)
+            {
+                out.writeLong(scores[i]);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads an index sidecar.
+     *
+     * @param path The sidecar file
+     * @return the stored index
+     * @throws IOException if the file cannot be read or is not an index
+     */
+    public static TopScoreIndex read(final Path path) throws IOException
+    {
+        try (final DataInputStream in = new DataInputStream(Files.newInputStream(path)))
+        {
+            final TopScoreIndex index;
+            final long indexedPosition;
+            final int capacity;
+            final int count;
+
+            if (in.readInt() != MAGIC ||
+                    in.readInt() != VERSION)
+            {
+                throw new IOException("Not a score index: " + path);
+            }
+
+            indexedPosition = in.readLong();
+            capacity = in.readInt();
+            count = in.readInt();
+
+            if (capacity < MIN_CAPACITY ||
+                    count < INITIAL_VALUE ||
+                    count > capacity)
+            {
+                throw new IOException("Corrupt score index: " + path);
+            }
+
+            index = new TopScoreIndex(capacity);
+            for (int i = 0; i < count; i++)
+            {
+                index.scores[i] = in.readLong();
+            }
+            index.count = count;
+            index.indexedPosition = indexedPosition;
+            return index;
+        }
+    }
+
+    /*
+     * Finds the slot for a new score: after every score that is greater or equal.
+     *
+     * @param score the score being placed
+     * @return insertion index, or count when it belongs at the end
+     */
+    private int insertionPoint(final long score)
+    {
+        int low;
+        int high;
+
+        low = INITIAL_VALUE;
+        high = count;
+
+        while (low < high)
+        {
+            final int mid;
+
+            mid = low + (high - low) / HALF;
+            if (scores[mid] >= score)
+            {
+                low = mid + NEXT;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
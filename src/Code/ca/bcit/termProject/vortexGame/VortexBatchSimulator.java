@@ -0,0 +1,228 @@
+package ca.bcit.termProject.vortexGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Command-line harness that plays many bot sessions in parallel for balance tuning.
+ *
+ * <p>For every difficulty profile and bot policy the harness:
+ * <ul>
+ *   <li>Runs the requested number of independent {@link VortexSimulation}s</li>
+ *   <li>Spreads them across a fixed thread pool sized to the machine's cores</li>
+ *   <li>Aggregates survival times into a {@link SurvivalDistribution}</li>
+ *   <li>Prints mean, percentiles, maximum and capped sessions</li>
+ * </ul>
+ *
+ * <p>Usage:
+ * <pre>
+ * java ca.bcit.termProject.vortexGame.VortexBatchSimulator [sessions] [maxSeconds] [initial:min:seconds ...]
+ * </pre>
+ *
+ * <p>Defaults:
+ * <table border="1">
+ *   <tr><th>Argument</th><th>Default</th></tr>
+ *   <tr><td>sessions</td><td>1000 per profile and policy</td></tr>
+ *   <tr><td>maxSeconds</td><td>300</td></tr>
+ *   <tr><td>profiles</td><td>The game's standard profile plus a gentler and a harsher variant</td></tr>
+ * </table>
+ *
+ * <p>Session i uses the same seed under every profile and policy, so
+ * differences between rows come from the tuning, not from luck.</p>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class VortexBatchSimulator
+{
+    private static final int DEFAULT_SESSIONS       = 1000;
+    private static final int DEFAULT_MAX_SECONDS    = 300;
+    private static final int SESSIONS_ARG           = 0;
+    private static final int MAX_SECONDS_ARG        = 1;
+    private static final int FIRST_PROFILE_ARG      = 2;
+    private static final int CHUNKS_PER_THREAD      = 4;
+    private static final int MIN_CHUNK              = 1;
+    private static final long SEED_GAMMA            = 0x9E3779B97F4A7C15L;
+    private static final long NANOS_PER_MILLISECOND = 1_000_000L;
+    private static final double MILLIS_PER_MINUTE   = 60_000.0;
+    private static final double P10                 = 10;
+    private static final double P50                 = 50;
+    private static final double P90                 = 90;
+    private static final double P100                = 100;
+    private static final long MIN_ELAPSED_MILLIS    = 1;
+    private static final int PROFILE_PARTS          = 3;
+    private static final int INITIAL_RATE_PART      = 0;
+    private static final int MIN_RATE_PART          = 1;
+    private static final int SECONDS_PART           = 2;
+    private static final String[] POLICIES          = {"idle", "random-walk", "dodge-nearest"};
+    private static final DifficultyProfile[] DEFAULT_PROFILES =
+    {
+        VortexGameEngine.STANDARD_DIFFICULTY,
+        new DifficultyProfile(60, 15, 90),
+        new DifficultyProfile(40, 8, 45)
+    };
+
+    private VortexBatchSimulator()
+    {
+    }
+
+    /**
+     * Runs the batch and prints one summary row per profile and policy.
+     *
+     * @param args optional sessions, max seconds and profiles
+     */
+    public static void main(final String[] args)
+    {
+        final int sessions;
+        final int maxSeconds;
+        final DifficultyProfile[] profiles;
+        final int threads;
+        final ExecutorService pool;
+        final long startNanos;
+        final long elapsedMillis;
+        long totalSessions;
+
+        sessions = args.length > SESSIONS_ARG ? Integer.parseInt(args[SESSIONS_ARG]) : DEFAULT_SESSIONS;
+        maxSeconds = args.length > MAX_SECONDS_ARG ? Integer.parseInt(args[MAX_SECONDS_ARG]) : DEFAULT_MAX_SECONDS;
+        profiles = args.length > FIRST_PROFILE_ARG ? parseProfiles(args) : DEFAULT_PROFILES;
+        threads = Runtime.getRuntime().availableProcessors();
+        pool = Executors.newFixedThreadPool(threads);
+        startNanos = System.nanoTime();
+        totalSessions = 0;
+
+        System.out.printf("%-12s %-14s %8s %8s %6s %6s %6s %6s %7s%n",
+                "profile", "policy", "sessions", "mean", "p10", "p50", "p90", "max", "capped");
+
+        try
+        {
+            for (final DifficultyProfile profile : profiles)
+            {
+                for (final String policyName : POLICIES)
+                {
+                    final SurvivalDistribution distribution;
+
+                    distribution = simulate(pool, threads, profile, BotPolicy.byName(policyName),
+                            sessions, maxSeconds);
+                    totalSessions += distribution.getSessions();
+
+                    System.out.printf("%-12s %-14s %8d %8.1f %6d %6d %6d %6d %7d%n",
+                            profile,
+                            policyName,
+                            distribution.getSessions(),
+                            distribution.mean(),
+                            distribution.percentile(P10),
+                            distribution.percentile(P50),
+                            distribution.percentile(P90),
+                            distribution.percentile(P100),
+                            distribution.cappedSessions());
+                }
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        elapsedMillis = Math.max(MIN_ELAPSED_MILLIS, (System.nanoTime() - startNanos) / NANOS_PER_MILLISECOND);
+        System.out.printf("%d sessions on %d threads in %d ms (%.0f sessions/minute)%n",
+                totalSessions, threads, elapsedMillis, totalSessions * MILLIS_PER_MINUTE / elapsedMillis);
+    }
+
+    /**
+     * Plays sessions in parallel for one profile and policy.
+     *
+     * @param pool The worker pool
+     * @param threads Number of worker threads, used to size chunks
+     * @param profile The difficulty profile to play
+     * @param policy The bot policy controlling every session
+     * @param sessions Number of sessions to play
+     * @param maxSeconds Survival cap per session
+     * @return Merged survival distribution
+     */
+    public static SurvivalDistribution simulate(final ExecutorService pool,
+                                                final int threads,
+                                                final DifficultyProfile profile,
+                                                final BotPolicy policy,
+                                                final int sessions,
+                                                final int maxSeconds)
+    {
+        final List<Callable<SurvivalDistribution>> chunks;
+        final SurvivalDistribution merged;
+        final int chunkSize;
+
+        chunks = new ArrayList<>();
+        merged = new SurvivalDistribution(maxSeconds);
+        chunkSize = Math.max(MIN_CHUNK, sessions / (threads * CHUNKS_PER_THREAD));
+
+        for (int first = 0; first < sessions; first += chunkSize)
+        {
+            final int from;
+            final int to;
+
+            from = first;
+            to = Math.min(sessions, first + chunkSize);
+
+            chunks.add(() ->
+            {
+                final SurvivalDistribution local;
+
+                local = new SurvivalDistribution(maxSeconds);
+                for (int session = from; session < to; session++)
+                {
+                    local.record(new VortexSimulation(session * SEED_GAMMA, profile, policy).run(maxSeconds));
+                }
+                return local;
+            });
+        }
+
+        try
+        {
+            for (final Future<SurvivalDistribution> result : pool.invokeAll(chunks))
+            {
+                merged.merge(result.get());
+            }
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        }
+        catch (final ExecutionException e)
+        {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        }
+        return merged;
+    }
+
+    /*
+     * Parses profile arguments of the form initial:min:seconds.
+     *
+     * @param args all command-line arguments
+     * @return the parsed profiles
+     */
+    private static DifficultyProfile[] parseProfiles(final String[] args)
+    {
+        final DifficultyProfile[] profiles;
+
+        profiles = new DifficultyProfile[args.length - FIRST_PROFILE_ARG];
+        for (int i = FIRST_PROFILE_ARG; i < args.length; i++)
+        {
+            final String[] parts;
+
+            parts = args[i].split(":");
+            if (parts.length != PROFILE_PARTS)
+            {
+                throw new IllegalArgumentException("Profile must be initial:min:seconds, got " + args[i]);
+            }
+            profiles[i - FIRST_PROFILE_ARG] = new DifficultyProfile(Integer.parseInt(parts[INITIAL_RATE_PART]),
+                    Integer.parseInt(parts[MIN_RATE_PART]),
+                    Integer.parseInt(parts[SECONDS_PART]));
+        }
+        return profiles;
+    }
+}
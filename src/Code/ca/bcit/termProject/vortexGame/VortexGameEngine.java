@@ -10,6 +10,7 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
@@ -17,7 +18,6 @@ import java.util.Random;
 import static ca.bcit.termProject.vortexGame.Player.INITIAL_BOOST_LIMIT;
 import static ca.bcit.termProject.vortexGame.PowerUp.spawnPowerUp;
 import static ca.bcit.termProject.vortexGame.Projectile.MAX_PROJECTILE_SIZE;
-import static ca.bcit.termProject.vortexGame.Projectile.MIN_PROJECTILE_SIZE;
 import static ca.bcit.termProject.vortexGame.Star.spawnStars;
 
 /**
@@ -44,6 +44,7 @@ import static ca.bcit.termProject.vortexGame.Star.spawnStars;
  *   <li>Randomized projectile spawning from screen edges</li>
  *   <li>Power-up system with temporary player enhancements</li>
  *   <li>Particle effects through the star background system</li>
+ *   <li>Adaptive visual quality that keeps the tick rate steady on slow machines</li>
  * </ul>
  *
  * <p>The game follows a standard state pattern with three main states:
@@ -75,14 +76,19 @@ public final class VortexGameEngine extends Application
      * Half the screen width in pixels
      */
     static final double HALF_SCREEN_WIDTH_PX          = (double) SCREEN_WIDTH_PX / 2;
-    private static final double HALF_SCREEN_HEIGHT_PX = (double) SCREEN_HEIGHT_PX / 2;
+    /**
+     * Half the screen height in pixels
+     */
+    static final double HALF_SCREEN_HEIGHT_PX         = (double) SCREEN_HEIGHT_PX / 2;
 
     //Program Logic
     private static final int INITIAL_VALUE                      = 0;
-    private static final double PROJECTILE_SPAWN_EDGE_CHANCE    = 0.5;
-    private static final long NANOSECONDS_PER_FRAME             = 16_000_000;
+    /**
+     * Duration of one simulation tick in nanoseconds
+     */
+    static final long NANOSECONDS_PER_FRAME                     = QualityGovernor.FRAME_BUDGET_NANOS;
     private static final int MILLISECONDS_PER_SECOND            = 1000;
-    private static final int INIT_LOG_SCALING_MULTIPLIER        = 1;
+    private static final int MAX_CATCH_UP_TICKS                 = 5;
 
     //GUI
     private static final int START_TEXT_OFFSET_X            = 70;
@@ -96,8 +102,14 @@ public final class VortexGameEngine extends Application
     private static final int INITIALIZE_BOOST               = 1;
 
     //Game Objects
-    private static final int POWER_UP_SPAWN_RATE    = 5;
-    private static final int POWER_UP_INITIAL_DELAY = 5;
+    /**
+     * Seconds between power-up spawns
+     */
+    static final int POWER_UP_SPAWN_RATE    = 5;
+    /**
+     * Seconds survived before the first power-up spawns
+     */
+    static final int POWER_UP_INITIAL_DELAY = 5;
     /**
      * Universal pixel size of the player
      */
@@ -106,13 +118,22 @@ public final class VortexGameEngine extends Application
     private static final int INITIAL_PROJECTILE_SPAWN_RATE      = 50;
     private static final int MIN_PROJECTILE_SPAWN_RATE          = 10;
     private static final int TIME_TO_MAX_DIFFICULTY             = 60;
-    private static final int PROJECTILE_SPAWN_UPDATE_INTERVAL   = 5;
+    /**
+     * Difficulty curve used by the real game
+     */
+    static final DifficultyProfile STANDARD_DIFFICULTY          = new DifficultyProfile(
+            INITIAL_PROJECTILE_SPAWN_RATE, MIN_PROJECTILE_SPAWN_RATE, TIME_TO_MAX_DIFFICULTY);
+    private static final int CULL_WIDTH_PX                      = SCREEN_WIDTH_PX + MAX_PROJECTILE_SIZE;
+    private static final int CULL_HEIGHT_PX                     = SCREEN_HEIGHT_PX + MAX_PROJECTILE_SIZE;
+    private static final int CURRENT_TICK_MOVE                  = 1;
 
     private Pane root;
     private Player player;
     private long startTime;
     private int projectileSpawnCounter  = INITIAL_VALUE;
     private int projectileSpawnRate     = INITIAL_PROJECTILE_SPAWN_RATE;
+    private long sessionSeed;
+    private Random sessionRandom;
     private boolean powerUpSpawnedThisSecond;
     private boolean WPressed      = false;
     private boolean SPressed      = false;
@@ -132,6 +153,16 @@ public final class VortexGameEngine extends Application
     private Text survivalTimeText;
     private AnimationTimer gameLoop;
     private ProgressBar boostBar;
+    private final QualityGovernor qualityGovernor = new QualityGovernor();
+    private final List<javafx.scene.Node> sessionNodes = new ArrayList<>();
+    private final List<Projectile> activeProjectiles = new ArrayList<>();
+    private final List<Projectile> expiredProjectiles = new ArrayList<>();
+    private final ProjectileExpiryQueue projectileExpiry = new ProjectileExpiryQueue();
+    private final int[] powerUpsCollected = new int[PowerUp.PowerUpType.values().length];
+    private int peakProjectiles;
+    private long tickCount;
+    private long lastPulse;
+    private long pendingNanos;
 
     /**
      * Initializes the JavaFX application and configures the primary stage.
@@ -139,7 +170,7 @@ public final class VortexGameEngine extends Application
      * <p>This method:
      * <ul>
      *   <li>Sets up the main game scene</li>
-     *   <li>Loads CSS stylesheets</li>
+     *   <li>Loads CSS stylesheets and resolves them for gameplay nodes</li>
      *   <li>Configures window properties</li>
      *   <li>Displays the initial menu screen</li>
      * </ul>
@@ -149,19 +180,17 @@ public final class VortexGameEngine extends Application
     @Override
     public void start(final Stage primaryStage)
     {
-        final VortexGameEngine vortexGameEngine;
         final Scene scene;
 
-        vortexGameEngine = new VortexGameEngine();
-
-        scene = new Scene(vortexGameEngine.initializeContent(), SCREEN_WIDTH_PX, SCREEN_HEIGHT_PX);
+        scene = new Scene(initializeContent(), SCREEN_WIDTH_PX, SCREEN_HEIGHT_PX);
 
         scene.getStylesheets().add(Objects.requireNonNull(getClass()
                 .getResource("/VortexDesign.css")).toExternalForm());
+        VortexWarmUp.preloadStyles(root);
 
         primaryStage.setTitle("Vortex - Bullet Hell");
         primaryStage.setScene(scene);
-        vortexGameEngine.showMainMenu();
+        showMainMenu();
         primaryStage.show();
         primaryStage.toFront();
         primaryStage.requestFocus();
@@ -175,6 +204,7 @@ public final class VortexGameEngine extends Application
      *   <li>Sets game state to MENU</li>
      *   <li>Clears all game objects from the scene</li>
      *   <li>Instantiates a new MainMenu instance</li>
+     *   <li>Starts the one-time background warm-up while the menu is idle</li>
      * </ul>
      */
     public void showMainMenu()
@@ -182,6 +212,7 @@ public final class VortexGameEngine extends Application
         currentState = GameState.MENU;
         root.getChildren().clear();
         root.getChildren().add(new MainMenu(this));
+        VortexWarmUp.startInBackground();
     }
 
     /**
@@ -196,6 +227,16 @@ public final class VortexGameEngine extends Application
         root.getChildren().add(new GameOverScreen(this, survivalTime));
     }
 
+    /**
+     * Displays the statistics screen summarising every stored run.
+     */
+    public void showStatsScreen()
+    {
+        currentState = GameState.MENU;
+        root.getChildren().clear();
+        root.getChildren().add(new StatsScreen(this));
+    }
+
     /**
      * Initializes all game visual elements and control systems.
      *
@@ -205,10 +246,16 @@ public final class VortexGameEngine extends Application
      *   <li>Background star particles</li>
      *   <li>UI elements (timer text, boost meter)</li>
      *   <li>Keyboard input handlers</li>
+     *   <li>The game loop</li>
      * </ul>
+     *
+     * <p>These nodes live as long as the engine. They are built once and
+     * {@link #startGame()} only resets their state, so a retry never
+     * rebuilds the scene.</p>
      */
     public void createContent()
     {
+        root.getChildren().clear();
         spawnStars(this);
 
         player = new Player(HALF_SCREEN_WIDTH_PX - HALF_PLAYER_SIZE,
@@ -269,6 +316,56 @@ public final class VortexGameEngine extends Application
                 ShiftPressed = false;
             }
         });
+
+        gameLoop = new AnimationTimer()
+        {
+            @Override
+            public void handle(long now)
+            {
+                final long frameNanos;
+                int ticksThisFrame;
+
+                if (currentState != GameState.PLAYING)
+                {
+                    return;
+                }
+
+                if (lastPulse == INITIAL_VALUE)
+                {
+                    lastPulse = now;
+                    update();
+                    return;
+                }
+
+                frameNanos = now - lastPulse;
+                lastPulse = now;
+
+                if (qualityGovernor.recordFrame(frameNanos))
+                {
+                    applyQualityLevel();
+                }
+
+                // Fixed time-step: slow frames run extra ticks instead of slowing the game down
+                pendingNanos += frameNanos;
+                ticksThisFrame = INITIAL_VALUE;
+                while (pendingNanos >= NANOSECONDS_PER_FRAME &&
+                        ticksThisFrame < MAX_CATCH_UP_TICKS &&
+                        currentState == GameState.PLAYING)
+                {
+                    update();
+                    pendingNanos -= NANOSECONDS_PER_FRAME;
+                    ticksThisFrame++;
+                }
+
+                if (ticksThisFrame == MAX_CATCH_UP_TICKS)
+                {
+                    pendingNanos = INITIAL_VALUE;
+                }
+            }
+        };
+
+        sessionNodes.clear();
+        sessionNodes.addAll(root.getChildren());
     }
 
     /**
@@ -276,38 +373,48 @@ public final class VortexGameEngine extends Application
      *
      * <p>This method:
      * <ul>
+     *   <li>Restores the long-lived session nodes, dropping menus and leftover objects</li>
      *   <li>Resets all game statistics</li>
-     *   <li>Initializes a new game loop</li>
+     *   <li>Restarts the existing game loop</li>
      *   <li>Sets initial difficulty parameters</li>
      *   <li>Resets player state and position</li>
      * </ul>
+     *
+     * <p>No nodes are allocated here, which keeps RETRY within a single frame.</p>
      */
     public void startGame()
     {
-        root.getChildren().clear();
-        this.createContent();
+        root.getChildren().setAll(sessionNodes);
+        activeProjectiles.clear();
+        projectileExpiry.clear();
         currentState = GameState.PLAYING;
         startText.setVisible(false);
         startTime = System.currentTimeMillis();
+        projectileSpawnCounter = INITIAL_VALUE;
         projectileSpawnRate = INITIAL_PROJECTILE_SPAWN_RATE;
         powerUpSpawnedThisSecond = false;
+        sessionSeed = System.nanoTime();
+        sessionRandom = new Random(sessionSeed);
+        Arrays.fill(powerUpsCollected, INITIAL_VALUE);
+        peakProjectiles = INITIAL_VALUE;
+        WPressed = false;
+        SPressed = false;
+        APressed = false;
+        DPressed = false;
+        ShiftPressed = false;
+
+        player.setX(HALF_SCREEN_WIDTH_PX - HALF_PLAYER_SIZE);
+        player.setY(HALF_SCREEN_HEIGHT_PX - HALF_PLAYER_SIZE);
         player.resetStats();
-        gameLoop = new AnimationTimer()
-        {
-            private long lastUpdate = INITIAL_VALUE;
-            @Override
-            public void handle(long now)
-            {
-                if (currentState == GameState.PLAYING)
-                {
-                    if (now - lastUpdate >= NANOSECONDS_PER_FRAME)
-                    {
-                        update();
-                        lastUpdate = now;
-                    }
-                }
-            }
-        };
+        survivalTimeText.setText("Time: 0s");
+        boostBar.setProgress(INITIALIZE_BOOST);
+        boostBar.setId("");
+
+        tickCount = INITIAL_VALUE;
+        lastPulse = INITIAL_VALUE;
+        pendingNanos = INITIAL_VALUE;
+        qualityGovernor.reset();
+        applyQualityLevel();
         root.requestFocus();
         gameLoop.start();
     }
@@ -322,6 +429,16 @@ public final class VortexGameEngine extends Application
         return root;
     }
 
+    /**
+     * Returns the visual quality level currently chosen by the quality governor.
+     *
+     * @return The active {@link QualityGovernor.QualityLevel}
+     */
+    public QualityGovernor.QualityLevel getQualityLevel()
+    {
+        return qualityGovernor.getLevel();
+    }
+
     /*
      * Initializes the root pane with default settings.
      * @return The configured root pane.
@@ -331,6 +448,7 @@ public final class VortexGameEngine extends Application
         root = new Pane();
         root.setPrefSize(SCREEN_WIDTH_PX, SCREEN_HEIGHT_PX);
         root.setFocusTraversable(true);
+        createContent();
         return root;
     }
 
@@ -342,6 +460,7 @@ public final class VortexGameEngine extends Application
         long currentTime;
         long survivalTime;
 
+        tickCount++;
         player.updateMovement(WPressed, SPressed, APressed, DPressed, ShiftPressed);
         spawnProjectiles();
         moveProjectiles();
@@ -366,23 +485,14 @@ public final class VortexGameEngine extends Application
             boostBar.setId("");
         }
 
-        if (survivalTime % PROJECTILE_SPAWN_UPDATE_INTERVAL == INITIAL_VALUE &&
-                survivalTime > INITIAL_VALUE) // Skip the very first frame
-        {
-            // Logarithmic difficulty scaling
-            double progress;
-            progress = Math.min(INIT_LOG_SCALING_MULTIPLIER, (double)survivalTime / TIME_TO_MAX_DIFFICULTY);
-            projectileSpawnRate = (int)(INITIAL_PROJECTILE_SPAWN_RATE -
-                    (INITIAL_PROJECTILE_SPAWN_RATE - MIN_PROJECTILE_SPAWN_RATE) *
-                            Math.log1p(progress * (Math.E - INIT_LOG_SCALING_MULTIPLIER)));
-        }
+        projectileSpawnRate = STANDARD_DIFFICULTY.spawnRateAt(survivalTime);
 
         if (survivalTime >= POWER_UP_INITIAL_DELAY &&
                 survivalTime % POWER_UP_SPAWN_RATE == INITIAL_VALUE)
         {
             if (!powerUpSpawnedThisSecond)
             {
-                spawnPowerUp(this);
+                spawnPowerUp(this, sessionRandom);
                 powerUpSpawnedThisSecond = true;
             }
         }
@@ -397,63 +507,62 @@ public final class VortexGameEngine extends Application
      */
     private void spawnProjectiles()
     {
-        final Random rand;
-
-        rand = new Random();
-
         if (projectileSpawnCounter % projectileSpawnRate == INITIAL_VALUE)
         {
-            double x;
-            double y;
-
-            x = rand.nextInt(SCREEN_WIDTH_PX);
-            y = rand.nextInt(SCREEN_HEIGHT_PX);
-
-            if (rand.nextDouble() < PROJECTILE_SPAWN_EDGE_CHANCE)
-            {
-                x = rand.nextDouble() < PROJECTILE_SPAWN_EDGE_CHANCE ?
-                        INITIAL_VALUE - MAX_PROJECTILE_SIZE : SCREEN_WIDTH_PX + MAX_PROJECTILE_SIZE;
-            }
-            else
-            {
-                y = rand.nextDouble() < PROJECTILE_SPAWN_EDGE_CHANCE ?
-                        INITIAL_VALUE - MAX_PROJECTILE_SIZE : SCREEN_HEIGHT_PX + MAX_PROJECTILE_SIZE;
-            }
-
             final Projectile projectile;
 
-            projectile = new Projectile(x, y,
-                    rand.nextInt(MAX_PROJECTILE_SIZE - MIN_PROJECTILE_SIZE) + MIN_PROJECTILE_SIZE
-            );
+            projectile = Projectile.spawnAtScreenEdge(sessionRandom);
             root.getChildren().add(projectile);
+            activeProjectiles.add(projectile);
+            peakProjectiles = Math.max(peakProjectiles, activeProjectiles.size());
+
+            // Spawned projectiles move this tick too, so the first move happens on the current tick
+            projectileExpiry.schedule(projectile,
+                    tickCount + projectile.ticksUntilOffScreen(CULL_WIDTH_PX, CULL_HEIGHT_PX)
+                            - CURRENT_TICK_MOVE);
         }
         projectileSpawnCounter++;
     }
 
     /*
-     * Updates positions of all active projectiles and culls off-screen ones.
+     * Updates positions of all active projectiles and culls the ones whose
+     * precomputed exit tick is the current tick.
      */
     private void moveProjectiles()
     {
-        final List<Projectile> projectilesToRemove;
-        final List<javafx.scene.Node> childrenCopy;
+        for (final Projectile projectile : activeProjectiles)
+        {
+            projectile.updateMovement();
+        }
 
-        projectilesToRemove = new ArrayList<>();
-        childrenCopy = new ArrayList<>(root.getChildren());
+        projectileExpiry.drainInto(tickCount, expiredProjectiles);
+        if (!expiredProjectiles.isEmpty())
+        {
+            root.getChildren().removeAll(expiredProjectiles);
+            activeProjectiles.removeAll(expiredProjectiles);
+            expiredProjectiles.clear();
+        }
+    }
 
-        childrenCopy.forEach(node ->
+    /*
+     * Pushes the current quality level to every star in the scene.
+     */
+    private void applyQualityLevel()
+    {
+        final QualityGovernor.QualityLevel level;
+        int starIndex;
+
+        level = getQualityLevel();
+        starIndex = INITIAL_VALUE;
+
+        for (final javafx.scene.Node node : root.getChildren())
         {
-            if (node instanceof final Projectile projectile)
+            if (node instanceof final Star star)
             {
-                projectile.updateMovement();
-                if (projectile.isOffScreen(SCREEN_WIDTH_PX + MAX_PROJECTILE_SIZE,
-                        SCREEN_HEIGHT_PX + MAX_PROJECTILE_SIZE))
-                {
-                    projectilesToRemove.add(projectile);
-                }
+                star.applyQuality(level, starIndex);
+                starIndex++;
             }
-        });
-        root.getChildren().removeAll(projectilesToRemove);
+        }
     }
 
     /**
@@ -472,17 +581,18 @@ public final class VortexGameEngine extends Application
         {
             if (node instanceof final Projectile projectile)
             {
-                if (player.getBoundsInParent().intersects(projectile.getBoundsInParent()))
+                if (player.collidesWith(projectile))
                 {
-                    endGame();
+                    endGame(ScoreRecord.DeathCause.forProjectileSize(projectile.getWidth()));
                     objectsToRemove.add(projectile);
                 }
             }
             else if (node instanceof final PowerUp powerUp)
             {
-                if (player.getBoundsInParent().intersects(powerUp.getBoundsInParent()))
+                if (player.collidesWith(powerUp))
                 {
                     powerUp.applyEffect(player);
+                    powerUpsCollected[powerUp.getType().ordinal()]++;
                     objectsToRemove.add(powerUp);
                 }
             }
@@ -492,21 +602,29 @@ public final class VortexGameEngine extends Application
     }
 
     /*
-     * Terminates current game session and transitions to game over state.
+     * Terminates current game session, records the run and transitions to
+     * game over state. Only the first fatal hit in a tick ends the game.
      *
+     * @param cause what ended the run
      */
-    private void endGame()
+    private void endGame(final ScoreRecord.DeathCause cause)
     {
         final long endTime;
         final long survivalTime;
 
+        if (currentState != GameState.PLAYING)
+        {
+            return;
+        }
         currentState = GameState.GAME_OVER;
 
         endTime = System.currentTimeMillis();
         survivalTime = (endTime - startTime) / MILLISECONDS_PER_SECOND;
 
+        // Saved first so the game over screen can rank this run
+        ScoreManager.saveScore(new ScoreRecord(survivalTime, endTime, sessionSeed,
+                powerUpsCollected, peakProjectiles, cause));
         this.showGameOverScreen((int) survivalTime);
-        ScoreManager.saveScore(survivalTime);
         if (gameLoop != null)
         {
             gameLoop.stop();
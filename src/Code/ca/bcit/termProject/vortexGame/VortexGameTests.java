@@ -6,9 +6,19 @@
     import static ca.bcit.termProject.vortexGame.Projectile.MIN_PROJECTILE_SIZE;
     import static org.junit.jupiter.api.Assertions.*;
 
+    import java.io.IOException;
+    import java.io.UncheckedIOException;
+    import java.nio.ByteBuffer;
+    import java.nio.file.Files;
+    import java.nio.file.Path;
+    import java.nio.file.StandardOpenOption;
+    import java.util.ArrayList;
     import java.util.List;
     import java.util.Comparator;
+    import java.util.concurrent.CompletableFuture;
+    import java.util.concurrent.TimeUnit;
     import java.util.stream.Collectors;
+    import java.util.stream.Stream;
 
     import static ca.bcit.termProject.vortexGame.VortexGameEngine.*;
     import static ca.bcit.termProject.vortexGame.Player.*;
@@ -40,7 +50,7 @@
      * <p>Test Coverage Includes:
      * <table border="1">
      *   <tr><th>Component</th><th>Test Cases</th></tr>
-     *   <tr><td>GameObject</td><td>Size validation, basic movement</td></tr>
+     *   <tr><td>GameObject</td><td>Size validation, basic movement, outlined and rotated collision</td></tr>
      *   <tr><td>Projectile</td><td>Spawn validation, movement patterns</td></tr>
      *   <tr><td>Player</td><td>Movement, boost system, edge cases</td></tr>
      *   <tr><td>PowerUps</td><td>Size consistency, effect application</td></tr>
@@ -52,6 +62,8 @@
      */
     class VortexGameTests
     {
+        // Records in one segment of a ScoreLog
+        private static final int SCORE_LOG_SEGMENT = 8192;
 
         @Test
         void testGameObjectSizeValidation()
@@ -179,4 +191,505 @@
             assertEquals(110, obj.getX(), 0.001);
             assertEquals(95, obj.getY(), 0.001);
         }
+
+        @Test
+        void testCollisionIncludesOutlineAndRotation()
+        {
+            // Two 10px squares: the 2px outlines meet with a 2px gap between the fills
+            GameObject left = new GameObject(0, 0, 10) {};
+            assertTrue(left.collidesWith(new GameObject(12, 0, 10) {}));
+            assertFalse(left.collidesWith(new GameObject(12.5, 0, 10) {}));
+
+            // Turned 45 degrees, a square's corners reach further out
+            GameObject turned = new GameObject(14, 0, 10) {};
+            assertFalse(left.collidesWith(turned));
+            turned.setRotate(45);
+            assertTrue(left.collidesWith(turned));
+            assertTrue(turned.collidesWith(left));
+        }
+
+        @Test
+        void testQualityGovernorStepsDownAndRecovers()
+        {
+            QualityGovernor governor = new QualityGovernor();
+            long slowFrame = QualityGovernor.FRAME_BUDGET_NANOS * 2;
+            long fastFrame = QualityGovernor.FRAME_BUDGET_NANOS;
+
+            // One slow window drops a single level
+            for (int i = 0; i < QualityGovernor.FRAME_WINDOW; i++)
+            {
+                governor.recordFrame(slowFrame);
+            }
+            assertEquals(QualityGovernor.QualityLevel.NO_BLUR, governor.getLevel());
+
+            // Recovery needs several good windows
+            for (int i = 0; i < QualityGovernor.FRAME_WINDOW * 2; i++)
+            {
+                governor.recordFrame(fastFrame);
+            }
+            assertEquals(QualityGovernor.QualityLevel.NO_BLUR, governor.getLevel());
+            for (int i = 0; i < QualityGovernor.FRAME_WINDOW; i++)
+            {
+                governor.recordFrame(fastFrame);
+            }
+            assertEquals(QualityGovernor.QualityLevel.HIGH, governor.getLevel());
+        }
+
+        @Test
+        void testQualityLevelsOnlyThinStars()
+        {
+            // Every star at full quality, every third once reduced, none at the bottom
+            for (int i = 0; i < 9; i++)
+            {
+                assertTrue(QualityGovernor.QualityLevel.NO_BLUR.isStarVisible(i));
+                assertEquals(i % 3 == 0, QualityGovernor.QualityLevel.REDUCED_STARS.isStarVisible(i));
+                assertFalse(QualityGovernor.QualityLevel.MINIMAL.isStarVisible(i));
+            }
+            assertTrue(QualityGovernor.QualityLevel.HIGH.isStarBlurEnabled());
+            assertFalse(QualityGovernor.QualityLevel.NO_BLUR.isStarBlurEnabled());
+        }
+
+        @Test
+        void testProjectileExitTickMatchesOffScreenCheck()
+        {
+            int width = SCREEN_WIDTH_PX + MAX_PROJECTILE_SIZE;
+            int height = SCREEN_HEIGHT_PX + MAX_PROJECTILE_SIZE;
+
+            for (int i = 0; i < 50; i++)
+            {
+                Projectile p = new Projectile(-MAX_PROJECTILE_SIZE, i * 10, MIN_PROJECTILE_SIZE);
+                int exitTicks = p.ticksUntilOffScreen(width, height);
+
+                for (int tick = 1; tick < exitTicks; tick++)
+                {
+                    p.updateMovement();
+                    assertFalse(p.isOffScreen(width, height));
+                }
+                p.updateMovement();
+                assertTrue(p.isOffScreen(width, height));
+            }
+        }
+
+        @Test
+        void testProjectileExpiryQueueDrainsOnlyCurrentTick()
+        {
+            ProjectileExpiryQueue queue = new ProjectileExpiryQueue();
+            Projectile early = new Projectile(0, 0, MIN_PROJECTILE_SIZE);
+            Projectile late = new Projectile(0, 0, MIN_PROJECTILE_SIZE);
+            List<Projectile> expired = new java.util.ArrayList<>();
+
+            queue.schedule(early, 5);
+            queue.schedule(late, 9);
+
+            queue.drainInto(4, expired);
+            assertTrue(expired.isEmpty());
+
+            queue.drainInto(5, expired);
+            assertEquals(List.of(early), expired);
+
+            expired.clear();
+            queue.clear();
+            queue.drainInto(9, expired);
+            assertTrue(expired.isEmpty());
+        }
+
+        @Test
+        void testSimulationIsDeterministicForSeed()
+        {
+            BotPolicy policy = BotPolicy.dodgeNearest();
+            long first = new VortexSimulation(42L, VortexGameEngine.STANDARD_DIFFICULTY, policy).run(60);
+            long second = new VortexSimulation(42L, VortexGameEngine.STANDARD_DIFFICULTY, policy).run(60);
+
+            assertEquals(first, second);
+            assertTrue(first >= 0 && first <= 60);
+        }
+
+        @Test
+        void testTopScoreIndexKeepsBestScoresInOrder()
+        {
+            TopScoreIndex index = new TopScoreIndex(3);
+
+            for (long score : new long[] {50, 200, 100, 150, 10, 200})
+            {
+                index.offer(score);
+            }
+
+            assertEquals(List.of(200L, 200L, 150L), index.top(10));
+            assertFalse(index.offer(150));
+            assertTrue(index.offer(175));
+            assertEquals(List.of(200L, 200L, 175L), index.top(3));
+        }
+
+        @Test
+        void testLeaderboardCountsRepeatsAndTrimsLowest()
+        {
+            Leaderboard leaderboard = new Leaderboard(2);
+
+            leaderboard.add(30);
+            leaderboard.add(10);
+            leaderboard.add(30);
+            leaderboard.add(20);
+
+            assertEquals(List.of(30L, 30L, 20L), leaderboard.top(5));
+            assertEquals(List.of(30L), leaderboard.top(1));
+        }
+
+        @Test
+        void testScoreStatisticsStreamsPercentilesAndMovingAverage()
+        {
+            ScoreStatistics statistics = new ScoreStatistics(100, 2, 0.5);
+            int[] powerUps = {1, 0, 2};
+
+            for (long score = 1; score <= 10; score++)
+            {
+                statistics.accept(new ScoreRecord(score, 0, 0, powerUps, 5,
+                        ScoreRecord.DeathCause.SMALL_PROJECTILE));
+            }
+            statistics.accept(new ScoreRecord(200, 0, 0));
+
+            assertEquals(11, statistics.getRuns());
+            assertEquals(200, statistics.getBestScore());
+            assertEquals(6, statistics.percentile(50));
+            assertEquals(100, statistics.percentile(100));
+            assertEquals(105.0, statistics.getMovingAverage(), 0.0001);
+            assertEquals(10, statistics.getDetailedRuns());
+            assertEquals(20, statistics.getPowerUps(PowerUp.PowerUpType.REFRESH_BOOST));
+            assertEquals(1, statistics.getDeaths(ScoreRecord.DeathCause.UNKNOWN));
+            assertArrayEquals(new long[] {4, 5, 2}, statistics.histogram(5, 3));
+        }
+
+        @Test
+        void testScoreRecordReadsLegacyFormat()
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(ScoreRecord.LEGACY_BYTES);
+            buffer.putLong(42).putLong(7).putLong(9).flip();
+
+            ScoreRecord record = ScoreRecord.readFrom(buffer, ScoreRecord.LEGACY_VERSION);
+
+            assertEquals(42, record.getScore());
+            assertEquals(9, record.getSeed());
+            assertEquals(0, record.getPeakProjectiles());
+            assertEquals(ScoreRecord.DeathCause.UNKNOWN, record.getDeathCause());
+            assertFalse(buffer.hasRemaining());
+        }
+
+        @Test
+        void testScoreRankIndexRanksWithTiesAndCap()
+        {
+            ScoreRankIndex ranks = new ScoreRankIndex(100);
+
+            for (long score : new long[] {10, 20, 20, 30, 500})
+            {
+                ranks.add(score);
+            }
+
+            assertEquals(5, ranks.getTotal());
+            assertEquals(1, ranks.rank(100));
+            assertEquals(1, ranks.rank(900));
+            assertEquals(2, ranks.rank(30));
+            assertEquals(3, ranks.rank(20));
+            assertEquals(6, ranks.rank(0));
+            assertEquals(20.0, ranks.percentBelow(20), 0.0001);
+            assertEquals(0.0, ranks.percentBelow(10), 0.0001);
+        }
+
+        @Test
+        void testScoreLogRollsToNewSegmentWhenFull() throws IOException
+        {
+            Path directory = Files.createTempDirectory("vortex-log");
+            try
+            {
+                List<Long> seen = new ArrayList<>();
+
+                // One record past a full segment starts a second segment
+                try (ScoreLog log = new ScoreLog(directory, 10, Integer.MAX_VALUE))
+                {
+                    log.append(records(0, SCORE_LOG_SEGMENT + 1), ScoreLog.Follower.IGNORE);
+                    assertEquals(SCORE_LOG_SEGMENT + 1, log.getEndPosition());
+                }
+                assertEquals(2, segmentFiles(directory).size());
+
+                // Reopening sees every record, in order, across both segments
+                try (ScoreLog log = new ScoreLog(directory, 10, Integer.MAX_VALUE))
+                {
+                    log.forEach(record -> seen.add(record.getScore()));
+                    assertEquals(SCORE_LOG_SEGMENT + 1, log.getEndPosition());
+                }
+                assertEquals(scores(0, SCORE_LOG_SEGMENT + 1), seen);
+            }
+            finally
+            {
+                deleteDirectory(directory);
+            }
+        }
+
+        @Test
+        void testScoreLogDropsTornTailOnReopen() throws IOException
+        {
+            Path directory = Files.createTempDirectory("vortex-log");
+            try
+            {
+                List<Long> seen = new ArrayList<>();
+                Path segment;
+                long completeSize;
+
+                try (ScoreLog log = new ScoreLog(directory, 10, Integer.MAX_VALUE))
+                {
+                    log.append(records(0, 3), ScoreLog.Follower.IGNORE);
+                }
+
+                // Simulate a crash halfway through writing a fourth record
+                segment = segmentFiles(directory).getLast();
+                completeSize = Files.size(segment);
+                Files.write(segment, new byte[ScoreRecord.BYTES / 2], StandardOpenOption.APPEND);
+
+                try (ScoreLog log = new ScoreLog(directory, 10, Integer.MAX_VALUE))
+                {
+                    assertEquals(3, log.getEndPosition());
+                    assertEquals(completeSize, Files.size(segment));
+
+                    // New records follow the last complete one
+                    log.append(records(3, 1), ScoreLog.Follower.IGNORE);
+                    log.forEach(record -> seen.add(record.getScore()));
+                }
+                assertEquals(scores(0, 4), seen);
+            }
+            finally
+            {
+                deleteDirectory(directory);
+            }
+        }
+
+        @Test
+        void testScoreLogCompactionKeepsEveryRecordInOrder() throws IOException
+        {
+            Path directory = Files.createTempDirectory("vortex-log");
+            try
+            {
+                int total = SCORE_LOG_SEGMENT * 4 + 1;
+                List<Long> seen = new ArrayList<>();
+
+                // The fourth sealed segment triggers compaction; close waits for it
+                try (ScoreLog log = new ScoreLog(directory, 10, Integer.MAX_VALUE))
+                {
+                    log.append(records(0, total), ScoreLog.Follower.IGNORE);
+                }
+                assertEquals(2, segmentFiles(directory).size());
+
+                try (ScoreLog log = new ScoreLog(directory, 10, Integer.MAX_VALUE))
+                {
+                    assertEquals(total, log.getEndPosition());
+                    log.forEach(record -> seen.add(record.getScore()));
+                }
+                assertEquals(scores(0, total), seen);
+            }
+            finally
+            {
+                deleteDirectory(directory);
+            }
+        }
+
+        @Test
+        void testScoreLogDefersDeletingHeldSegments() throws IOException
+        {
+            Path directory = Files.createTempDirectory("vortex-log");
+            try
+            {
+                int total = SCORE_LOG_SEGMENT * 4 + 1;
+                List<Long> seen = new ArrayList<>();
+                Path held = directory.resolve("segment-00000001.vlog");
+
+                try (ScoreLog log = new ScoreLog(directory, 10, Integer.MAX_VALUE))
+                {
+                    log.append(records(0, total), ScoreLog.Follower.IGNORE);
+                }
+
+                // A replaced segment the platform refuses to delete, as Windows does while it is mapped
+                Files.createDirectory(held);
+                Files.createFile(held.resolve("open"));
+
+                // Opening still works, and the leftover is neither read nor deleted
+                try (ScoreLog log = new ScoreLog(directory, 10, Integer.MAX_VALUE))
+                {
+                    assertEquals(total, log.getEndPosition());
+                    log.forEach(record -> seen.add(record.getScore()));
+                }
+                assertEquals(scores(0, total), seen);
+                assertTrue(Files.exists(held));
+
+                // Once released, the next open deletes it
+                Files.delete(held.resolve("open"));
+                new ScoreLog(directory, 10, Integer.MAX_VALUE).close();
+                assertFalse(Files.exists(held));
+            }
+            finally
+            {
+                deleteDirectory(directory);
+            }
+        }
+
+        @Test
+        void testScoreLogFollowsAnotherInstanceAcrossRoll() throws IOException
+        {
+            Path directory = Files.createTempDirectory("vortex-log");
+            try
+            {
+                List<Long> followed = new ArrayList<>();
+                ScoreLog.Follower follower = new ScoreLog.Follower()
+                {
+                    @Override
+                    public void accept(ScoreRecord record)
+                    {
+                        followed.add(record.getScore());
+                    }
+
+                    @Override
+                    public void reset()
+                    {
+                        followed.clear();
+                    }
+                };
+
+                try (ScoreLog writer = new ScoreLog(directory, 10, Integer.MAX_VALUE);
+                     ScoreLog reader = new ScoreLog(directory, 10, Integer.MAX_VALUE))
+                {
+                    // Records in the shared active segment
+                    writer.append(records(0, 5), ScoreLog.Follower.IGNORE);
+                    reader.refresh(follower);
+                    assertEquals(scores(0, 5), followed);
+
+                    // Records that fill the segment and spill into the next one
+                    writer.append(records(5, SCORE_LOG_SEGMENT), ScoreLog.Follower.IGNORE);
+                    reader.refresh(follower);
+                    assertEquals(scores(0, SCORE_LOG_SEGMENT + 5), followed);
+                    assertEquals(writer.getEndPosition(), reader.getEndPosition());
+
+                    // The reader's own append hands it nothing twice
+                    reader.append(records(SCORE_LOG_SEGMENT + 5, 1), follower);
+                    assertEquals(scores(0, SCORE_LOG_SEGMENT + 5), followed);
+                }
+            }
+            finally
+            {
+                deleteDirectory(directory);
+            }
+        }
+
+        @Test
+        void testScoreLogScanDoesNotBlockAppends() throws IOException
+        {
+            Path directory = Files.createTempDirectory("vortex-log");
+            try
+            {
+                List<Long> seen = new ArrayList<>();
+
+                try (ScoreLog log = new ScoreLog(directory, 10, Integer.MAX_VALUE))
+                {
+                    log.append(records(0, 3), ScoreLog.Follower.IGNORE);
+
+                    // Another thread appends while the scan is partway through
+                    log.forEach(record ->
+                    {
+                        if (seen.isEmpty())
+                        {
+                            CompletableFuture<Long> appended = CompletableFuture.supplyAsync(() ->
+                            {
+                                try
+                                {
+                                    return log.append(records(3, 1), ScoreLog.Follower.IGNORE);
+                                }
+                                catch (IOException e)
+                                {
+                                    throw new UncheckedIOException(e);
+                                }
+                            });
+                            long end = appended.orTimeout(5, TimeUnit.SECONDS).join();
+                            assertEquals(4, end);
+                        }
+                        seen.add(record.getScore());
+                    });
+
+                    // The scan sees the records present when it started
+                    assertEquals(scores(0, 3), seen);
+                    assertEquals(4, log.getEndPosition());
+                }
+            }
+            finally
+            {
+                deleteDirectory(directory);
+            }
+        }
+
+        @Test
+        void testScoreWriterDrainsOnCloseAndRejectsLateRecords() throws IOException
+        {
+            Path directory = Files.createTempDirectory("vortex-log");
+            try
+            {
+                List<Long> seen = new ArrayList<>();
+
+                try (ScoreLog log = new ScoreLog(directory, 10, Integer.MAX_VALUE))
+                {
+                    ScoreWriter writer = new ScoreWriter(log, new TopScoreIndex(10), directory.resolve("top.idx"),
+                            new ScoreRankIndex(100), directory.resolve("rank.idx"), ScoreLog.Follower.IGNORE,
+                            ScoreWriter.FlushPolicy.NONE, 0);
+
+                    // Everything queued before close is written
+                    for (ScoreRecord record : records(0, 50))
+                    {
+                        writer.submit(record);
+                    }
+                    writer.close();
+                    assertThrows(IllegalStateException.class, () -> writer.submit(records(50, 1).get(0)));
+
+                    log.forEach(record -> seen.add(record.getScore()));
+                }
+                assertEquals(scores(0, 50), seen);
+            }
+            finally
+            {
+                deleteDirectory(directory);
+            }
+        }
+
+        private static List<ScoreRecord> records(int first, int count)
+        {
+            List<ScoreRecord> records = new ArrayList<>();
+            for (int i = first; i < first + count; i++)
+            {
+                records.add(new ScoreRecord(i, i, ScoreRecord.UNKNOWN));
+            }
+            return records;
+        }
+
+        private static List<Long> scores(int first, int count)
+        {
+            List<Long> scores = new ArrayList<>();
+            for (long i = first; i < first + count; i++)
+            {
+                scores.add(i);
+            }
+            return scores;
+        }
+
+        private static List<Path> segmentFiles(Path directory) throws IOException
+        {
+            try (Stream<Path> files = Files.list(directory))
+            {
+                return files.filter(file -> file.getFileName().toString().endsWith(".vlog"))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        }
+
+        private static void deleteDirectory(Path directory) throws IOException
+        {
+            try (Stream<Path> files = Files.walk(directory))
+            {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+                {
+                    Files.delete(file);
+                }
+            }
+        }
     }
\ No newline at end of file
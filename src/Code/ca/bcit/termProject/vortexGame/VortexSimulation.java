@@ -0,0 +1,184 @@
+package ca.bcit.termProject.vortexGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static ca.bcit.termProject.vortexGame.Projectile.MAX_PROJECTILE_SIZE;
+import static ca.bcit.termProject.vortexGame.VortexGameEngine.HALF_SCREEN_HEIGHT_PX;
+import static ca.bcit.termProject.vortexGame.VortexGameEngine.HALF_SCREEN_WIDTH_PX;
+import static ca.bcit.termProject.vortexGame.VortexGameEngine.NANOSECONDS_PER_FRAME;
+import static ca.bcit.termProject.vortexGame.VortexGameEngine.PLAYER_SIZE;
+import static ca.bcit.termProject.vortexGame.VortexGameEngine.POWER_UP_INITIAL_DELAY;
+import static ca.bcit.termProject.vortexGame.VortexGameEngine.POWER_UP_SPAWN_RATE;
+import static ca.bcit.termProject.vortexGame.VortexGameEngine.SCREEN_HEIGHT_PX;
+import static ca.bcit.termProject.vortexGame.VortexGameEngine.SCREEN_WIDTH_PX;
+
+/**
+ * One headless, bot-played Vortex session.
+ *
+ * <p>The session replays the game engine's tick logic without a scene graph:
+ * <ul>
+ *   <li>Player movement driven by a {@link BotPolicy}</li>
+ *   <li>Projectile spawning, movement and analytic culling</li>
+ *   <li>The game's own collision test, {@link GameObject#collidesWith(GameObject)}</li>
+ *   <li>Power-up spawning and collection</li>
+ *   <li>Difficulty scaling from a {@link DifficultyProfile}</li>
+ * </ul>
+ *
+ * <p>Simulation Characteristics:
+ * <table border="1">
+ *   <tr><th>Attribute</th><th>Value</th></tr>
+ *   <tr><td>Time Base</td><td>Fixed 16ms ticks, no wall clock</td></tr>
+ *   <tr><td>Randomness</td><td>Single Random seeded per session</td></tr>
+ *   <tr><td>Determinism</td><td>Same seed, profile and policy give the same result</td></tr>
+ *   <tr><td>Threading</td><td>Confined to the thread that calls {@link #run(int)}</td></tr>
+ * </table>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class VortexSimulation
+{
+    private static final long NANOSECONDS_PER_SECOND = 1_000_000_000L;
+    private static final double HALF_PLAYER_SIZE     = (double) PLAYER_SIZE / 2;
+    private static final int CULL_WIDTH_PX           = SCREEN_WIDTH_PX + MAX_PROJECTILE_SIZE;
+    private static final int CULL_HEIGHT_PX          = SCREEN_HEIGHT_PX + MAX_PROJECTILE_SIZE;
+    private static final int CURRENT_TICK_MOVE       = 1;
+    private static final int FIRST_TICK              = 1;
+    private static final int INITIAL_VALUE           = 0;
+
+    private final long seed;
+    private final DifficultyProfile difficulty;
+    private final BotPolicy policy;
+
+    /**
+     * Constructs a session that has not been run yet.
+     *
+     * @param seed Seed for every random decision in the session
+     * @param difficulty The difficulty curve to play
+     * @param policy The bot that controls the player
+     */
+    public VortexSimulation(final long seed,
+                            final DifficultyProfile difficulty,
+                            final BotPolicy policy)
+    {
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.policy = policy;
+    }
+
+    /**
+     * Plays the session until the player is hit or the time cap is reached.
+     *
+     * @param maxSeconds Maximum survival time to simulate
+     * @return Whole seconds survived, at most maxSeconds
+     */
+    public long run(final int maxSeconds)
+    {
+        final Random random;
+        final Player player;
+        final BotPolicy.Controls controls;
+        final List<Projectile> projectiles;
+        final List<Projectile> expired;
+        final List<PowerUp> powerUps;
+        final ProjectileExpiryQueue expiryQueue;
+        final long maxTicks;
+        int spawnRate;
+        int spawnCounter;
+        boolean powerUpSpawnedThisSecond;
+
+        random = new Random(seed);
+        player = new Player(HALF_SCREEN_WIDTH_PX - HALF_PLAYER_SIZE,
+                HALF_SCREEN_HEIGHT_PX - HALF_PLAYER_SIZE,
+                PLAYER_SIZE);
+        controls = new BotPolicy.Controls();
+        projectiles = new ArrayList<>();
+        expired = new ArrayList<>();
+        powerUps = new ArrayList<>();
+        expiryQueue = new ProjectileExpiryQueue();
+        maxTicks = maxSeconds * NANOSECONDS_PER_SECOND / NANOSECONDS_PER_FRAME;
+        spawnRate = difficulty.getInitialSpawnRate();
+        spawnCounter = INITIAL_VALUE;
+        powerUpSpawnedThisSecond = false;
+
+        for (long tick = FIRST_TICK; tick <= maxTicks; tick++)
+        {
+            final long survivalSeconds;
+
+            policy.decide(player, projectiles, random, controls);
+            controls.applyTo(player);
+
+            if (spawnCounter % spawnRate == INITIAL_VALUE)
+            {
+                final Projectile projectile;
+
+                projectile = Projectile.spawnAtScreenEdge(random);
+                projectiles.add(projectile);
+                expiryQueue.schedule(projectile,
+                        tick + projectile.ticksUntilOffScreen(CULL_WIDTH_PX, CULL_HEIGHT_PX)
+                                - CURRENT_TICK_MOVE);
+            }
+            spawnCounter++;
+
+            for (final Projectile projectile : projectiles)
+            {
+                projectile.updateMovement();
+            }
+            expiryQueue.drainInto(tick, expired);
+            if (!expired.isEmpty())
+            {
+                projectiles.removeAll(expired);
+                expired.clear();
+            }
+
+            survivalSeconds = secondsAt(tick);
+
+            for (final Projectile projectile : projectiles)
+            {
+                if (player.collidesWith(projectile))
+                {
+                    return survivalSeconds;
+                }
+            }
+
+            powerUps.removeIf(powerUp ->
+            {
+                if (player.collidesWith(powerUp))
+                {
+                    powerUp.applyEffect(player);
+                    return true;
+                }
+                return false;
+            });
+
+            spawnRate = difficulty.spawnRateAt(survivalSeconds);
+
+            if (survivalSeconds >= POWER_UP_INITIAL_DELAY &&
+                    survivalSeconds % POWER_UP_SPAWN_RATE == INITIAL_VALUE)
+            {
+                if (!powerUpSpawnedThisSecond)
+                {
+                    powerUps.add(PowerUp.createPowerUp(random));
+                    powerUpSpawnedThisSecond = true;
+                }
+            }
+            else
+            {
+                powerUpSpawnedThisSecond = false;
+            }
+        }
+        return maxSeconds;
+    }
+
+    /*
+     * Converts a tick number into whole seconds of game time.
+     *
+     * @param tick the tick, starting at 1
+     * @return whole seconds elapsed before the tick
+     */
+    private static long secondsAt(final long tick)
+    {
+        return (tick - FIRST_TICK) * NANOSECONDS_PER_FRAME / NANOSECONDS_PER_SECOND;
+    }
+}
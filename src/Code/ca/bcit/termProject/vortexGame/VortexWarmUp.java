@@ -0,0 +1,237 @@
+package ca.bcit.termProject.vortexGame;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static ca.bcit.termProject.vortexGame.Projectile.MAX_PROJECTILE_SIZE;
+import static ca.bcit.termProject.vortexGame.Projectile.MIN_PROJECTILE_SIZE;
+import static ca.bcit.termProject.vortexGame.VortexGameEngine.PLAYER_SIZE;
+import static ca.bcit.termProject.vortexGame.VortexGameEngine.SCREEN_HEIGHT_PX;
+import static ca.bcit.termProject.vortexGame.VortexGameEngine.SCREEN_WIDTH_PX;
+
+/**
+ * Warms up the Vortex hot paths before the player presses START.
+ *
+ * <p>The first seconds of a session would otherwise run interpreted while
+ * the movement and collision code is compiled. This class:
+ * <ul>
+ *   <li>Runs a few thousand synthetic headless ticks on a background thread</li>
+ *   <li>Preloads the classes used by menus and gameplay</li>
+ *   <li>Resolves CSS for gameplay nodes while the main menu is showing</li>
+ *   <li>Doubles as the training entry point for the AppCDS archive</li>
+ * </ul>
+ *
+ * <p>Warm-up Characteristics:
+ * <table border="1">
+ *   <tr><th>Attribute</th><th>Value</th></tr>
+ *   <tr><td>Synthetic Ticks</td><td>5000</td></tr>
+ *   <tr><td>Thread</td><td>Single low priority daemon thread</td></tr>
+ *   <tr><td>Scene Graph</td><td>Never touched by the background thread</td></tr>
+ *   <tr><td>Runs</td><td>Once per JVM</td></tr>
+ * </table>
+ *
+ * <p>See {@code scripts/build-appcds.sh} for the archive build step that
+ * uses {@link #main(String[])} as its training run.</p>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class VortexWarmUp
+{
+    private static final int WARM_UP_TICKS          = 5_000;
+    private static final int SPAWN_INTERVAL         = 10;
+    private static final int INPUT_CHANGE_INTERVAL  = 30;
+    private static final int INPUT_PATTERNS         = 4;
+    private static final int MOVE_UP                = 0;
+    private static final int MOVE_DOWN              = 1;
+    private static final int MOVE_LEFT              = 2;
+    private static final int MOVE_RIGHT             = 3;
+    private static final int ALTERNATE              = 2;
+    private static final int INITIAL_VALUE          = 0;
+    private static final int OFF_SCREEN_OFFSET      = -MAX_PROJECTILE_SIZE;
+    private static final int CURRENT_TICK_MOVE      = 1;
+    private static final AtomicBoolean STARTED      = new AtomicBoolean(false);
+
+    private static final String[] PRELOADED_CLASSES =
+    {
+        "ca.bcit.termProject.vortexGame.MainMenu",
+        "ca.bcit.termProject.vortexGame.GameOverScreen",
+        "ca.bcit.termProject.vortexGame.ScoreManager",
+        "ca.bcit.termProject.vortexGame.ScoreLog",
+        "ca.bcit.termProject.vortexGame.ScoreRecord",
+        "ca.bcit.termProject.vortexGame.TopScoreIndex",
+        "javafx.scene.control.Button",
+        "javafx.scene.control.ProgressBar",
+        "javafx.scene.effect.DropShadow",
+        "javafx.scene.effect.Glow",
+        "javafx.scene.layout.VBox",
+        "javafx.scene.layout.HBox"
+    };
+
+    private VortexWarmUp()
+    {
+    }
+
+    /**
+     * Training entry point used when building the AppCDS archive.
+     *
+     * <p>Runs the same warm-up as a real launch on the calling thread,
+     * so every class on the gameplay path is loaded before the JVM exits
+     * and writes the archive.
+     *
+     * @param args unused
+     */
+    public static void main(final String[] args)
+    {
+        preloadClasses();
+        runSyntheticTicks(WARM_UP_TICKS);
+    }
+
+    /**
+     * Starts the background warm-up once per JVM.
+     *
+     * <p>Subsequent calls return immediately. The thread is a daemon so it
+     * never keeps the application alive.
+     */
+    public static void startInBackground()
+    {
+        final Thread warmUpThread;
+
+        if (!STARTED.compareAndSet(false, true))
+        {
+            return;
+        }
+
+        warmUpThread = new Thread(() ->
+        {
+            preloadClasses();
+            runSyntheticTicks(WARM_UP_TICKS);
+        }, "vortex-warm-up");
+
+        warmUpThread.setDaemon(true);
+        warmUpThread.setPriority(Thread.MIN_PRIORITY);
+        warmUpThread.start();
+    }
+
+    /**
+     * Resolves stylesheet rules for every gameplay node type ahead of time.
+     *
+     * <p>Must be called on the JavaFX Application Thread after the
+     * stylesheet has been added to the scene. One sample of each
+     * dynamically spawned object is added to the root, styled, and removed
+     * again so the first real spawn finds its styles already matched.
+     *
+     * @param root The attached root pane holding the session nodes
+     */
+    public static void preloadStyles(final Pane root)
+    {
+        final List<Node> samples;
+
+        samples = new ArrayList<>();
+        samples.add(new Projectile(OFF_SCREEN_OFFSET, OFF_SCREEN_OFFSET, MIN_PROJECTILE_SIZE));
+        samples.add(new SpeedBoostPowerUp(OFF_SCREEN_OFFSET, OFF_SCREEN_OFFSET));
+        samples.add(new BoostUpPowerUp(OFF_SCREEN_OFFSET, OFF_SCREEN_OFFSET));
+        samples.add(new RefreshBoostPowerUp(OFF_SCREEN_OFFSET, OFF_SCREEN_OFFSET));
+
+        root.getChildren().addAll(samples);
+        root.applyCss();
+        root.getChildren().removeAll(samples);
+    }
+
+    /*
+     * Loads menu and control classes without running their static initializers.
+     */
+    private static void preloadClasses()
+    {
+        final ClassLoader loader;
+
+        loader = VortexWarmUp.class.getClassLoader();
+
+        for (final String className : PRELOADED_CLASSES)
+        {
+            try
+            {
+                Class.forName(className, false, loader);
+            }
+            catch (final ClassNotFoundException e)
+            {
+                System.err.println("Warm-up could not preload " + className);
+            }
+        }
+    }
+
+    /*
+     * Drives detached game objects through the movement, culling, collision
+     * and power-up paths used by the real game loop.
+     *
+     * @param ticks number of synthetic ticks to run
+     */
+    private static void runSyntheticTicks(final int ticks)
+    {
+        final Player player;
+        final List<Projectile> projectiles;
+        final List<Projectile> offScreen;
+        final List<PowerUp> powerUps;
+        final ProjectileExpiryQueue expiryQueue;
+        final QualityGovernor governor;
+
+        player = new Player(VortexGameEngine.HALF_SCREEN_WIDTH_PX, INITIAL_VALUE, PLAYER_SIZE);
+        projectiles = new ArrayList<>();
+        offScreen = new ArrayList<>();
+        powerUps = new ArrayList<>();
+        expiryQueue = new ProjectileExpiryQueue();
+        governor = new QualityGovernor();
+
+        powerUps.add(new SpeedBoostPowerUp(INITIAL_VALUE, INITIAL_VALUE));
+        powerUps.add(new BoostUpPowerUp(INITIAL_VALUE, INITIAL_VALUE));
+        powerUps.add(new RefreshBoostPowerUp(INITIAL_VALUE, INITIAL_VALUE));
+
+        for (int tick = 0; tick < ticks; tick++)
+        {
+            final int pattern;
+
+            pattern = (tick / INPUT_CHANGE_INTERVAL) % INPUT_PATTERNS;
+            player.updateMovement(pattern == MOVE_UP,
+                    pattern == MOVE_DOWN,
+                    pattern == MOVE_LEFT,
+                    pattern == MOVE_RIGHT,
+                    tick % ALTERNATE == INITIAL_VALUE);
+
+            if (tick % SPAWN_INTERVAL == INITIAL_VALUE)
+            {
+                final Projectile projectile;
+
+                projectile = new Projectile(OFF_SCREEN_OFFSET,
+                        tick % SCREEN_HEIGHT_PX,
+                        MIN_PROJECTILE_SIZE + tick % (MAX_PROJECTILE_SIZE - MIN_PROJECTILE_SIZE));
+                projectiles.add(projectile);
+                expiryQueue.schedule(projectile, tick + projectile.ticksUntilOffScreen(
+                        SCREEN_WIDTH_PX + MAX_PROJECTILE_SIZE,
+                        SCREEN_HEIGHT_PX + MAX_PROJECTILE_SIZE) - CURRENT_TICK_MOVE);
+            }
+
+            for (final Projectile projectile : projectiles)
+            {
+                projectile.updateMovement();
+                player.collidesWith(projectile);
+            }
+            expiryQueue.drainInto(tick, offScreen);
+            projectiles.removeAll(offScreen);
+            offScreen.clear();
+
+            for (final PowerUp powerUp : powerUps)
+            {
+                if (player.collidesWith(powerUp))
+                {
+                    powerUp.applyEffect(player);
+                }
+            }
+
+            governor.recordFrame(QualityGovernor.FRAME_BUDGET_NANOS);
+        }
+    }
+}
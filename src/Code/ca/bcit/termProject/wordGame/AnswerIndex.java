@@ -0,0 +1,474 @@
+package ca.bcit.termProject.wordGame;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typo-tolerant lookup of typed country and capital names.
+ *
+ * <p>Matching Order:
+ * <ol>
+ *   <li>Exact match on the folded text, through a trie</li>
+ *   <li>Unique prefix of at least 3 characters, through the same trie</li>
+ *   <li>Closest name sharing a trigram, within one edit per four characters typed</li>
+ * </ol>
+ *
+ * <p>Folding:
+ * <table border="1">
+ *   <tr><th>Typed</th><th>Folded</th></tr>
+ *   <tr><td>Accents</td><td>Removed ("Bogotá" becomes "bogota")</td></tr>
+ *   <tr><td>Case</td><td>Lower case</td></tr>
+ *   <tr><td>Punctuation and spacing</td><td>Single spaces, trimmed</td></tr>
+ * </table>
+ *
+ * <p>Built once per {@link World}; immutable and safe for concurrent lookups.
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class AnswerIndex
+{
+    private static final int NO_ENTRY       = -1;
+    private static final int AMBIGUOUS      = -2;
+    private static final int MIN_PREFIX     = 3;
+    private static final int GRAM_LENGTH    = 3;
+    private static final int MIN_EDITS      = 1;
+    private static final int EDIT_DIVISOR   = 4;
+    private static final int FIRST          = 0;
+    private static final int MATCH_COST     = 0;
+    private static final int EDIT_COST      = 1;
+    private static final char SPACE         = ' ';
+    private static final String PADDING     = "  ";
+
+    /**
+     * The names a typed answer can be matched against.
+     */
+    public enum Field
+    {
+        COUNTRY,
+        CAPITAL
+    }
+
+    /*
+     * One node of a trie over folded names.
+     */
+    private static final class Node
+    {
+        private final Map<Character, Node> children;
+        private int entry;
+        private int onlyEntry;
+
+        private Node()
+        {
+            this.children = new HashMap<>();
+            this.entry = NO_ENTRY;
+            this.onlyEntry = NO_ENTRY;
+        }
+    }
+
+    /*
+     * The trie and trigram postings for one field's names. Names are read
+     * back from the countries rather than copied.
+     */
+    private static final class Table
+    {
+        private final Country[] countries;
+        private final Field field;
+        private final int[] owners;
+        private final String[] folded;
+        private final Node root;
+        private final Map<String, int[]> postings;
+
+        private Table(final Country[] countries,
+                      final Field field)
+        {
+            final Map<String, Integer> seen;
+            final List<Integer> kept;
+            final Map<String, List<Integer>> grams;
+
+            this.countries = countries;
+            this.field = field;
+            seen = new HashMap<>();
+            kept = new ArrayList<>();
+            for (int country = 0; country < countries.length; country++)
+            {
+                final String key;
+
+                key = fold(nameOf(countries[country], field));
+                if (!key.isEmpty() &&
+                        seen.putIfAbsent(key, kept.size()) == null)
+                {
+                    kept.add(country);
+                }
+            }
+
+            this.owners = kept.stream().mapToInt(Integer::intValue).toArray();
+            this.folded = new String[this.owners.length];
+            this.root = new Node();
+            grams = new HashMap<>();
+
+            for (int id = 0; id < this.owners.length; id++)
+            {
+                folded[id] = fold(name(id));
+                insert(root, folded[id], id);
+                for (final String gram : trigrams(folded[id]))
+                {
+                    grams.computeIfAbsent(gram, g -> new ArrayList<>()).add(id);
+                }
+            }
+
+            this.postings = new HashMap<>();
+            for (final Map.Entry<String, List<Integer>> gram : grams.entrySet())
+            {
+                postings.put(gram.getKey(), gram.getValue().stream().distinct().mapToInt(Integer::intValue).toArray());
+            }
+        }
+
+        /*
+         * Gets an entry's name as stored.
+         *
+         * @param id the entry's position in this table
+         * @return the name
+         */
+        private String name(final int id)
+        {
+            return nameOf(countries[owners[id]], field);
+        }
+    }
+
+    private final Map<Field, Table> tables;
+
+    /**
+     * Builds the index over every country's name and capital.
+     *
+     * @param countries The countries to index
+     */
+    public AnswerIndex(final Country[] countries)
+    {
+        if (countries == null)
+        {
+            throw new IllegalArgumentException("Countries cannot be null");
+        }
+
+        this.tables = new EnumMap<>(Field.class);
+        for (final Field field : Field.values())
+        {
+            this.tables.put(field, new Table(countries, field));
+        }
+    }
+
+    /**
+     * Finds the name a player most likely meant.
+     *
+     * @param typed The player's text
+     * @param field Whether country names or capitals are expected
+     * @return the matching name as stored, or null if nothing is close enough
+     */
+    public String match(final String typed,
+                        final Field field)
+    {
+        final Table table;
+        final String key;
+        final int exact;
+
+        if (typed == null ||
+                field == null)
+        {
+            throw new IllegalArgumentException("Typed text and field cannot be null");
+        }
+
+        table = tables.get(field);
+        key = fold(typed);
+        if (key.isEmpty())
+        {
+            return null;
+        }
+
+        exact = lookupTrie(table.root, key);
+        if (exact != NO_ENTRY)
+        {
+            return table.name(exact);
+        }
+        return closest(table, key);
+    }
+
+    /**
+     * Folds text for matching: strips accents, lower-cases and collapses
+     * everything that is not a letter or digit to single spaces.
+     *
+     * @param text The text to fold
+     * @return folded text
+     */
+    public static String fold(final String text)
+    {
+        final String decomposed;
+        final StringBuilder folded;
+        boolean pendingSpace;
+
+        decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        folded = new StringBuilder(decomposed.length());
+        pendingSpace = false;
+
+        for (int i = 0; i < decomposed.length(); i++)
+        {
+            final char c;
+
+            c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK)
+            {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c))
+            {
+                if (pendingSpace &&
+                        !folded.isEmpty())
+                {
+                    folded.append(SPACE);
+                }
+                folded.append(Character.toLowerCase(c));
+                pendingSpace = false;
+            }
+            else
+            {
+                pendingSpace = true;
+            }
+        }
+        return folded.toString();
+    }
+
+    /*
+     * Gets the name of a country that a field refers to.
+     *
+     * @param country the country
+     * @param field which of its names
+     * @return the name or capital
+     */
+    private static String nameOf(final Country country,
+                                 final Field field)
+    {
+        return field == Field.CAPITAL ?
+                country.getCapitalCityName() :
+                country.getName();
+    }
+
+    /*
+     * Adds a folded name to the trie, tracking which names lie below each node.
+     *
+     * @param root the trie root
+     * @param key the folded name
+     * @param id the name's position in its table
+     */
+    private static void insert(final Node root,
+                               final String key,
+                               final int id)
+    {
+        Node node;
+
+        node = root;
+        markBelow(node, id);
+        for (int i = 0; i < key.length(); i++)
+        {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            markBelow(node, id);
+        }
+        node.entry = id;
+    }
+
+    /*
+     * Records that a name lies below a node.
+     *
+     * @param node the trie node
+     * @param id the name's position in its table
+     */
+    private static void markBelow(final Node node,
+                                  final int id)
+    {
+        node.onlyEntry = node.onlyEntry == NO_ENTRY ? id : AMBIGUOUS;
+    }
+
+    /*
+     * Looks a folded key up as an exact name or a unique prefix.
+     *
+     * @param root the trie root
+     * @param key the folded text
+     * @return the name's position, or NO_ENTRY
+     */
+    private static int lookupTrie(final Node root,
+                                  final String key)
+    {
+        Node node;
+
+        node = root;
+        for (int i = 0; i < key.length() && node != null; i++)
+        {
+            node = node.children.get(key.charAt(i));
+        }
+
+        if (node == null)
+        {
+            return NO_ENTRY;
+        }
+        if (node.entry != NO_ENTRY)
+        {
+            return node.entry;
+        }
+        if (key.length() >= MIN_PREFIX &&
+                node.onlyEntry >= FIRST)
+        {
+            return node.onlyEntry;
+        }
+        return NO_ENTRY;
+    }
+
+    /*
+     * Finds the name sharing trigrams with the key that is the fewest edits
+     * away, preferring more shared trigrams on ties.
+     *
+     * @param table the names to search
+     * @param key the folded text
+     * @return the closest name within the edit budget, or null
+     */
+    private static String closest(final Table table,
+                                  final String key)
+    {
+        final int[] shared;
+        final int budget;
+        int best;
+        int bestDistance;
+
+        shared = new int[table.owners.length];
+        for (final String gram : trigrams(key))
+        {
+            final int[] ids;
+
+            ids = table.postings.get(gram);
+            if (ids != null)
+            {
+                for (final int id : ids)
+                {
+                    shared[id]++;
+                }
+            }
+        }
+
+        budget = Math.max(MIN_EDITS, key.length() / EDIT_DIVISOR);
+        best = NO_ENTRY;
+        bestDistance = budget + EDIT_COST;
+
+        for (int id = 0; id < shared.length; id++)
+        {
+            if (shared[id] > 0)
+            {
+                final int distance;
+
+                distance = editDistance(key, table.folded[id], budget);
+                if (distance <= budget &&
+                        (distance < bestDistance ||
+                                distance == bestDistance && shared[id] > shared[best]))
+                {
+                    best = id;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best == NO_ENTRY ? null : table.name(best);
+    }
+
+    /*
+     * Lists the distinct trigrams of a folded name, padded so that short
+     * names and word starts still produce some.
+     *
+     * @param key the folded text
+     * @return its trigrams
+     */
+    private static List<String> trigrams(final String key)
+    {
+        final String padded;
+        final List<String> grams;
+
+        padded = PADDING + key + SPACE;
+        grams = new ArrayList<>(padded.length());
+        for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++)
+        {
+            final String gram;
+
+            gram = padded.substring(i, i + GRAM_LENGTH);
+            if (!grams.contains(gram))
+            {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+
+    /*
+     * Counts insertions, deletions, substitutions and adjacent swaps between
+     * two strings, giving up once every alignment exceeds the limit.
+     *
+     * @param a the first string
+     * @param b the second string
+     * @param limit the largest distance of interest
+     * @return the distance, or limit + 1 if it is larger than limit
+     */
+    private static int editDistance(final String a,
+                                    final String b,
+                                    final int limit)
+    {
+        int[] before;
+        int[] previous;
+        int[] current;
+
+        if (Math.abs(a.length() - b.length()) > limit)
+        {
+            return limit + EDIT_COST;
+        }
+
+        before = new int[b.length() + 1];
+        previous = new int[b.length() + 1];
+        current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++)
+        {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++)
+        {
+            final int[] recycled;
+            int rowBest;
+
+            current[0] = i;
+            rowBest = i;
+            for (int j = 1; j <= b.length(); j++)
+            {
+                final int cost;
+                int distance;
+
+                cost = a.charAt(i - 1) == b.charAt(j - 1) ? MATCH_COST : EDIT_COST;
+                distance = Math.min(Math.min(previous[j] + EDIT_COST, current[j - 1] + EDIT_COST),
+                        previous[j - 1] + cost);
+                if (i > 1 && j > 1 &&
+                        a.charAt(i - 1) == b.charAt(j - 2) &&
+                        a.charAt(i - 2) == b.charAt(j - 1))
+                {
+                    distance = Math.min(distance, before[j - 2] + EDIT_COST);
+                }
+                current[j] = distance;
+                rowBest = Math.min(rowBest, distance);
+            }
+
+            if (rowBest > limit)
+            {
+                return limit + EDIT_COST;
+            }
+            recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], limit + EDIT_COST);
+    }
+}
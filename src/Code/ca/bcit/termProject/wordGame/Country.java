@@ -6,10 +6,19 @@ package ca.bcit.termProject.wordGame;
  * <p>This class encapsulates:
  * <ul>
  *   <li>Country name and capital city</li>
- *   <li>Three distinctive facts about the country</li>
+ *   <li>Three distinctive facts about the country, held in a {@link TextArena} or resolved from a {@link FactStore}</li>
  *   <li>Validation of all constructor parameters</li>
  * </ul>
  *
+ * <p>Storage:
+ * <ul>
+ *   <li>A Country is a view of consecutive strings in a {@link TextArena}: name, capital, then facts</li>
+ *   <li>A {@link World} packs every country into one shared arena, so each costs two ints and two references</li>
+ *   <li>Countries built with the public constructor get a small arena of their own</li>
+ *   <li>Countries read from the compiled index add their name and capital straight to the shared arena</li>
+ *   <li>Strings are decoded each time they are asked for</li>
+ * </ul>
+ *
  * <p>Class Invariants:
  * <table border="1">
  *   <tr><th>Attribute</th><th>Constraint</th></tr>
@@ -22,6 +31,7 @@ package ca.bcit.termProject.wordGame;
  * <ul>
  *   <li>Immutable (all fields final)</li>
  *   <li>No modification methods</li>
+ *   <li>Shared arenas are only added to while a {@link World} loads</li>
  *   <li>Safe for concurrent access</li>
  * </ul>
  *
@@ -30,12 +40,17 @@ package ca.bcit.termProject.wordGame;
  */
 public final class Country
 {
-    private static final int FACT_TOTAL = 3;
-    private static final int MIN_FACTS = 0;
+    static final int FACT_TOTAL = 3;
+    private static final int MIN_FACTS          = 0;
+    private static final int NAME_OFFSET        = 0;
+    private static final int CAPITAL_OFFSET     = 1;
+    private static final int FACTS_OFFSET       = 2;
+    private static final int OWN_ARENA_BYTES    = 256;
 
-    private final String name;
-    private final String capitalCityName;
-    private final String[] facts;
+    private final TextArena text;
+    private final int first;
+    private final FactStore factStore;
+    private final int firstFact;
 
     /**
      * Constructs a validated Country instance.
@@ -52,9 +67,85 @@ public final class Country
         validateString(capitalCityName);
         validateFacts(facts);
 
-        this.name = name;
-        this.capitalCityName = capitalCityName;
-        this.facts = facts;
+        this.text = new TextArena(FACTS_OFFSET + FACT_TOTAL, OWN_ARENA_BYTES);
+        this.first = this.text.add(name);
+        this.text.add(capitalCityName);
+        for (final String fact : facts)
+        {
+            this.text.add(fact);
+        }
+        this.text.trim();
+        this.factStore = null;
+        this.firstFact = MIN_FACTS;
+    }
+
+    /*
+     * Constructs a view of a country already stored in an arena.
+     *
+     * @param text the arena holding the name, capital and, unless factStore is set, the facts
+     * @param first id of the name in the arena
+     * @param factStore the store holding the facts, or null if they are in the arena
+     * @param firstFact position of the first fact in the store
+     */
+    private Country(final TextArena text,
+                    final int first,
+                    final FactStore factStore,
+                    final int firstFact)
+    {
+        this.text = text;
+        this.first = first;
+        this.factStore = factStore;
+        this.firstFact = firstFact;
+    }
+
+    /*
+     * Constructs a Country whose facts are read from a fact store when asked for,
+     * adding its name and capital to the end of a shared arena.
+     * The facts were validated when the index was compiled.
+     *
+     * @param arena the shared arena receiving the name and capital
+     * @param name the official country name
+     * @param capitalCityName the capital city
+     * @param factStore the store holding the facts
+     * @param firstFact position of this country's first fact in the store
+     */
+    Country(final TextArena arena,
+            final String name,
+            final String capitalCityName,
+            final FactStore factStore,
+            final int firstFact)
+    {
+        validateString(name);
+        validateString(capitalCityName);
+
+        this.text = arena;
+        this.first = arena.add(name);
+        arena.add(capitalCityName);
+        this.factStore = factStore;
+        this.firstFact = firstFact;
+    }
+
+    /*
+     * Copies this country's strings to the end of a shared arena.
+     * Facts held in a fact store stay there.
+     *
+     * @param arena the arena to copy into
+     * @return a country reading from the arena
+     */
+    Country copyInto(final TextArena arena)
+    {
+        final int copied;
+
+        copied = arena.add(getName());
+        arena.add(getCapitalCityName());
+        if (factStore == null)
+        {
+            for (int i = 0; i < FACT_TOTAL; i++)
+            {
+                arena.add(getFact(i));
+            }
+        }
+        return new Country(arena, copied, factStore, firstFact);
     }
 
     /**
@@ -64,7 +155,7 @@ public final class Country
      */
     public String getName()
     {
-        return name;
+        return text.get(first + NAME_OFFSET);
     }
 
     /**
@@ -74,7 +165,7 @@ public final class Country
      */
     public String getCapitalCityName()
     {
-        return capitalCityName;
+        return text.get(first + CAPITAL_OFFSET);
     }
 
     /**
@@ -86,11 +177,15 @@ public final class Country
     public String getFact(final int index)
     {
         if (index < MIN_FACTS ||
-                index > FACT_TOTAL)
+                index >= FACT_TOTAL)
         {
             throw new IllegalArgumentException("Invalid array index");
         }
-        return this.facts[index];
+        if (factStore != null)
+        {
+            return factStore.getFact(firstFact + index);
+        }
+        return text.get(first + FACTS_OFFSET + index);
     }
 
     /*
@@ -0,0 +1,271 @@
+package ca.bcit.termProject.wordGame;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Build tool that compiles the country text files into one binary index.
+ *
+ * <p>{@link World} runs it whenever the index is missing or stale. To build
+ * it ahead of time, for example before shipping a read-only src/res, run:
+ * <pre>
+ *   java -cp &lt;classes&gt; ca.bcit.termProject.wordGame.CountryIndexCompiler
+ * </pre>
+ * or use scripts/compile-country-index.sh.
+ *
+ * <p>Index Format:
+ * <table border="1">
+ *   <tr><th>Section</th><th>Contents</th></tr>
+ *   <tr><td>Header</td><td>Magic int, version int, source fingerprint long,
+ *       country count int, fact count int, string count int</td></tr>
+ *   <tr><td>Countries</td><td>Per country: name string int, capital string int,
+ *       first fact int, fact count int</td></tr>
+ *   <tr><td>Facts</td><td>Per fact: string int</td></tr>
+ *   <tr><td>String Offsets</td><td>string count + 1 ints, byte offsets into the string data</td></tr>
+ *   <tr><td>String Data</td><td>UTF-8 bytes of every distinct string, back to back</td></tr>
+ * </table>
+ *
+ * <p>The fingerprint covers the size and modification time of every source
+ * file, so {@link World} can tell when the index is stale without reading
+ * the text files.
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class CountryIndexCompiler
+{
+    private static final int COUNTRY_FIELDS  = 4;
+    private static final int NONE            = 0;
+
+    /**
+     * Identifies a country index file.
+     */
+    static final int MAGIC = 0x57434958;
+
+    /**
+     * Current index format version.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Bytes before the country table.
+     */
+    static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES +
+            Integer.BYTES + Integer.BYTES + Integer.BYTES;
+
+    /**
+     * Bytes per country table entry: name, capital, first fact and fact count.
+     */
+    static final int COUNTRY_BYTES = Integer.BYTES * COUNTRY_FIELDS;
+
+    /**
+     * Bytes per fact table entry.
+     */
+    static final int FACT_BYTES = Integer.BYTES;
+
+    private static final long MISSING_FILE   = -1;
+    private static final int FINGERPRINT_MIX = 31;
+    private static final String TEMP_SUFFIX  = ".tmp";
+
+    private CountryIndexCompiler()
+    {
+    }
+
+    /**
+     * Compiles src/res/[a-z].txt into src/res/countries.idx.
+     *
+     * @param args unused
+     * @throws IOException if the index cannot be written
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final Path resources;
+        final int countries;
+
+        resources = Paths.get(World.RESOURCE_DIRECTORY);
+        countries = compile(resources, resources.resolve(World.INDEX_FILE_NAME));
+        System.out.println("Compiled " + countries + " countries into " +
+                resources.resolve(World.INDEX_FILE_NAME));
+    }
+
+    /**
+     * Parses the country text files and writes the binary index, replacing
+     * any previous index in one step.
+     *
+     * @param resources Directory holding the country text files
+     * @param indexFile Where the index is written
+     * @return the number of countries compiled
+     * @throws IOException if the index cannot be written
+     */
+    public static int compile(final Path resources,
+                              final Path indexFile) throws IOException
+    {
+        final List<Country> countries;
+        final List<String> strings;
+        final Map<String, Integer> stringIds;
+        final Path temp;
+        int factCount;
+
+        countries = World.readTextFiles(resources);
+        strings = new ArrayList<>();
+        stringIds = new HashMap<>();
+        factCount = NONE;
+        for (final Country country : countries)
+        {
+            intern(country.getName(), strings, stringIds);
+            intern(country.getCapitalCityName(), strings, stringIds);
+            for (int i = 0; i < Country.FACT_TOTAL; i++)
+            {
+                intern(country.getFact(i), strings, stringIds);
+                factCount++;
+            }
+        }
+
+        temp = Files.createTempFile(indexFile.toAbsolutePath().getParent(),
+                indexFile.getFileName().toString(), TEMP_SUFFIX);
+
+        try
+        {
+            writeIndex(temp, resources, countries, strings, stringIds, factCount);
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally
+        {
+            Files.deleteIfExists(temp);
+        }
+        return countries.size();
+    }
+
+    /*
+     * Writes the header, tables and string data of an index.
+     *
+     * @param file where the index is written
+     * @param resources directory holding the country text files, for the fingerprint
+     * @param countries every country, in load order
+     * @param strings every distinct string, in id order
+     * @param stringIds id of each distinct string
+     * @param factCount total facts across all countries
+     * @throws IOException if the index cannot be written
+     */
+    private static void writeIndex(final Path file,
+                                   final Path resources,
+                                   final List<Country> countries,
+                                   final List<String> strings,
+                                   final Map<String, Integer> stringIds,
+                                   final int factCount) throws IOException
+    {
+        try (final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file))))
+        {
+            final List<byte[]> encoded;
+            int nextFact;
+            int offset;
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fingerprint(World.sourceFiles(resources)));
+            out.writeInt(countries.size());
+            out.writeInt(factCount);
+            out.writeInt(strings.size());
+
+            nextFact = NONE;
+            for (final Country country : countries)
+            {
+                out.writeInt(stringIds.get(country.getName()));
+                out.writeInt(stringIds.get(country.getCapitalCityName()));
+                out.writeInt(nextFact);
+                out.writeInt(Country.FACT_TOTAL);
+                nextFact += Country.FACT_TOTAL;
+            }
+
+            for (final Country country : countries)
+            {
+                for (int i = 0; i < Country.FACT_TOTAL; i++)
+                {
+                    out.writeInt(stringIds.get(country.getFact(i)));
+                }
+            }
+
+            encoded = new ArrayList<>(strings.size());
+            offset = NONE;
+            for (final String string : strings)
+            {
+                final byte[] bytes;
+
+                bytes = string.getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                out.writeInt(offset);
+                offset += bytes.length;
+            }
+            out.writeInt(offset);
+
+            for (final byte[] bytes : encoded)
+            {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Combines the size and modification time of every source file.
+     *
+     * <p>Only file metadata is read, so checking an index is cheap.
+     *
+     * @param sources The country text files, in load order
+     * @return fingerprint of the sources
+     * @throws IOException if file metadata cannot be read
+     */
+    static long fingerprint(final List<Path> sources) throws IOException
+    {
+        long fingerprint;
+
+        fingerprint = NONE;
+        for (final Path source : sources)
+        {
+            final long size;
+            final long modified;
+
+            if (Files.exists(source))
+            {
+                size = Files.size(source);
+                modified = Files.getLastModifiedTime(source).toMillis();
+            }
+            else
+            {
+                size = MISSING_FILE;
+                modified = MISSING_FILE;
+            }
+            fingerprint = fingerprint * FINGERPRINT_MIX + size;
+            fingerprint = fingerprint * FINGERPRINT_MIX + modified;
+        }
+        return fingerprint;
+    }
+
+    /*
+     * Adds a string to the string table once.
+     *
+     * @param string the string
+     * @param strings the string table, in id order
+     * @param stringIds each string's id
+     */
+    private static void intern(final String string,
+                               final List<String> strings,
+                               final Map<String, Integer> stringIds)
+    {
+        if (!stringIds.containsKey(string))
+        {
+            stringIds.put(string, strings.size());
+            strings.add(string);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package ca.bcit.termProject.wordGame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inverted index from the words in country facts to the facts containing them.
+ *
+ * <p>Index Contents:
+ * <table border="1">
+ *   <tr><th>Structure</th><th>Purpose</th></tr>
+ *   <tr><td>Term to sorted fact ids</td><td>Answering searches from posting lists</td></tr>
+ *   <tr><td>Country to distinctive terms</td><td>Terms no other country's facts use, for "known for" questions</td></tr>
+ * </table>
+ *
+ * <p>Search Rules:
+ * <ul>
+ *   <li>Words are folded like typed answers (see {@link AnswerIndex#fold(String)})</li>
+ *   <li>Common short words are ignored</li>
+ *   <li>Every query word must appear in a fact for it to match</li>
+ *   <li>A query word with no exact term matches every term it begins</li>
+ * </ul>
+ *
+ * <p>A fact id is the country's position in load order times three, plus
+ * the fact's position. Built once per {@link World}, on first use; immutable
+ * and safe for concurrent lookups.
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class FactIndex
+{
+    private static final int MIN_TERM_LENGTH        = 3;
+    private static final int MIN_KNOWN_FOR_LENGTH   = 5;
+    private static final int NAME_OVERLAP_LENGTH    = 4;
+    private static final int FIRST                  = 0;
+    private static final char LAST_CHAR             = Character.MAX_VALUE;
+    private static final String WORD_BREAK          = " ";
+    private static final String NOT_WORD            = "[^\\p{L}\\p{N}]+";
+    private static final Set<String> STOP_WORDS     = Set.of(
+            "the", "and", "for", "its", "with", "from", "that", "this", "are", "was",
+            "has", "have", "been", "one", "also", "into", "than", "which", "were", "their");
+    private static final int[] NO_FACTS             = new int[FIRST];
+    private static final String[] NO_TERMS          = new String[FIRST];
+
+    private final Country[] countries;
+    private final NavigableMap<String, int[]> postings;
+    private final Map<String, String[]> knownFor;
+
+    /**
+     * Builds the index over every fact of every country.
+     *
+     * @param countries The countries, in load order
+     */
+    public FactIndex(final Country[] countries)
+    {
+        final Map<String, List<Integer>> building;
+        final Map<String, String> surfaceForms;
+
+        if (countries == null)
+        {
+            throw new IllegalArgumentException("Countries cannot be null");
+        }
+
+        this.countries = countries;
+        this.postings = new TreeMap<>();
+        this.knownFor = new HashMap<>();
+        building = new HashMap<>();
+        surfaceForms = new HashMap<>();
+
+        for (int c = 0; c < countries.length; c++)
+        {
+            for (int f = 0; f < Country.FACT_TOTAL; f++)
+            {
+                final int fact;
+                final String[] words;
+
+                fact = c * Country.FACT_TOTAL + f;
+                words = countries[c].getFact(f).split(NOT_WORD);
+                for (int w = 0; w < words.length; w++)
+                {
+                    final String term;
+
+                    term = AnswerIndex.fold(words[w]);
+                    if (isIndexed(term))
+                    {
+                        final List<Integer> facts;
+
+                        facts = building.computeIfAbsent(term, t -> new ArrayList<>());
+                        if (facts.isEmpty() ||
+                                facts.get(facts.size() - 1) != fact)
+                        {
+                            facts.add(fact);
+                        }
+                        // Sentence-initial capitals are not part of the word
+                        surfaceForms.putIfAbsent(term, w == FIRST ? words[w].toLowerCase() : words[w]);
+                    }
+                }
+            }
+        }
+
+        for (final Map.Entry<String, List<Integer>> term : building.entrySet())
+        {
+            postings.put(term.getKey(), term.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        collectKnownFor(surfaceForms);
+    }
+
+    /**
+     * Finds the facts containing every word of a query.
+     *
+     * @param query The words to look for
+     * @return a new array of matching fact ids in load order; empty if the query has no searchable words
+     */
+    public int[] search(final String query)
+    {
+        int[] matches;
+
+        if (query == null)
+        {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+
+        matches = null;
+        for (final String term : AnswerIndex.fold(query).split(WORD_BREAK))
+        {
+            if (isIndexed(term))
+            {
+                final int[] facts;
+
+                facts = postingsFor(term);
+                matches = matches == null ? facts : intersect(matches, facts);
+                if (matches.length == FIRST)
+                {
+                    return matches;
+                }
+            }
+        }
+        return matches == null ? NO_FACTS : matches;
+    }
+
+    /**
+     * Gets the country a fact belongs to.
+     *
+     * @param fact A fact id from {@link #search(String)}
+     * @return the country
+     */
+    public Country getCountry(final int fact)
+    {
+        checkFact(fact);
+        return countries[fact / Country.FACT_TOTAL];
+    }
+
+    /**
+     * Gets the text of a fact.
+     *
+     * @param fact A fact id from {@link #search(String)}
+     * @return the fact text
+     */
+    public String getFact(final int fact)
+    {
+        checkFact(fact);
+        return countries[fact / Country.FACT_TOTAL].getFact(fact % Country.FACT_TOTAL);
+    }
+
+    /**
+     * Picks a word that appears in this country's facts and no other
+     * country's, and that is not part of its name or capital.
+     *
+     * @param country The country
+     * @param random Source of the choice
+     * @return the word as first written in the facts, or null if the country has none
+     */
+    public String pickKnownFor(final Country country,
+                               final Random random)
+    {
+        final String[] terms;
+
+        terms = knownFor.getOrDefault(country.getName(), NO_TERMS);
+        return terms.length == FIRST ? null : terms[random.nextInt(terms.length)];
+    }
+
+    /**
+     * Checks if a country has any word for {@link #pickKnownFor(Country, Random)}.
+     *
+     * @param country The country
+     * @return true if a keyword question can be asked about it
+     */
+    public boolean hasKnownFor(final Country country)
+    {
+        return knownFor.containsKey(country.getName());
+    }
+
+    /*
+     * Checks if a folded word is worth indexing.
+     *
+     * @param term the folded word
+     * @return true if it is long enough and not a common word
+     */
+    private static boolean isIndexed(final String term)
+    {
+        return term.length() >= MIN_TERM_LENGTH &&
+                !STOP_WORDS.contains(term);
+    }
+
+    /*
+     * Gets the facts holding a term, or every term it begins if none matches exactly.
+     *
+     * @param term the folded query word
+     * @return sorted fact ids
+     */
+    private int[] postingsFor(final String term)
+    {
+        final int[] exact;
+        int[] union;
+
+        exact = postings.get(term);
+        if (exact != null)
+        {
+            // Callers may keep or change the result, so never hand out a posting list
+            return exact.clone();
+        }
+
+        union = NO_FACTS;
+        for (final int[] facts : postings.subMap(term, true, term + LAST_CHAR, false).values())
+        {
+            union = merge(union, facts);
+        }
+        return union;
+    }
+
+    /*
+     * Records, per country, the terms found in its facts and no other
+     * country's, skipping words from its own name or capital. Capitalised
+     * words are kept alone when a country has any, since they are usually
+     * names of places and things rather than verbs or adjectives.
+     *
+     * @param surfaceForms each term's first spelling in the facts
+     */
+    private void collectKnownFor(final Map<String, String> surfaceForms)
+    {
+        final Map<Integer, List<String>> unique;
+
+        unique = new LinkedHashMap<>();
+        for (final Map.Entry<String, int[]> term : postings.entrySet())
+        {
+            final int[] facts;
+            final int country;
+
+            facts = term.getValue();
+            country = facts[FIRST] / Country.FACT_TOTAL;
+            if (facts[facts.length - 1] / Country.FACT_TOTAL == country &&
+                    term.getKey().length() >= MIN_KNOWN_FOR_LENGTH &&
+                    term.getKey().chars().allMatch(Character::isLetter) &&
+                    !overlapsName(term.getKey(), countries[country]))
+            {
+                unique.computeIfAbsent(country, c -> new ArrayList<>()).add(surfaceForms.get(term.getKey()));
+            }
+        }
+
+        for (final Map.Entry<Integer, List<String>> terms : unique.entrySet())
+        {
+            final List<String> named;
+
+            named = terms.getValue().stream()
+                    .filter(term -> Character.isUpperCase(term.charAt(FIRST)))
+                    .toList();
+            knownFor.put(countries[terms.getKey()].getName(),
+                    (named.isEmpty() ? terms.getValue() : named).toArray(NO_TERMS));
+        }
+    }
+
+    /*
+     * Checks if a term shares a stem with a word of the country's name or capital,
+     * which would give the answer away.
+     *
+     * @param term the folded term
+     * @param country the country it belongs to
+     * @return true if the term overlaps the name or capital
+     */
+    private static boolean overlapsName(final String term,
+                                        final Country country)
+    {
+        final String names;
+
+        names = AnswerIndex.fold(country.getName()) + WORD_BREAK + AnswerIndex.fold(country.getCapitalCityName());
+        for (final String word : names.split(WORD_BREAK))
+        {
+            if (word.length() >= NAME_OVERLAP_LENGTH &&
+                    term.regionMatches(FIRST, word, FIRST, NAME_OVERLAP_LENGTH))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Intersects two sorted fact id arrays.
+     *
+     * @param a the first posting list
+     * @param b the second posting list
+     * @return ids in both, sorted
+     */
+    private static int[] intersect(final int[] a,
+                                   final int[] b)
+    {
+        final int[] both;
+        int i;
+        int j;
+        int size;
+
+        both = new int[Math.min(a.length, b.length)];
+        i = FIRST;
+        j = FIRST;
+        size = FIRST;
+        while (i < a.length && j < b.length)
+        {
+            if (a[i] < b[j])
+            {
+                i++;
+            }
+            else if (a[i] > b[j])
+            {
+                j++;
+            }
+            else
+            {
+                both[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(both, size);
+    }
+
+    /*
+     * Merges two sorted fact id arrays, dropping duplicates.
+     *
+     * @param a the first posting list
+     * @param b the second posting list
+     * @return ids in either, sorted
+     */
+    private static int[] merge(final int[] a,
+                               final int[] b)
+    {
+        final int[] either;
+        int i;
+        int j;
+        int size;
+
+        either = new int[a.length + b.length];
+        i = FIRST;
+        j = FIRST;
+        size = FIRST;
+        while (i < a.length || j < b.length)
+        {
+            final int next;
+
+            if (j == b.length ||
+                    (i < a.length && a[i] < b[j]))
+            {
+                next = a[i++];
+            }
+            else
+            {
+                next = b[j++];
+            }
+            if (size == FIRST ||
+                    either[size - 1] != next)
+            {
+                either[size++] = next;
+            }
+        }
+        return Arrays.copyOf(either, size);
+    }
+
+    /*
+     * Checks that a fact id is in range.
+     *
+     * @param fact the fact id
+     */
+    private void checkFact(final int fact)
+    {
+        if (fact < FIRST ||
+                fact >= countries.length * Country.FACT_TOTAL)
+        {
+            throw new IllegalArgumentException("Invalid fact: " + fact);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ca.bcit.termProject.wordGame;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resolves country facts on demand from a mapped country index.
+ *
+ * <p>Lookup Path:
+ * <table border="1">
+ *   <tr><th>Step</th><th>Source</th></tr>
+ *   <tr><td>Fact number to string id</td><td>Fact table of the index</td></tr>
+ *   <tr><td>String id to byte range</td><td>String offset table of the index</td></tr>
+ *   <tr><td>Byte range to text</td><td>UTF-8 string data of the index</td></tr>
+ * </table>
+ *
+ * <p>Memory Characteristics:
+ * <ul>
+ *   <li>No per-fact heap state; offsets are read from the mapping</li>
+ *   <li>Decoded facts are kept in a bounded least recently used cache</li>
+ *   <li>Mapped pages belong to the OS page cache and can be reclaimed</li>
+ * </ul>
+ *
+ * <p>Thread-safe; reads use absolute positions and the cache is locked.</p>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class FactStore
+{
+    private static final int MIN_CAPACITY   = 1;
+    private static final int FIRST_FACT     = 0;
+    private static final int NEXT           = 1;
+    private static final float LOAD_FACTOR  = 0.75f;
+
+    private final ByteBuffer index;
+    private final int factTable;
+    private final int offsetTable;
+    private final int stringData;
+    private final int factCount;
+    private final Map<Integer, String> cache;
+
+    /**
+     * Constructs a store over a mapped country index.
+     *
+     * @param index The mapped index; only absolute reads are used
+     * @param factTable Byte position of the fact table
+     * @param offsetTable Byte position of the string offset table
+     * @param stringData Byte position of the string data
+     * @param factCount Number of entries in the fact table
+     * @param capacity Most decoded facts to keep
+     */
+    FactStore(final ByteBuffer index,
+              final int factTable,
+              final int offsetTable,
+              final int stringData,
+              final int factCount,
+              final int capacity)
+    {
+        if (capacity < MIN_CAPACITY)
+        {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+
+        this.index = index;
+        this.factTable = factTable;
+        this.offsetTable = offsetTable;
+        this.stringData = stringData;
+        this.factCount = factCount;
+        this.cache = new LinkedHashMap<>(capacity, LOAD_FACTOR, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, String> eldest)
+            {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets a fact, decoding it from the index if it is not cached.
+     *
+     * @param fact Position in the fact table
+     * @return the fact text
+     */
+    String getFact(final int fact)
+    {
+        String text;
+
+        if (fact < FIRST_FACT ||
+                fact >= factCount)
+        {
+            throw new IllegalArgumentException("Invalid fact: " + fact);
+        }
+
+        synchronized (cache)
+        {
+            text = cache.get(fact);
+        }
+        if (text == null)
+        {
+            text = decode(index.getInt(factTable + fact * CountryIndexCompiler.FACT_BYTES));
+            synchronized (cache)
+            {
+                cache.put(fact, text);
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Decodes one string from the index.
+     *
+     * @param id The string id
+     * @return the decoded string
+     */
+    String decode(final int id)
+    {
+        final int start;
+        final int end;
+        final byte[] bytes;
+
+        start = index.getInt(offsetTable + id * Integer.BYTES);
+        end = index.getInt(offsetTable + (id + NEXT) * Integer.BYTES);
+        bytes = new byte[end - start];
+        index.get(stringData + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,200 @@
+package ca.bcit.termProject.wordGame;
+
+/**
+ * Immutable multiple-choice trivia question.
+ *
+ * <p>This class holds:
+ * <ul>
+ *   <li>The question type and its subject (a capital, country name, fact or keyword)</li>
+ *   <li>The answer choices, in display order</li>
+ *   <li>Which choice is correct</li>
+ * </ul>
+ *
+ * <p>Question Types:
+ * <table border="1">
+ *   <tr><th>Type</th><th>Subject</th><th>Choices</th></tr>
+ *   <tr><td>COUNTRY_BY_CAPITAL</td><td>Capital city</td><td>Country names</td></tr>
+ *   <tr><td>CAPITAL_BY_COUNTRY</td><td>Country name</td><td>Capital cities</td></tr>
+ *   <tr><td>COUNTRY_BY_FACT</td><td>Country fact</td><td>Country names</td></tr>
+ *   <tr><td>COUNTRY_BY_KEYWORD</td><td>Word found only in one country's facts</td><td>Country names</td></tr>
+ * </table>
+ *
+ * <p>Questions do no I/O; presenting them and reading answers is up to the caller.
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class Question
+{
+    private static final int MIN_CHOICES = 2;
+    private static final int FIRST_CHOICE = 0;
+
+    /**
+     * The kinds of question that can be asked.
+     */
+    public enum Type
+    {
+        COUNTRY_BY_CAPITAL("Which country does the capital city of ", "country"),
+        CAPITAL_BY_COUNTRY("Which is the capital city of ", "capital"),
+        COUNTRY_BY_FACT("Which country does this fact coincide with?\n", "country"),
+        COUNTRY_BY_KEYWORD("Which country is known for ", "country");
+
+        private final String leadIn;
+        private final String choiceNoun;
+
+        Type(final String leadIn,
+             final String choiceNoun)
+        {
+            this.leadIn = leadIn;
+            this.choiceNoun = choiceNoun;
+        }
+
+        /**
+         * Gets the text placed before the subject.
+         *
+         * @return lead-in text
+         */
+        public String getLeadIn()
+        {
+            return leadIn;
+        }
+
+        /**
+         * Gets what each choice names, such as "country".
+         *
+         * @return choice noun
+         */
+        public String getChoiceNoun()
+        {
+            return choiceNoun;
+        }
+    }
+
+    private final Type type;
+    private final String subject;
+    private final String[] choices;
+    private final int correctIndex;
+
+    /**
+     * Constructs a validated question.
+     *
+     * @param type The kind of question
+     * @param subject The capital, country name, fact or keyword being asked about
+     * @param choices The answer choices, in display order
+     * @param correctIndex Index of the correct choice
+     */
+    public Question(final Type type,
+                    final String subject,
+                    final String[] choices,
+                    final int correctIndex)
+    {
+        if (type == null ||
+                subject == null ||
+                subject.isBlank())
+        {
+            throw new IllegalArgumentException("Question needs a type and subject");
+        }
+        if (choices == null ||
+                choices.length < MIN_CHOICES)
+        {
+            throw new IllegalArgumentException("Question needs at least " + MIN_CHOICES + " choices");
+        }
+        if (correctIndex < FIRST_CHOICE ||
+                correctIndex >= choices.length)
+        {
+            throw new IllegalArgumentException("Invalid correct index: " + correctIndex);
+        }
+
+        this.type = type;
+        this.subject = subject;
+        this.choices = choices.clone();
+        this.correctIndex = correctIndex;
+    }
+
+    /**
+     * Gets the kind of question.
+     *
+     * @return question type
+     */
+    public Type getType()
+    {
+        return type;
+    }
+
+    /**
+     * Gets the capital, country name, fact or keyword being asked about.
+     *
+     * @return subject
+     */
+    public String getSubject()
+    {
+        return subject;
+    }
+
+    /**
+     * Gets the question text: the type's lead-in followed by the subject.
+     *
+     * @return question text
+     */
+    public String getText()
+    {
+        return type.getLeadIn() + subject;
+    }
+
+    /**
+     * Gets the number of answer choices.
+     *
+     * @return choice count
+     */
+    public int getChoiceCount()
+    {
+        return choices.length;
+    }
+
+    /**
+     * Gets one answer choice.
+     *
+     * @param index The choice position, starting at 0
+     * @return choice text
+     */
+    public String getChoice(final int index)
+    {
+        if (index < FIRST_CHOICE ||
+                index >= choices.length)
+        {
+            throw new IllegalArgumentException("Invalid choice index: " + index);
+        }
+        return choices[index];
+    }
+
+    /**
+     * Gets the index of the correct choice.
+     *
+     * @return correct index, starting at 0
+     */
+    public int getCorrectIndex()
+    {
+        return correctIndex;
+    }
+
+    /**
+     * Gets the text of the correct choice.
+     *
+     * @return correct answer
+     */
+    public String getCorrectAnswer()
+    {
+        return choices[correctIndex];
+    }
+
+    /**
+     * Checks a chosen answer.
+     *
+     * @param index The chosen position, starting at 0
+     * @return true if it is the correct choice
+     */
+    public boolean isCorrect(final int index)
+    {
+        return index == correctIndex;
+    }
+}
@@ -0,0 +1,198 @@
+package ca.bcit.termProject.wordGame;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Builds random trivia questions from a {@link World}, repeatably from a seed.
+ *
+ * <p>Generation Rules:
+ * <ul>
+ *   <li>Each question type is equally likely</li>
+ *   <li>Choices are distinct countries sampled with {@link World#sampleDistinct(int, Random)}</li>
+ *   <li>The correct choice is placed at a uniformly random position</li>
+ *   <li>Fact questions use one of the country's facts, chosen at random</li>
+ *   <li>Keyword questions use a word from {@link FactIndex#pickKnownFor(Country, Random)},
+ *       falling back to a fact question for countries with no such word</li>
+ * </ul>
+ *
+ * <p>Usage:
+ * <table border="1">
+ *   <tr><th>Method</th><th>Purpose</th></tr>
+ *   <tr><td>{@link #next()}</td><td>One question</td></tr>
+ *   <tr><td>{@link #nextRound(int)}</td><td>A whole round, built before it is played</td></tr>
+ *   <tr><td>{@link #stream()}</td><td>An endless sequential stream, for load testing</td></tr>
+ * </table>
+ *
+ * <p>Two generators with the same World and seed produce the same questions.
+ * Does no I/O. Not thread-safe; give each session its own generator.
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class QuestionGenerator
+{
+    /**
+     * Number of choices offered per question.
+     */
+    public static final int CHOICES = 3;
+
+    private static final int MIN_QUESTIONS = 0;
+    private static final Question.Type[] TYPES = Question.Type.values();
+
+    private final World world;
+    private final Random random;
+
+    /**
+     * Constructs a generator.
+     *
+     * @param world The countries to ask about
+     * @param seed Seed for every random choice
+     */
+    public QuestionGenerator(final World world,
+                             final long seed)
+    {
+        if (world == null)
+        {
+            throw new IllegalArgumentException("World cannot be null");
+        }
+        if (world.getCountryCount() < CHOICES)
+        {
+            throw new IllegalArgumentException("World needs at least " + CHOICES + " countries");
+        }
+        this.world = world;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Builds the next question.
+     *
+     * @return a new question
+     */
+    public Question next()
+    {
+        final Question.Type type;
+        final int correctIndex;
+        final Country[] countries;
+
+        type = TYPES[random.nextInt(TYPES.length)];
+        correctIndex = random.nextInt(CHOICES);
+        countries = world.sampleDistinct(CHOICES, random);
+        return build(type, countries, correctIndex);
+    }
+
+    /**
+     * Builds a question of a given type about a given country, such as one
+     * chosen by a {@link ReviewScheduler}. The other choices are random.
+     *
+     * @param correct The country the answer belongs to
+     * @param type The kind of question
+     * @return a new question
+     */
+    public Question next(final Country correct,
+                         final Question.Type type)
+    {
+        final int correctIndex;
+        final Country[] countries;
+
+        if (correct == null ||
+                type == null)
+        {
+            throw new IllegalArgumentException("Country and type cannot be null");
+        }
+
+        correctIndex = random.nextInt(CHOICES);
+        countries = world.sampleDistinct(CHOICES, random);
+        for (int i = 0; i < CHOICES; i++)
+        {
+            if (countries[i] == correct)
+            {
+                countries[i] = countries[correctIndex];
+            }
+        }
+        countries[correctIndex] = correct;
+        return build(type, countries, correctIndex);
+    }
+
+    /**
+     * Builds a whole round up front.
+     *
+     * @param questions Number of questions in the round
+     * @return the round's questions, in order
+     */
+    public List<Question> nextRound(final int questions)
+    {
+        final Question[] round;
+
+        if (questions < MIN_QUESTIONS)
+        {
+            throw new IllegalArgumentException("Question count cannot be negative");
+        }
+
+        round = new Question[questions];
+        for (int i = 0; i < questions; i++)
+        {
+            round[i] = next();
+        }
+        return List.of(round);
+    }
+
+    /**
+     * Gets an endless, sequential stream of questions from this generator.
+     *
+     * <p>Limit the stream before consuming it, for example with {@code limit}.
+     *
+     * @return stream of new questions
+     */
+    public Stream<Question> stream()
+    {
+        return Stream.generate(this::next).sequential();
+    }
+
+    /*
+     * Builds a question from its type and choice countries. Keyword
+     * questions about a country with no keyword become fact questions.
+     *
+     * @param requested the kind of question wanted
+     * @param countries the countries behind the choices, in display order
+     * @param correctIndex position of the correct country
+     * @return the question
+     */
+    private Question build(final Question.Type requested,
+                           final Country[] countries,
+                           final int correctIndex)
+    {
+        final Country correct;
+        final String[] choices;
+        final String keyword;
+        final Question.Type type;
+        final String subject;
+
+        correct = countries[correctIndex];
+        choices = new String[CHOICES];
+        keyword = requested == Question.Type.COUNTRY_BY_KEYWORD ?
+                world.getFactIndex().pickKnownFor(correct, random) :
+                null;
+        type = requested == Question.Type.COUNTRY_BY_KEYWORD && keyword == null ?
+                Question.Type.COUNTRY_BY_FACT :
+                requested;
+
+        for (int i = 0; i < CHOICES; i++)
+        {
+            choices[i] = type == Question.Type.CAPITAL_BY_COUNTRY ?
+                    countries[i].getCapitalCityName() :
+                    countries[i].getName();
+        }
+
+        subject = switch (type)
+        {
+            case COUNTRY_BY_CAPITAL -> correct.getCapitalCityName();
+            case CAPITAL_BY_COUNTRY -> correct.getName();
+            case COUNTRY_BY_FACT -> correct.getFact(random.nextInt(Country.FACT_TOTAL));
+            case COUNTRY_BY_KEYWORD -> keyword;
+        };
+
+        return new Question(type, subject, choices, correctIndex);
+    }
+}
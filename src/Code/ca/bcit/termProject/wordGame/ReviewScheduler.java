@@ -0,0 +1,522 @@
+package ca.bcit.termProject.wordGame;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Spaced-repetition schedule for one player, deciding which country and
+ * question type to ask next.
+ *
+ * <p>Each country and question type pair is an item with a mastery level
+ * and a due time. The items due soonest are asked first, so questions the
+ * player keeps getting right come back less and less often.
+ *
+ * <p>Grading:
+ * <table border="1">
+ *   <tr><th>Outcome</th><th>Mastery</th><th>Next Due</th></tr>
+ *   <tr><td>Correct first try</td><td>Up one level</td><td rowspan="3">Now plus the new level's interval</td></tr>
+ *   <tr><td>Correct second try</td><td>Unchanged</td></tr>
+ *   <tr><td>Incorrect</td><td>Back to 0</td></tr>
+ * </table>
+ *
+ * <p>Intervals by level: 30 seconds, 10 minutes, 1 hour, 8 hours, 1 day,
+ * 3 days, 1 week, 30 days. Items never asked are spread 15 seconds apart
+ * in a shuffled order, so new questions are mixed in with reviews.
+ *
+ * <p>Implementation Details:
+ * <ul>
+ *   <li>Items sit in an indexed binary heap ordered by due time</li>
+ *   <li>Taking the next item and rescheduling an answered one are O(log n)</li>
+ *   <li>Keyword items for countries with no keyword are asked as fact questions,
+ *       so loading a schedule never builds the {@link FactIndex}</li>
+ *   <li>Saved as 9 bytes per item, replaced in one step</li>
+ *   <li>Saved with a fingerprint of the country names in load order; a file
+ *       saved for other countries, or the same ones in another order, is ignored</li>
+ * </ul>
+ *
+ * <p>Not thread-safe; give each player their own scheduler.
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class ReviewScheduler
+{
+    private static final int MAGIC              = 0x57535253;
+    private static final int VERSION            = 2;
+    private static final int NONE               = 0;
+    private static final int NOT_QUEUED         = -1;
+    private static final int ROOT               = 0;
+    private static final int NEXT               = 1;
+    private static final int CHILDREN           = 2;
+    private static final long NEW_ITEM_SPACING  = 15;
+    private static final long[] INTERVALS       = {
+            30, 10 * 60, 60 * 60, 8 * 60 * 60, 24 * 60 * 60,
+            3 * 24 * 60 * 60, 7 * 24 * 60 * 60, 30 * 24 * 60 * 60};
+    private static final int MAX_LEVEL          = INTERVALS.length - NEXT;
+    private static final int FINGERPRINT_MIX    = 31;
+    private static final String TEMP_SUFFIX     = ".tmp";
+    private static final Question.Type[] TYPES  = Question.Type.values();
+
+    private final int countryCount;
+    private final long fingerprint;
+    private final long[] due;
+    private final byte[] level;
+    private final int[] heap;
+    private final int[] heapPosition;
+    private int heapSize;
+
+    /*
+     * Constructs a schedule with every item at level 0 and nothing queued.
+     *
+     * @param countryCount the number of countries
+     * @param fingerprint fingerprint of the countries' names, in load order
+     */
+    private ReviewScheduler(final int countryCount,
+                            final long fingerprint)
+    {
+        this.countryCount = countryCount;
+        this.fingerprint = fingerprint;
+        this.due = new long[countryCount * TYPES.length];
+        this.level = new byte[due.length];
+        this.heap = new int[due.length];
+        this.heapPosition = new int[due.length];
+        this.heapSize = NONE;
+    }
+
+    /**
+     * Loads a player's schedule, or starts a new one if the file is missing
+     * or was saved for a different set or order of countries.
+     *
+     * @param file The player's schedule file
+     * @param world The countries to schedule
+     * @param now The current time, used to space out new items
+     * @param seed Seed for the order new items are introduced in
+     * @return the schedule
+     * @throws IOException if the file exists but cannot be read or holds an invalid level
+     */
+    public static ReviewScheduler load(final Path file,
+                                       final World world,
+                                       final Instant now,
+                                       final long seed) throws IOException
+    {
+        final long fingerprint;
+        ReviewScheduler scheduler;
+
+        fingerprint = fingerprint(world);
+        scheduler = read(file, world.getCountryCount(), fingerprint);
+        if (scheduler == null)
+        {
+            scheduler = fresh(world.getCountryCount(), fingerprint, now, seed);
+        }
+        scheduler.queueAll();
+        return scheduler;
+    }
+
+    /**
+     * Takes the items due soonest, at most one per country, leaving them
+     * scheduled until they are answered.
+     *
+     * @param count How many items to take
+     * @return the item ids, soonest first
+     */
+    public int[] nextItems(final int count)
+    {
+        final List<Integer> taken;
+        final boolean[] countryTaken;
+        final int[] items;
+        int filled;
+
+        if (count < NONE)
+        {
+            throw new IllegalArgumentException("Item count cannot be negative");
+        }
+
+        taken = new ArrayList<>();
+        countryTaken = new boolean[countryCount];
+        items = new int[count];
+        filled = NONE;
+
+        while (filled < count &&
+                heapSize > NONE)
+        {
+            final int item;
+
+            item = poll();
+            taken.add(item);
+            if (!countryTaken[countryOf(item)])
+            {
+                countryTaken[countryOf(item)] = true;
+                items[filled++] = item;
+            }
+        }
+
+        for (final int item : taken)
+        {
+            offer(item);
+        }
+
+        if (filled < count)
+        {
+            throw new IllegalStateException("Only " + filled + " countries can be scheduled");
+        }
+        return items;
+    }
+
+    /**
+     * Updates an item's mastery after its question is finished and
+     * reschedules it.
+     *
+     * @param item The item answered
+     * @param outcome The final outcome; never TRY_AGAIN
+     * @param now When it was answered
+     */
+    public void record(final int item,
+                       final WordGameSession.Outcome outcome,
+                       final Instant now)
+    {
+        if (outcome == WordGameSession.Outcome.TRY_AGAIN)
+        {
+            throw new IllegalArgumentException("Only finished questions can be recorded");
+        }
+
+        level[item] = (byte) switch (outcome)
+        {
+            case CORRECT_FIRST_TRY -> Math.min(level[item] + NEXT, MAX_LEVEL);
+            case CORRECT_SECOND_TRY -> level[item];
+            default -> NONE;
+        };
+        due[item] = now.getEpochSecond() + INTERVALS[level[item]];
+
+        if (heapPosition[item] != NOT_QUEUED)
+        {
+            siftDown(siftUp(heapPosition[item]));
+        }
+    }
+
+    /**
+     * Gets the mastery level of an item.
+     *
+     * @param item The item
+     * @return level, from 0 up
+     */
+    public int getLevel(final int item)
+    {
+        return level[item];
+    }
+
+    /**
+     * Gets the item for a country and question type.
+     *
+     * @param country The country's position in load order
+     * @param type The question type
+     * @return item id
+     */
+    public static int itemOf(final int country,
+                             final Question.Type type)
+    {
+        return country * TYPES.length + type.ordinal();
+    }
+
+    /**
+     * Gets an item's country.
+     *
+     * @param item The item
+     * @return the country's position in load order
+     */
+    public static int countryOf(final int item)
+    {
+        return item / TYPES.length;
+    }
+
+    /**
+     * Gets an item's question type.
+     *
+     * @param item The item
+     * @return question type
+     */
+    public static Question.Type typeOf(final int item)
+    {
+        return TYPES[item % TYPES.length];
+    }
+
+    /**
+     * Saves the schedule, replacing the previous file in one step.
+     *
+     * @param file The player's schedule file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(final Path file) throws IOException
+    {
+        final Path temp;
+
+        temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), TEMP_SUFFIX);
+
+        try (final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(countryCount);
+            out.writeInt(TYPES.length);
+            out.writeLong(fingerprint);
+            for (int item = 0; item < due.length; item++)
+            {
+                out.writeLong(due[item]);
+                out.writeByte(level[item]);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+     * Starts a schedule with every item new, spaced out in a shuffled order.
+     *
+     * @param countryCount the number of countries
+     * @param fingerprint fingerprint of the countries' names, in load order
+     * @param now the current time
+     * @param seed seed for the shuffle
+     * @return the new schedule
+     */
+    private static ReviewScheduler fresh(final int countryCount,
+                                         final long fingerprint,
+                                         final Instant now,
+                                         final long seed)
+    {
+        final ReviewScheduler scheduler;
+        final Random random;
+        final int[] order;
+
+        scheduler = new ReviewScheduler(countryCount, fingerprint);
+        random = new Random(seed);
+        order = new int[scheduler.due.length];
+
+        for (int i = 0; i < order.length; i++)
+        {
+            final int swap;
+
+            swap = random.nextInt(i + NEXT);
+            order[i] = order[swap];
+            order[swap] = i;
+        }
+        for (int rank = 0; rank < order.length; rank++)
+        {
+            scheduler.due[order[rank]] = now.getEpochSecond() + rank * NEW_ITEM_SPACING;
+        }
+        return scheduler;
+    }
+
+    /*
+     * Reads a saved schedule.
+     *
+     * @param file the schedule file
+     * @param countryCount the number of countries now loaded
+     * @param fingerprint fingerprint of the loaded countries' names, in load order
+     * @return the schedule, or null if missing, not a schedule or for other countries
+     * @throws IOException if the file cannot be read or holds an invalid level
+     */
+    private static ReviewScheduler read(final Path file,
+                                        final int countryCount,
+                                        final long fingerprint) throws IOException
+    {
+        if (Files.notExists(file))
+        {
+            return null;
+        }
+
+        try (final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file))))
+        {
+            final ReviewScheduler scheduler;
+
+            if (in.readInt() != MAGIC ||
+                    in.readInt() != VERSION ||
+                    in.readInt() != countryCount ||
+                    in.readInt() != TYPES.length ||
+                    in.readLong() != fingerprint)
+            {
+                return null;
+            }
+
+            scheduler = new ReviewScheduler(countryCount, fingerprint);
+            for (int item = 0; item < scheduler.due.length; item++)
+            {
+                final byte saved;
+
+                scheduler.due[item] = in.readLong();
+                saved = in.readByte();
+                if (saved < NONE ||
+                        saved > MAX_LEVEL)
+                {
+                    throw new IOException("Invalid mastery level " + saved + " in " + file);
+                }
+                scheduler.level[item] = saved;
+            }
+            return scheduler;
+        } catch (final EOFException e)
+        {
+            return null;
+        }
+    }
+
+    /*
+     * Queues every item. Keyword items are queued whether or not the country
+     * has a keyword, since checking would build the whole fact index.
+     */
+    private void queueAll()
+    {
+        for (int item = 0; item < due.length; item++)
+        {
+            offer(item);
+        }
+    }
+
+    /*
+     * Combines the names of every country in load order, since items are
+     * keyed by a country's position.
+     *
+     * @param world the countries being scheduled
+     * @return fingerprint of the names
+     */
+    private static long fingerprint(final World world)
+    {
+        long fingerprint;
+
+        fingerprint = NONE;
+        for (int country = 0; country < world.getCountryCount(); country++)
+        {
+            fingerprint = fingerprint * FINGERPRINT_MIX + world.getCountry(country).getName().hashCode();
+        }
+        return fingerprint;
+    }
+
+    /*
+     * Adds an item to the heap.
+     *
+     * @param item the item
+     */
+    private void offer(final int item)
+    {
+        heap[heapSize] = item;
+        heapPosition[item] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    /*
+     * Removes the item due soonest from the heap.
+     *
+     * @return the item
+     */
+    private int poll()
+    {
+        final int item;
+
+        item = heap[ROOT];
+        heapSize--;
+        heap[ROOT] = heap[heapSize];
+        heapPosition[heap[ROOT]] = ROOT;
+        heapPosition[item] = NOT_QUEUED;
+        if (heapSize > NONE)
+        {
+            siftDown(ROOT);
+        }
+        return item;
+    }
+
+    /*
+     * Moves the item at a heap position up while it is due before its parent.
+     *
+     * @param position the heap position
+     * @return where the item ended up
+     */
+    private int siftUp(final int position)
+    {
+        int child;
+
+        child = position;
+        while (child > ROOT)
+        {
+            final int parent;
+
+            parent = (child - NEXT) / CHILDREN;
+            if (!dueBefore(heap[child], heap[parent]))
+            {
+                break;
+            }
+            swap(child, parent);
+            child = parent;
+        }
+        return child;
+    }
+
+    /*
+     * Moves the item at a heap position down while a child is due before it.
+     *
+     * @param position the heap position
+     */
+    private void siftDown(final int position)
+    {
+        int parent;
+
+        parent = position;
+        while (parent * CHILDREN + NEXT < heapSize)
+        {
+            int child;
+
+            child = parent * CHILDREN + NEXT;
+            if (child + NEXT < heapSize &&
+                    dueBefore(heap[child + NEXT], heap[child]))
+            {
+                child++;
+            }
+            if (!dueBefore(heap[child], heap[parent]))
+            {
+                break;
+            }
+            swap(child, parent);
+            parent = child;
+        }
+    }
+
+    /*
+     * Orders items by due time, then by id so equal times are stable.
+     *
+     * @param a the first item
+     * @param b the second item
+     * @return true if a should be asked before b
+     */
+    private boolean dueBefore(final int a,
+                              final int b)
+    {
+        return due[a] < due[b] ||
+                (due[a] == due[b] && a < b);
+    }
+
+    /*
+     * Swaps two heap positions, keeping the position index in step.
+     *
+     * @param first the first position
+     * @param second the second position
+     */
+    private void swap(final int first,
+                      final int second)
+    {
+        final int held;
+
+        held = heap[first];
+        heap[first] = heap[second];
+        heap[second] = held;
+        heapPosition[heap[first]] = first;
+        heapPosition[heap[second]] = second;
+    }
+}
@@ -1,10 +1,23 @@
 package ca.bcit.termProject.wordGame;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -14,6 +27,9 @@ import java.util.List;
  * <ul>
  *   <li>Score calculation and tracking</li>
  *   <li>File-based score storage and retrieval</li>
+ *   <li>Lazy, constant-memory streaming of score history</li>
+ *   <li>Reading the most recent records through a {@link ScoreOffsetIndex}</li>
+ *   <li>Lifetime and daily totals through a {@link ScoreSummary}</li>
  *   <li>Detailed performance statistics</li>
  *   <li>Temporal tracking of game sessions</li>
  * </ul>
@@ -35,6 +51,7 @@ import java.util.List;
  * Incorrect Attempts: [count]
  * Score: [total] points
  * </pre>
+ * Files are UTF-8; each record is followed by a blank line.
  *
  * @author Conner Ponton
  * @version 1.0
@@ -45,7 +62,17 @@ public final class Score
     private static final int POINTS_FOR_FIRST_ATTEMPT       = 2;
     private static final int POINTS_FOR_SECOND_ATTEMPT      = 1;
 
-    private static final String DATE_TIME_PREFIX            = "Date and Time: ";
+    /**
+     * First line prefix of every record in a score file.
+     */
+    static final String DATE_TIME_PREFIX                    = "Date and Time: ";
+
+    /**
+     * Held by every in-process append to a score file, so records and
+     * sidecar updates from different writers never interleave.
+     */
+    static final Object APPEND_LOCK                         = new Object();
+
     private static final String GAMES_PLAYED_PREFIX         = "Games Played: ";
     private static final String FIRST_ATTEMPTS_PREFIX       = "Correct First Attempts: ";
     private static final String SECOND_ATTEMPTS_PREFIX      = "Correct Second Attempts: ";
@@ -53,6 +80,7 @@ public final class Score
     private static final String SCORE_PREFIX                = "Score: ";
     private static final String SCORE_SUFFIX                = " points";
     private static final DateTimeFormatter FORMATTER        = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final long START_OF_FILE                 = 0;
 
     private final LocalDateTime dateTime;
     private final int gamesPlayed;
@@ -94,6 +122,56 @@ public final class Score
         return score;
     }
 
+    /**
+     * Gets when the game session occurred.
+     *
+     * @return The session date and time
+     */
+    public LocalDateTime getDateTime()
+    {
+        return dateTime;
+    }
+
+    /**
+     * Gets the number of games played in the session.
+     *
+     * @return Games played
+     */
+    public int getGamesPlayed()
+    {
+        return gamesPlayed;
+    }
+
+    /**
+     * Gets the number of questions solved on the first try.
+     *
+     * @return Correct first attempts
+     */
+    public int getCorrectFirstAttempts()
+    {
+        return correctFirstAttempts;
+    }
+
+    /**
+     * Gets the number of questions solved on the second try.
+     *
+     * @return Correct second attempts
+     */
+    public int getCorrectSecondAttempts()
+    {
+        return correctSecondAttempts;
+    }
+
+    /**
+     * Gets the number of questions not solved.
+     *
+     * @return Incorrect attempts
+     */
+    public int getIncorrectAttempts()
+    {
+        return incorrectAttempts;
+    }
+
     /**
      * Appends a score record to the specified file.
      *
@@ -103,13 +181,93 @@ public final class Score
     public static void appendScoreToFile(final Score score,
                                          final String fileName) throws IOException
     {
-        try (FileWriter fileWriter = new FileWriter(fileName, true);
+        appendScoresToFile(List.of(score), fileName);
+    }
 
-             final BufferedWriter bufferedWriter = new BufferedWriter(fileWriter);
+    /**
+     * Appends several score records to the specified file, opening it once,
+     * then records where each starts in the file's {@link ScoreOffsetIndex}
+     * and adds them to its {@link ScoreSummary}.
+     *
+     * @param scores The scores to persist, in order
+     * @param fileName Target file path
+     */
+    public static void appendScoresToFile(final List<Score> scores,
+                                          final String fileName) throws IOException
+    {
+        final Path path;
 
-             final PrintWriter out = new PrintWriter(bufferedWriter))
+        path = Paths.get(fileName);
+
+        synchronized (APPEND_LOCK)
         {
-            out.println(score.toString());
+            final long sizeBefore;
+            final long[] offsets;
+            long position;
+
+            sizeBefore = Files.exists(path) ? Files.size(path) : START_OF_FILE;
+            offsets = new long[scores.size()];
+            position = sizeBefore;
+
+            try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)))
+            {
+                for (int i = 0; i < offsets.length; i++)
+                {
+                    final byte[] record;
+
+                    record = toRecordBytes(scores.get(i));
+                    offsets[i] = position;
+                    out.write(record);
+                    position += record.length;
+                }
+            }
+
+            updateSidecars(path, sizeBefore, offsets, scores, position);
+        }
+    }
+
+    /*
+     * Encodes a score exactly as it is appended to a score file.
+     *
+     * @param score The score to encode
+     * @return UTF-8 bytes of the record and its trailing blank line
+     */
+    static byte[] toRecordBytes(final Score score)
+    {
+        return (score.toString() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /*
+     * Adds just-appended records to the offset index and summary sidecars.
+     * Call while holding APPEND_LOCK.
+     *
+     * @param path The score file
+     * @param sizeBefore The score file's length before the append
+     * @param offsets Where each appended record starts
+     * @param scores The appended records, in order
+     * @param sizeAfter The score file's length after the append
+     */
+    static void updateSidecars(final Path path,
+                               final long sizeBefore,
+                               final long[] offsets,
+                               final List<Score> scores,
+                               final long sizeAfter)
+    {
+        // The scores are saved either way; a sidecar that misses them is rebuilt on its next use
+        try
+        {
+            ScoreOffsetIndex.recordAppend(path, sizeBefore, offsets, sizeAfter);
+        } catch (final IOException e)
+        {
+            System.out.println("Failed to update score index: " + e.getMessage());
+        }
+        try
+        {
+            ScoreSummary.recordAppend(path, sizeBefore, scores, sizeAfter);
+        } catch (final IOException e)
+        {
+            System.out.println("Failed to update score summary: " + e.getMessage());
         }
     }
 
@@ -122,46 +280,161 @@ public final class Score
     public static List<Score> readScoresFromFile(final String fileName)
                                                 throws IOException
     {
-        final List<Score> scores;
+        try (final Stream<Score> scores = streamScoresFromFile(fileName))
+        {
+            return scores.collect(Collectors.toList());
+        } catch (final UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Streams scores from a persistence file, parsing each record only when
+     * it is reached. Memory use does not grow with the file.
+     *
+     * <p>Close the stream, for example with try-with-resources, to close the
+     * file. Read errors part way through are thrown as {@link UncheckedIOException}.
+     *
+     * @param fileName Source file path
+     * @return Lazy stream of historical scores (chronological order)
+     */
+    public static Stream<Score> streamScoresFromFile(final String fileName)
+                                                    throws IOException
+    {
+        return streamScores(Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the most recent scores, seeking past older records with the
+     * file's {@link ScoreOffsetIndex} instead of parsing them.
+     *
+     * @param fileName Source file path
+     * @param count Most scores to return
+     * @return Up to count of the newest scores (chronological order)
+     */
+    public static List<Score> readLastScores(final String fileName,
+                                             final int count) throws IOException
+    {
+        final Path path;
+        final long start;
+        final FileChannel channel;
+
+        path = Paths.get(fileName);
+        start = ScoreOffsetIndex.startOfLast(path, count);
+        channel = FileChannel.open(path, StandardOpenOption.READ);
 
-        scores = new ArrayList<>();
+        try (final Stream<Score> scores = streamScores(new BufferedReader(
+                Channels.newReader(channel, StandardCharsets.UTF_8))))
+        {
+            channel.position(start);
+            return scores.limit(count).collect(Collectors.toList());
+        } catch (final UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(fileName)))
+    /*
+     * Wraps a reader in a lazy stream of scores that closes the reader when closed.
+     *
+     * @param reader Reader positioned at the start of a record
+     * @return Stream of the remaining scores
+     */
+    private static Stream<Score> streamScores(final BufferedReader reader)
+    {
+        final Iterator<Score> records;
+
+        records = new Iterator<>()
         {
-            String line;
-            while ((line = reader.readLine()) != null)
+            private Score next;
+
+            @Override
+            public boolean hasNext()
             {
-                if (line.startsWith(DATE_TIME_PREFIX))
+                if (next == null)
                 {
-                    final LocalDateTime dateTime;
-                    final int gamesPlayed;
-                    final int correctFirstAttempts;
-                    final int correctSecondAttempts;
-                    final int incorrectAttempts;
+                    try
+                    {
+                        next = readNextScore(reader);
+                    } catch (final IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
 
+            @Override
+            public Score next()
+            {
+                final Score current;
 
-                    dateTime = LocalDateTime.parse(
-                                            line.substring(DATE_TIME_PREFIX.length()),
-                                            FORMATTER
-                    );
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                current = next;
+                next = null;
+                return current;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() ->
+                {
+                    try
+                    {
+                        reader.close();
+                    } catch (final IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /*
+     * Reads up to and including the next complete record.
+     *
+     * @param reader The reader to consume
+     * @return The next score, or null at the end of the file
+     */
+    private static Score readNextScore(final BufferedReader reader) throws IOException
+    {
+        String line;
 
-                    gamesPlayed = readAndParseInt(reader, GAMES_PLAYED_PREFIX);
+        while ((line = reader.readLine()) != null)
+        {
+            if (line.startsWith(DATE_TIME_PREFIX))
+            {
+                final LocalDateTime dateTime;
+                final int gamesPlayed;
+                final int correctFirstAttempts;
+                final int correctSecondAttempts;
+                final int incorrectAttempts;
 
-                    correctFirstAttempts = readAndParseInt(reader, FIRST_ATTEMPTS_PREFIX);
+                dateTime = LocalDateTime.parse(
+                                        line.substring(DATE_TIME_PREFIX.length()),
+                                        FORMATTER
+                );
 
-                    correctSecondAttempts = readAndParseInt(reader, SECOND_ATTEMPTS_PREFIX);
+                gamesPlayed = readAndParseInt(reader, GAMES_PLAYED_PREFIX);
 
-                    incorrectAttempts = readAndParseInt(reader, INCORRECT_ATTEMPTS_PREFIX);
+                correctFirstAttempts = readAndParseInt(reader, FIRST_ATTEMPTS_PREFIX);
 
-                    scores.add(new Score(dateTime,
-                            gamesPlayed,
-                            correctFirstAttempts,
-                            correctSecondAttempts,
-                            incorrectAttempts));
-                }
+                correctSecondAttempts = readAndParseInt(reader, SECOND_ATTEMPTS_PREFIX);
+
+                incorrectAttempts = readAndParseInt(reader, INCORRECT_ATTEMPTS_PREFIX);
+
+                return new Score(dateTime,
+                        gamesPlayed,
+                        correctFirstAttempts,
+                        correctSecondAttempts,
+                        incorrectAttempts);
             }
         }
-        return scores;
+        return null;
     }
 
     /**
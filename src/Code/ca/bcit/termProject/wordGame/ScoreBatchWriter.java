@@ -0,0 +1,298 @@
+package ca.bcit.termProject.wordGame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-lived appender that group-commits word game scores from many
+ * sessions through one open {@link FileChannel}.
+ *
+ * <p>Writer Behaviour:
+ * <ul>
+ *   <li>{@link #submit(Score)} only enqueues and returns a durability future</li>
+ *   <li>The I/O thread gathers a group until it reaches the size limit or the commit window closes</li>
+ *   <li>Each group is written with one gathering write and forced once</li>
+ *   <li>Futures complete after the force and sidecar updates, or complete exceptionally on failure</li>
+ *   <li>{@link #close()} commits everything still queued, then closes the channel</li>
+ *   <li>Submitting and closing share a lock, so no score is queued after the writer stops</li>
+ *   <li>Scores submitted after close get a future that has already failed</li>
+ * </ul>
+ *
+ * <p>Group Thresholds:
+ * <table border="1">
+ *   <tr><th>Limit</th><th>Value</th></tr>
+ *   <tr><td>Records per group</td><td>256</td></tr>
+ *   <tr><td>Bytes per group</td><td>64 KiB</td></tr>
+ *   <tr><td>Commit window after the first record</td><td>10 ms</td></tr>
+ * </table>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class ScoreBatchWriter
+{
+    private static final int MAX_BATCH              = 256;
+    private static final int MAX_BATCH_BYTES        = 64 * 1024;
+    private static final long COMMIT_WINDOW_NANOS   = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long POLL_TIMEOUT_MS       = 250;
+    private static final long CLOSE_TIMEOUT_MS      = 5000;
+    private static final int NONE                   = 0;
+
+    /*
+     * A queued score, its encoded record and the future to complete.
+     */
+    private static final class Pending
+    {
+        private final Score score;
+        private final byte[] record;
+        private final CompletableFuture<Void> durable;
+
+        private Pending(final Score score)
+        {
+            this.score = score;
+            this.record = Score.toRecordBytes(score);
+            this.durable = new CompletableFuture<>();
+        }
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final BlockingQueue<Pending> queue;
+    private final Thread ioThread;
+    private final Object lifecycle;
+    private volatile boolean closing;
+
+    /**
+     * Opens the score file for appending and starts the I/O thread.
+     *
+     * @param fileName The score file to append to
+     * @throws IOException if the file cannot be opened
+     */
+    public ScoreBatchWriter(final String fileName) throws IOException
+    {
+        this.path = Paths.get(fileName);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.queue = new LinkedBlockingQueue<>();
+        this.lifecycle = new Object();
+        this.ioThread = new Thread(this::runWriter, "word-score-writer");
+        this.ioThread.setDaemon(true);
+        this.ioThread.start();
+    }
+
+    /**
+     * Queues a score for the next group commit without waiting for I/O.
+     *
+     * @param score The score to persist
+     * @return a future completed once the score is forced to the device, or
+     *         already failed with an IllegalStateException if the writer is closed
+     */
+    public CompletableFuture<Void> submit(final Score score)
+    {
+        final Pending pending;
+
+        pending = new Pending(score);
+        synchronized (lifecycle)
+        {
+            if (closing)
+            {
+                return CompletableFuture.failedFuture(new IllegalStateException("Score writer is closed"));
+            }
+            queue.add(pending);
+        }
+        return pending.durable;
+    }
+
+    /**
+     * Stops accepting scores, commits everything still queued and closes the file.
+     */
+    public void close()
+    {
+        stopAccepting();
+        try
+        {
+            ioThread.join(CLOSE_TIMEOUT_MS);
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        if (ioThread.isAlive())
+        {
+            System.out.println("Score writer did not drain in time");
+        }
+    }
+
+    /*
+     * I/O thread loop: gathers groups and commits them, and exits once
+     * closing is requested and the queue is empty.
+     */
+    private void runWriter()
+    {
+        final List<Pending> group;
+
+        group = new ArrayList<>(MAX_BATCH);
+
+        while (!closing || !queue.isEmpty())
+        {
+            try
+            {
+                final Pending first;
+
+                first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first != null)
+                {
+                    group.add(first);
+                    gather(group, first.record.length);
+                    commit(group);
+                    group.clear();
+                }
+            }
+            catch (final InterruptedException e)
+            {
+                stopAccepting();
+            }
+        }
+
+        failQueued();
+        try
+        {
+            channel.close();
+        }
+        catch (final IOException e)
+        {
+            System.out.println("Failed to close score file");
+            e.printStackTrace();
+        }
+    }
+
+    /*
+     * Stops accepting scores. Once this returns, nothing more is queued.
+     */
+    private void stopAccepting()
+    {
+        synchronized (lifecycle)
+        {
+            closing = true;
+        }
+    }
+
+    /*
+     * Fails the future of any score still queued once the I/O thread stops,
+     * so no caller waits forever.
+     */
+    private void failQueued()
+    {
+        Pending pending;
+
+        while ((pending = queue.poll()) != null)
+        {
+            pending.durable.completeExceptionally(new IllegalStateException("Score writer is closed"));
+        }
+    }
+
+    /*
+     * Adds queued scores to a group until a size limit is reached or the
+     * commit window since the first score closes.
+     *
+     * @param group the group, holding its first score
+     * @param groupBytes bytes already in the group
+     */
+    private void gather(final List<Pending> group,
+                        final int groupBytes) throws InterruptedException
+    {
+        final long deadline;
+        int bytes;
+
+        deadline = System.nanoTime() + COMMIT_WINDOW_NANOS;
+        bytes = groupBytes;
+
+        while (group.size() < MAX_BATCH &&
+                bytes < MAX_BATCH_BYTES)
+        {
+            final long remaining;
+            final Pending next;
+
+            remaining = deadline - System.nanoTime();
+            next = closing || remaining <= NONE ?
+                    queue.poll() :
+                    queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null)
+            {
+                return;
+            }
+            group.add(next);
+            bytes += next.record.length;
+        }
+    }
+
+    /*
+     * Writes a group with one gathering write, forces it, updates the
+     * sidecars and completes every future in the group.
+     *
+     * @param group the scores to commit
+     */
+    private void commit(final List<Pending> group)
+    {
+        try
+        {
+            synchronized (Score.APPEND_LOCK)
+            {
+                final ByteBuffer[] records;
+                final long[] offsets;
+                final List<Score> scores;
+                final long sizeBefore;
+                long position;
+
+                records = new ByteBuffer[group.size()];
+                offsets = new long[group.size()];
+                scores = new ArrayList<>(group.size());
+                sizeBefore = channel.size();
+                position = sizeBefore;
+
+                for (int i = 0; i < records.length; i++)
+                {
+                    final Pending pending;
+
+                    pending = group.get(i);
+                    records[i] = ByteBuffer.wrap(pending.record);
+                    offsets[i] = position;
+                    scores.add(pending.score);
+                    position += pending.record.length;
+                }
+
+                while (records[records.length - 1].hasRemaining())
+                {
+                    channel.write(records);
+                }
+                channel.force(false);
+                Score.updateSidecars(path, sizeBefore, offsets, scores, position);
+            }
+
+            for (final Pending pending : group)
+            {
+                pending.durable.complete(null);
+            }
+        }
+        catch (final IOException e)
+        {
+            System.out.println("Failed to save " + group.size() + " scores");
+            e.printStackTrace();
+            for (final Pending pending : group)
+            {
+                pending.durable.completeExceptionally(e);
+            }
+        }
+    }
+}
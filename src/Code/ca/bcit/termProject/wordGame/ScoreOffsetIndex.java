@@ -0,0 +1,273 @@
+package ca.bcit.termProject.wordGame;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sidecar file holding the byte offset of every record in a word game score file.
+ *
+ * <p>Index Behaviour:
+ * <ul>
+ *   <li>Offsets are appended whenever {@link Score} appends records</li>
+ *   <li>The header records how much of the score file is covered</li>
+ *   <li>If the score file grew without the index, it is rebuilt in one pass</li>
+ *   <li>Finding where the last N records start is a single positioned read</li>
+ * </ul>
+ *
+ * <p>Sidecar Format:
+ * <table border="1">
+ *   <tr><th>Field</th><th>Type</th></tr>
+ *   <tr><td>Magic</td><td>int</td></tr>
+ *   <tr><td>Version</td><td>int</td></tr>
+ *   <tr><td>Covered Score File Length</td><td>long</td></tr>
+ *   <tr><td>Record Offsets</td><td>one long per record, in file order</td></tr>
+ * </table>
+ *
+ * <p>Thread-safe within one process; every method locks the class.</p>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class ScoreOffsetIndex
+{
+    private static final int MAGIC              = 0x5753434F;
+    private static final int VERSION            = 1;
+    private static final int HEADER_BYTES       = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final long COVERED_POSITION  = Integer.BYTES + Integer.BYTES;
+    private static final long START_OF_FILE     = 0;
+    private static final int END_OF_STREAM      = -1;
+    private static final int NONE               = 0;
+    private static final int NO_MATCH           = -1;
+    private static final String SIDECAR_SUFFIX  = ".idx";
+    private static final String TEMP_SUFFIX     = ".tmp";
+
+    private ScoreOffsetIndex()
+    {
+    }
+
+    /**
+     * Gets the sidecar path for a score file.
+     *
+     * @param scores The score file
+     * @return the score file's path with ".idx" appended
+     */
+    public static Path sidecarFor(final Path scores)
+    {
+        return Paths.get(scores.toString() + SIDECAR_SUFFIX);
+    }
+
+    /**
+     * Records records just appended to a score file.
+     *
+     * <p>If the index did not cover the file exactly up to sizeBefore, for
+     * example because another program appended, it is rebuilt instead.
+     *
+     * @param scores The score file
+     * @param sizeBefore The score file's length before the append
+     * @param offsets Where each appended record starts
+     * @param sizeAfter The score file's length after the append
+     * @throws IOException if the index cannot be written
+     */
+    static synchronized void recordAppend(final Path scores,
+                                          final long sizeBefore,
+                                          final long[] offsets,
+                                          final long sizeAfter) throws IOException
+    {
+        final Path sidecar;
+
+        sidecar = sidecarFor(scores);
+        if (coveredLength(sidecar) != sizeBefore)
+        {
+            rebuild(scores);
+            return;
+        }
+
+        try (final FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.WRITE))
+        {
+            final ByteBuffer buffer;
+
+            buffer = ByteBuffer.allocate(offsets.length * Long.BYTES);
+            for (final long offset : offsets)
+            {
+                buffer.putLong(offset);
+            }
+            buffer.flip();
+            channel.position(channel.size());
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+
+            // Offsets first, then the header, so a crash leaves the index stale rather than wrong
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(NONE, sizeAfter), COVERED_POSITION);
+        }
+    }
+
+    /**
+     * Finds where the last N records of a score file start, rebuilding the
+     * index first if it is out of date.
+     *
+     * @param scores The score file
+     * @param records How many records from the end
+     * @return byte offset to start reading from; 0 if the file has N records or fewer
+     * @throws IOException if the index cannot be read or rebuilt
+     */
+    public static synchronized long startOfLast(final Path scores,
+                                                final int records) throws IOException
+    {
+        final Path sidecar;
+
+        if (records < NONE)
+        {
+            throw new IllegalArgumentException("Record count cannot be negative");
+        }
+
+        sidecar = sidecarFor(scores);
+        if (coveredLength(sidecar) != Files.size(scores))
+        {
+            rebuild(scores);
+        }
+
+        try (final FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ))
+        {
+            final long count;
+            final ByteBuffer offset;
+
+            count = (channel.size() - HEADER_BYTES) / Long.BYTES;
+            if (records >= count)
+            {
+                return START_OF_FILE;
+            }
+            if (records == NONE)
+            {
+                return Files.size(scores);
+            }
+
+            offset = ByteBuffer.allocate(Long.BYTES);
+            while (offset.hasRemaining())
+            {
+                if (channel.read(offset, HEADER_BYTES + (count - records) * Long.BYTES + offset.position()) == END_OF_STREAM)
+                {
+                    throw new IOException("Truncated score index: " + sidecar);
+                }
+            }
+            return offset.getLong(NONE);
+        }
+    }
+
+    /**
+     * Rebuilds the index by scanning the score file once.
+     *
+     * @param scores The score file
+     * @throws IOException if the score file cannot be read or the index written
+     */
+    static synchronized void rebuild(final Path scores) throws IOException
+    {
+        final Path sidecar;
+        final Path temp;
+        final byte[] recordStart;
+
+        sidecar = sidecarFor(scores);
+        temp = Files.createTempFile(sidecar.toAbsolutePath().getParent(), sidecar.getFileName().toString(), TEMP_SUFFIX);
+        recordStart = Score.DATE_TIME_PREFIX.getBytes(StandardCharsets.UTF_8);
+
+        try (final InputStream in = new BufferedInputStream(Files.newInputStream(scores));
+             final DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(Files.newOutputStream(temp))))
+        {
+            long position;
+            long lineStart;
+            int matched;
+            int next;
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(START_OF_FILE);
+
+            position = START_OF_FILE;
+            lineStart = START_OF_FILE;
+            matched = NONE;
+            while ((next = in.read()) != END_OF_STREAM)
+            {
+                if (next == '\n')
+                {
+                    lineStart = position + Byte.BYTES;
+                    matched = NONE;
+                }
+                else if (matched != NO_MATCH)
+                {
+                    // Compare the start of each line with the record prefix
+                    if (next == Byte.toUnsignedInt(recordStart[matched]))
+                    {
+                        matched++;
+                        if (matched == recordStart.length)
+                        {
+                            out.writeLong(lineStart);
+                            matched = NO_MATCH;
+                        }
+                    }
+                    else
+                    {
+                        matched = NO_MATCH;
+                    }
+                }
+                position++;
+            }
+            out.flush();
+
+            try (final FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE))
+            {
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(NONE, position), COVERED_POSITION);
+            }
+        }
+        Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+     * Reads how much of the score file an index covers.
+     *
+     * @param sidecar the index file
+     * @return covered length, or -1 if the index is missing or not an index
+     */
+    private static long coveredLength(final Path sidecar) throws IOException
+    {
+        if (Files.notExists(sidecar) ||
+                Files.size(sidecar) < HEADER_BYTES)
+        {
+            return NO_MATCH;
+        }
+
+        try (final FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ))
+        {
+            final ByteBuffer header;
+
+            header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining())
+            {
+                if (channel.read(header) == END_OF_STREAM)
+                {
+                    return NO_MATCH;
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC ||
+                    header.getInt() != VERSION ||
+                    (channel.size() - HEADER_BYTES) % Long.BYTES != NONE)
+            {
+                return NO_MATCH;
+            }
+            return header.getLong();
+        }
+    }
+}
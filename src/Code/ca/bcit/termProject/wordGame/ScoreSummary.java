@@ -0,0 +1,462 @@
+package ca.bcit.termProject.wordGame;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Lifetime and per-day totals for a word game score file, kept in a small
+ * binary sidecar so they never require re-reading the history.
+ *
+ * <p>Tracked Values:
+ * <ul>
+ *   <li>Sessions, games, answer counts and points over every record</li>
+ *   <li>Best session score and when it was set</li>
+ *   <li>Sessions, points and best score for each of the last 30 days</li>
+ * </ul>
+ *
+ * <p>Sidecar Format:
+ * <table border="1">
+ *   <tr><th>Field</th><th>Type</th></tr>
+ *   <tr><td>Magic, Version</td><td>int, int</td></tr>
+ *   <tr><td>Covered Score File Length</td><td>long</td></tr>
+ *   <tr><td>Sessions, Games, First, Second, Incorrect, Points</td><td>long each</td></tr>
+ *   <tr><td>Best Score, Best Date and Time</td><td>int, epoch second long</td></tr>
+ *   <tr><td>Days</td><td>30 of: epoch day long, sessions int, points long, best int</td></tr>
+ * </table>
+ *
+ * <p>The sidecar is replaced in one step after every append, and rebuilt by
+ * streaming the score file if it does not cover the whole file. Every query
+ * is O(1).
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class ScoreSummary
+{
+    /**
+     * Number of most recent days with their own totals.
+     */
+    public static final int DAYS_TRACKED = 30;
+
+    private static final int MAGIC              = 0x57535355;
+    private static final int VERSION            = 1;
+    private static final int NONE               = 0;
+    private static final long NO_DAY            = Long.MIN_VALUE;
+    private static final String SIDECAR_SUFFIX  = ".sum";
+    private static final String TEMP_SUFFIX     = ".tmp";
+
+    private final long[] dayEpoch;
+    private final int[] daySessions;
+    private final long[] dayPoints;
+    private final int[] dayBest;
+    private long coveredLength;
+    private long sessions;
+    private long gamesPlayed;
+    private long firstTryAns;
+    private long secondTryAns;
+    private long incorrectAns;
+    private long totalPoints;
+    private int bestScore;
+    private LocalDateTime bestDateTime;
+
+    /*
+     * Constructs an empty summary covering nothing.
+     */
+    private ScoreSummary()
+    {
+        this.dayEpoch = new long[DAYS_TRACKED];
+        this.daySessions = new int[DAYS_TRACKED];
+        this.dayPoints = new long[DAYS_TRACKED];
+        this.dayBest = new int[DAYS_TRACKED];
+        Arrays.fill(this.dayEpoch, NO_DAY);
+    }
+
+    /**
+     * Gets the summary sidecar path for a score file.
+     *
+     * @param scores The score file
+     * @return the score file's path with ".sum" appended
+     */
+    public static Path sidecarFor(final Path scores)
+    {
+        return Paths.get(scores.toString() + SIDECAR_SUFFIX);
+    }
+
+    /**
+     * Loads the summary for a score file, rebuilding it first if it is
+     * missing or does not cover the whole file.
+     *
+     * @param fileName The score file
+     * @return the current summary; empty if the score file does not exist
+     * @throws IOException if the summary cannot be read or rebuilt
+     */
+    public static synchronized ScoreSummary load(final String fileName) throws IOException
+    {
+        final Path scores;
+        final ScoreSummary summary;
+
+        scores = Paths.get(fileName);
+        if (Files.notExists(scores))
+        {
+            return new ScoreSummary();
+        }
+
+        summary = read(sidecarFor(scores));
+        if (summary != null &&
+                summary.coveredLength == Files.size(scores))
+        {
+            return summary;
+        }
+        return rebuild(scores);
+    }
+
+    /**
+     * Adds records just appended to a score file and replaces the sidecar.
+     *
+     * <p>If the sidecar did not cover the file exactly up to sizeBefore, it
+     * is rebuilt from the file instead.
+     *
+     * @param scores The score file
+     * @param sizeBefore The score file's length before the append
+     * @param appended The appended records, in order
+     * @param sizeAfter The score file's length after the append
+     * @throws IOException if the sidecar cannot be written
+     */
+    static synchronized void recordAppend(final Path scores,
+                                          final long sizeBefore,
+                                          final List<Score> appended,
+                                          final long sizeAfter) throws IOException
+    {
+        final ScoreSummary summary;
+
+        summary = read(sidecarFor(scores));
+        if (summary == null ||
+                summary.coveredLength != sizeBefore)
+        {
+            rebuild(scores);
+            return;
+        }
+
+        for (final Score score : appended)
+        {
+            summary.add(score);
+        }
+        summary.coveredLength = sizeAfter;
+        summary.write(sidecarFor(scores));
+    }
+
+    /**
+     * Gets the number of sessions recorded.
+     *
+     * @return sessions
+     */
+    public long getSessions()
+    {
+        return sessions;
+    }
+
+    /**
+     * Gets the number of games played over every session.
+     *
+     * @return games played
+     */
+    public long getGamesPlayed()
+    {
+        return gamesPlayed;
+    }
+
+    /**
+     * Gets the number of questions solved on the first try.
+     *
+     * @return first try answers
+     */
+    public long getCorrectFirstAttempts()
+    {
+        return firstTryAns;
+    }
+
+    /**
+     * Gets the number of questions solved on the second try.
+     *
+     * @return second try answers
+     */
+    public long getCorrectSecondAttempts()
+    {
+        return secondTryAns;
+    }
+
+    /**
+     * Gets the number of questions not solved.
+     *
+     * @return incorrect answers
+     */
+    public long getIncorrectAttempts()
+    {
+        return incorrectAns;
+    }
+
+    /**
+     * Gets the points scored over every session.
+     *
+     * @return total points
+     */
+    public long getTotalPoints()
+    {
+        return totalPoints;
+    }
+
+    /**
+     * Gets the best single session score.
+     *
+     * @return best score, or 0 if there are no sessions
+     */
+    public int getBestScore()
+    {
+        return bestScore;
+    }
+
+    /**
+     * Gets when the best score was set.
+     *
+     * @return date and time of the best score, or null if there are no sessions
+     */
+    public LocalDateTime getBestDateTime()
+    {
+        return bestDateTime;
+    }
+
+    /**
+     * Gets the mean points per game played.
+     *
+     * @return average points, or 0 if no games were played
+     */
+    public double getAveragePointsPerGame()
+    {
+        return gamesPlayed == NONE ? NONE : (double) totalPoints / gamesPlayed;
+    }
+
+    /**
+     * Gets the number of sessions recorded on a day.
+     *
+     * @param date The day, within the last {@value #DAYS_TRACKED} days recorded
+     * @return sessions that day, or 0 if none or the day is no longer tracked
+     */
+    public int getDaySessions(final LocalDate date)
+    {
+        final int slot;
+
+        slot = slot(date.toEpochDay());
+        return dayEpoch[slot] == date.toEpochDay() ? daySessions[slot] : NONE;
+    }
+
+    /**
+     * Gets the points scored on a day.
+     *
+     * @param date The day, within the last {@value #DAYS_TRACKED} days recorded
+     * @return points that day, or 0 if none or the day is no longer tracked
+     */
+    public long getDayPoints(final LocalDate date)
+    {
+        final int slot;
+
+        slot = slot(date.toEpochDay());
+        return dayEpoch[slot] == date.toEpochDay() ? dayPoints[slot] : NONE;
+    }
+
+    /**
+     * Gets the best session score on a day.
+     *
+     * @param date The day, within the last {@value #DAYS_TRACKED} days recorded
+     * @return best score that day, or 0 if none or the day is no longer tracked
+     */
+    public int getDayBest(final LocalDate date)
+    {
+        final int slot;
+
+        slot = slot(date.toEpochDay());
+        return dayEpoch[slot] == date.toEpochDay() ? dayBest[slot] : NONE;
+    }
+
+    /*
+     * Adds one record to every total.
+     *
+     * @param score the record
+     */
+    private void add(final Score score)
+    {
+        final long epochDay;
+        final int slot;
+
+        sessions++;
+        gamesPlayed += score.getGamesPlayed();
+        firstTryAns += score.getCorrectFirstAttempts();
+        secondTryAns += score.getCorrectSecondAttempts();
+        incorrectAns += score.getIncorrectAttempts();
+        totalPoints += score.getScore();
+        if (bestDateTime == null ||
+                score.getScore() > bestScore)
+        {
+            bestScore = score.getScore();
+            bestDateTime = score.getDateTime();
+        }
+
+        epochDay = score.getDateTime().toLocalDate().toEpochDay();
+        slot = slot(epochDay);
+        if (dayEpoch[slot] > epochDay)
+        {
+            // Older than the day already in this slot; outside the window
+            return;
+        }
+        if (dayEpoch[slot] != epochDay)
+        {
+            dayEpoch[slot] = epochDay;
+            daySessions[slot] = NONE;
+            dayPoints[slot] = NONE;
+            dayBest[slot] = NONE;
+        }
+        daySessions[slot]++;
+        dayPoints[slot] += score.getScore();
+        dayBest[slot] = Math.max(dayBest[slot], score.getScore());
+    }
+
+    /*
+     * Maps an epoch day to its slot in the daily ring.
+     *
+     * @param epochDay the day
+     * @return slot index
+     */
+    private static int slot(final long epochDay)
+    {
+        return (int) Math.floorMod(epochDay, (long) DAYS_TRACKED);
+    }
+
+    /*
+     * Rebuilds the summary by streaming the whole score file, then saves it.
+     *
+     * @param scores the score file
+     * @return the rebuilt summary
+     */
+    private static ScoreSummary rebuild(final Path scores) throws IOException
+    {
+        final ScoreSummary summary;
+
+        summary = new ScoreSummary();
+        summary.coveredLength = Files.size(scores);
+
+        try (final Stream<Score> records = Score.streamScoresFromFile(scores.toString()))
+        {
+            records.forEach(summary::add);
+        } catch (final UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+
+        if (summary.coveredLength == Files.size(scores))
+        {
+            summary.write(sidecarFor(scores));
+        }
+        return summary;
+    }
+
+    /*
+     * Reads a summary sidecar.
+     *
+     * @param sidecar the sidecar file
+     * @return the stored summary, or null if it is missing or not a summary
+     */
+    private static ScoreSummary read(final Path sidecar) throws IOException
+    {
+        if (Files.notExists(sidecar))
+        {
+            return null;
+        }
+
+        try (final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(sidecar))))
+        {
+            final ScoreSummary summary;
+            final long bestEpochSecond;
+
+            if (in.readInt() != MAGIC ||
+                    in.readInt() != VERSION)
+            {
+                return null;
+            }
+
+            summary = new ScoreSummary();
+            summary.coveredLength = in.readLong();
+            summary.sessions = in.readLong();
+            summary.gamesPlayed = in.readLong();
+            summary.firstTryAns = in.readLong();
+            summary.secondTryAns = in.readLong();
+            summary.incorrectAns = in.readLong();
+            summary.totalPoints = in.readLong();
+            summary.bestScore = in.readInt();
+            bestEpochSecond = in.readLong();
+            summary.bestDateTime = summary.sessions == NONE ? null :
+                    LocalDateTime.ofEpochSecond(bestEpochSecond, NONE, ZoneOffset.UTC);
+            for (int i = 0; i < DAYS_TRACKED; i++)
+            {
+                summary.dayEpoch[i] = in.readLong();
+                summary.daySessions[i] = in.readInt();
+                summary.dayPoints[i] = in.readLong();
+                summary.dayBest[i] = in.readInt();
+            }
+            return summary;
+        } catch (final EOFException e)
+        {
+            return null;
+        }
+    }
+
+    /*
+     * Writes the summary, replacing any previous sidecar in one step.
+     *
+     * @param sidecar the sidecar file
+     */
+    private void write(final Path sidecar) throws IOException
+    {
+        final Path temp;
+
+        temp = Files.createTempFile(sidecar.toAbsolutePath().getParent(), sidecar.getFileName().toString(), TEMP_SUFFIX);
+
+        try (final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(coveredLength);
+            out.writeLong(sessions);
+            out.writeLong(gamesPlayed);
+            out.writeLong(firstTryAns);
+            out.writeLong(secondTryAns);
+            out.writeLong(incorrectAns);
+            out.writeLong(totalPoints);
+            out.writeInt(bestScore);
+            out.writeLong(bestDateTime == null ? NONE : bestDateTime.toEpochSecond(ZoneOffset.UTC));
+            for (int i = 0; i < DAYS_TRACKED; i++)
+            {
+                out.writeLong(dayEpoch[i]);
+                out.writeInt(daySessions[i]);
+                out.writeLong(dayPoints[i]);
+                out.writeInt(dayBest[i]);
+            }
+        }
+        Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,152 @@
+package ca.bcit.termProject.wordGame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append-only store keeping many strings back to back in one byte array.
+ *
+ * <p>Storage Layout:
+ * <table border="1">
+ *   <tr><th>Part</th><th>Contents</th></tr>
+ *   <tr><td>Bytes</td><td>Every string's encoded bytes, in the order added</td></tr>
+ *   <tr><td>Ends</td><td>One int per string: where it ends, with the top bit set if it is UTF-8</td></tr>
+ * </table>
+ *
+ * <p>Encoding:
+ * <ul>
+ *   <li>Strings whose characters all fit in one byte are stored as Latin-1</li>
+ *   <li>Any other string is stored as UTF-8</li>
+ *   <li>A string is found by its id, the order it was added in, starting at 0</li>
+ * </ul>
+ *
+ * <p>Each string costs its bytes plus one int, instead of a String object,
+ * its backing array and the reference to it. Strings are decoded on every
+ * {@link #get(int)}.
+ *
+ * <p>Not thread-safe while strings are being added. Once filled and
+ * published, for example through a final field, any number of threads may read it.
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class TextArena
+{
+    private static final int UTF8_FLAG         = Integer.MIN_VALUE;
+    private static final int END_MASK          = Integer.MAX_VALUE;
+    private static final int LATIN1_MAX        = 0xFF;
+    private static final int GROWTH            = 2;
+    private static final int MIN_CAPACITY      = 1;
+    private static final int FIRST             = 0;
+    private static final int PREVIOUS          = 1;
+
+    private byte[] bytes;
+    private int[] ends;
+    private int byteCount;
+    private int stringCount;
+
+    /**
+     * Constructs an empty arena sized for the expected contents.
+     *
+     * @param expectedStrings Roughly how many strings will be added
+     * @param expectedBytes Roughly how many bytes they will take
+     */
+    public TextArena(final int expectedStrings,
+                     final int expectedBytes)
+    {
+        this.bytes = new byte[Math.max(MIN_CAPACITY, expectedBytes)];
+        this.ends = new int[Math.max(MIN_CAPACITY, expectedStrings)];
+        this.byteCount = FIRST;
+        this.stringCount = FIRST;
+    }
+
+    /**
+     * Adds a string to the end of the arena.
+     *
+     * @param text The string to store
+     * @return the string's id
+     */
+    public int add(final String text)
+    {
+        final boolean latin1;
+        final byte[] encoded;
+
+        if (text == null)
+        {
+            throw new IllegalArgumentException("Text cannot be null");
+        }
+
+        latin1 = text.chars().allMatch(c -> c <= LATIN1_MAX);
+        encoded = text.getBytes(latin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+
+        if (encoded.length > END_MASK - byteCount)
+        {
+            throw new IllegalStateException("Text arena is full");
+        }
+        if (byteCount + encoded.length > bytes.length)
+        {
+            bytes = Arrays.copyOf(bytes, Math.max(byteCount + encoded.length, bytes.length * GROWTH));
+        }
+        if (stringCount == ends.length)
+        {
+            ends = Arrays.copyOf(ends, Math.max(MIN_CAPACITY, ends.length * GROWTH));
+        }
+
+        System.arraycopy(encoded, FIRST, bytes, byteCount, encoded.length);
+        byteCount += encoded.length;
+        ends[stringCount] = latin1 ? byteCount : byteCount | UTF8_FLAG;
+        return stringCount++;
+    }
+
+    /**
+     * Decodes a stored string.
+     *
+     * @param id The string's id
+     * @return the string
+     */
+    public String get(final int id)
+    {
+        final int start;
+        final int end;
+
+        if (id < FIRST ||
+                id >= stringCount)
+        {
+            throw new IllegalArgumentException("Invalid string id: " + id);
+        }
+
+        start = id == FIRST ? FIRST : ends[id - PREVIOUS] & END_MASK;
+        end = ends[id] & END_MASK;
+        return new String(bytes, start, end - start,
+                (ends[id] & UTF8_FLAG) == FIRST ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the number of strings stored.
+     *
+     * @return string count
+     */
+    public int size()
+    {
+        return stringCount;
+    }
+
+    /**
+     * Gets the number of text bytes stored, excluding spare capacity.
+     *
+     * @return byte count
+     */
+    public int getByteCount()
+    {
+        return byteCount;
+    }
+
+    /**
+     * Releases spare capacity once no more strings will be added.
+     */
+    public void trim()
+    {
+        bytes = Arrays.copyOf(bytes, byteCount);
+        ends = Arrays.copyOf(ends, stringCount);
+    }
+}
@@ -1,18 +1,27 @@
 package ca.bcit.termProject.wordGame;
 
 import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 /**
- * A console-based geographical trivia game that tests knowledge of countries, capitals, and facts.
+ * A text-based geographical trivia game that tests knowledge of countries, capitals, and facts.
  *
  * <p>The game features:
  * <ul>
  *   <li>10 randomly generated questions per session</li>
- *   <li>3 different question types (country by capital, capital by country, country by fact)</li>
- *   <li>Multiple-choice format with 3 options</li>
+ *   <li>4 different question types (country by capital, capital by country, country by fact, country by keyword)</li>
+ *   <li>A fact search between games</li>
+ *   <li>Multiple-choice format with 3 options, or a typed-answer mode</li>
  *   <li>Two attempts per question with decreasing points</li>
  *   <li>Persistent score tracking across sessions</li>
  * </ul>
@@ -22,16 +31,19 @@ import java.util.Scanner;
  *   <tr><th>Feature</th><th>Details</th></tr>
  *   <tr><td>Points</td><td>2 for first try, 1 for second try</td></tr>
  *   <tr><td>Questions</td><td>10 per game (random mix of types)</td></tr>
- *   <tr><td>Answers</td><td>3 options per question (1 correct)</td></tr>
+ *   <tr><td>Answers</td><td>3 options per question (1 correct), or the name typed in full</td></tr>
+ *   <tr><td>Typed Names</td><td>Accents, case and small typos forgiven, see {@link AnswerIndex}</td></tr>
  *   <tr><td>Facts</td><td>3 per country (randomly selected)</td></tr>
  * </table>
  *
  * <p>Technical Implementation:
  * <ul>
- *   <li>Uses {@link World} class for country data</li>
+ *   <li>Uses {@link World} class for country data, loaded in the background</li>
+ *   <li>Keeps game state in a {@link WordGameSession}, which builds each round up front</li>
+ *   <li>Picks the console player's questions with a {@link ReviewScheduler} saved between sessions</li>
  *   <li>Persists scores via {@link Score} class</li>
- *   <li>Console-based I/O with input validation</li>
- *   <li>Immutable game state during sessions</li>
+ *   <li>Text I/O with input validation, over the console or any stream pair</li>
+ *   <li>One WordGame per player, so many can run at once (see {@link WordGameServer})</li>
  * </ul>
  *
  * @author Conner Ponton
@@ -39,40 +51,67 @@ import java.util.Scanner;
  */
 public final class WordGame
 {
+    /**
+     * File that finished sessions' scores are appended to.
+     */
+    static final String SCORE_FILE = "src/res/test.txt";
+
+    /**
+     * File holding the console player's review schedule.
+     */
+    static final String REVIEW_FILE = "src/res/review.bin";
+
     // Constants
     private static final int INITIAL_STAT       = 0;
     private static final int FIRST_TRY_PTS      = 2;
     private static final int SECOND_TRY_PTS     = 1;
-    private static final int TOTAL_ATTEMPTS     = 2;
-    private static final int TOTAL_QUESTIONS    = 10;
-    private static final int TOTAL_QUESTION_TYPES = 3;
-    private static final int TOTAL_ANSWERS      = 3;
-    private static final int TOTAL_FACTS        = 3;
-    private static final int FIRST_ANS          = 0;
-    private static final int SECOND_ANS         = 1;
-    private static final int THIRD_ANS          = 2;
-    private static final int FIRST_Q            = 0;
-    private static final int SECOND_Q           = 1;
-    private static final int THIRD_Q            = 2;
     private static final int ANS_INDEX_SHIFT    = 1;
+    private static final String AVERAGE_FORMAT  = "%.1f";
+    private static final int MAX_SEARCH_RESULTS = 10;
 
-    private static final World COUNTRIES        = new World();
     private static final Scanner INPUT_SCANNER  = new Scanner(System.in);
 
-    // Game statistics
-    private int gamesPlayed;
-    private int firstTryAns;
-    private int secondTryAns;
-    private int incorrectAns;
-    private int currentIndex;
+    private static CompletableFuture<World> countriesLoading;
+
+    private final Scanner input;
+    private final PrintStream output;
+    private final WordGameSession session;
 
-    private WordGame()
+    private WordGame(final Scanner input,
+                     final PrintStream output,
+                     final WordGameSession session)
+    {
+        this.input = input;
+        this.output = output;
+        this.session = session;
+    }
+
+    /**
+     * Starts loading the country data in the background, if it has not
+     * started already. Call early, for example while a menu waits for input,
+     * so the first game does not wait for the data files.
+     */
+    public static void preloadCountries()
+    {
+        countriesLoading();
+    }
+
+    /*
+     * Gets the country data load, starting it if needed.
+     *
+     * @return the shared loading future
+     */
+    private static synchronized CompletableFuture<World> countriesLoading()
     {
-        resetStats();
+        if (countriesLoading == null)
+        {
+            countriesLoading = World.loadAsync();
+        }
+        return countriesLoading;
     }
 
     /**
-     * Starts the game's main menu interface.
+     * Starts the game's main menu interface on the console.
      *
      * <p>Handles:
      * <ul>
@@ -80,124 +119,247 @@ public final class WordGame
      *   <li>Game session initialization</li>
      *   <li>Player input validation</li>
      *   <li>Score persistence</li>
+     *   <li>Loading and saving the player's review schedule</li>
      * </ul>
      */
     public static void wordGameMenu()
     {
-        final WordGame session;
+        final World world;
+        final Path reviewFile;
+        final long seed;
+        final WordGameSession session;
+        ReviewScheduler scheduler;
+
+        world = countriesLoading().join();
+        reviewFile = Paths.get(REVIEW_FILE);
+        seed = ThreadLocalRandom.current().nextLong();
+
+        try
+        {
+            scheduler = ReviewScheduler.load(reviewFile, world, Instant.now(), seed);
+        } catch (final IOException e)
+        {
+            System.out.println("Review schedule could not be read; questions will be random.");
+            scheduler = null;
+        }
+
+        session = new WordGameSession(world, seed, scheduler);
+        play(INPUT_SCANNER, System.out, session, score ->
+        {
+            try
+            {
+                Score.appendScoreToFile(score, SCORE_FILE);
+            } catch (final IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        if (scheduler != null)
+        {
+            try
+            {
+                scheduler.save(reviewFile);
+            } catch (final IOException e)
+            {
+                System.out.println("Failed to save review schedule: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs the game menu for one player over the given streams.
+     *
+     * <p>Returns when the player chooses not to play again, after the
+     * session's score has been passed to saveScore. Throws
+     * {@link java.util.NoSuchElementException} if the input ends first, in
+     * which case nothing is saved.
+     *
+     * @param input Where the player's answers are read from
+     * @param output Where prompts and results are written
+     * @param session The player's game state
+     * @param saveScore Receives the session's score when the player stops
+     */
+    public static void play(final Scanner input,
+                            final PrintStream output,
+                            final WordGameSession session,
+                            final Consumer<Score> saveScore)
+    {
+        final WordGame game;
         boolean playing;
 
         playing = true;
-        session = new WordGame();
+        game = new WordGame(input, output, session);
 
-        displayWelcomeMessage();
+        game.displayWelcomeMessage();
 
         while (playing)
         {
             final String playerInput;
 
-            playerInput = askToPlay(session.gamesPlayed == INITIAL_STAT);
+            playerInput = game.askToPlay(session.getGamesPlayed() == INITIAL_STAT);
 
-            if (playerInput.equals("yes"))
+            if (playerInput.equals("yes") ||
+                    playerInput.equals("typed"))
             {
-                session.playWordGame();
+                game.playWordGame(playerInput.equals("typed"));
+            } else if (playerInput.equals("search"))
+            {
+                game.searchFacts();
             } else
 
             {
-                endGameSession(session);
+                game.endGameSession(saveScore);
                 playing = false;
             }
         }
     }
 
-    /**
+    /*
      * Displays the welcome message with game instructions.
      */
-    private static void displayWelcomeMessage()
+    private void displayWelcomeMessage()
     {
         final StringBuilder intro;
 
         intro = new StringBuilder();
 
         intro.append("Welcome to WordGame! The Geographical Trivia game!\n");
-        intro.append("In this game you need to answer ").append(TOTAL_QUESTIONS).append(" different questions\n");
+        intro.append("In this game you need to answer ")
+                .append(WordGameSession.QUESTIONS_PER_ROUND).append(" different questions\n");
         intro.append("You will have TWO attempts at each question! \n");
         intro.append("First Try gets you ").append(FIRST_TRY_PTS).append(" points\n");
         intro.append("Second Try gets you ").append(SECOND_TRY_PTS).append("\n");
         intro.append("After that you get nothing!\n");
+        intro.append("Answer \"typed\" instead of \"yes\" to type names rather than pick numbers.\n");
+        intro.append("Answer \"search\" to look up which countries' facts mention a word.\n");
 
-        System.out.println(intro);
+        output.println(intro);
     }
 
     /*
      * Asks the player if they want to play (again).
      *
      * @param firstTime Whether this is the first time asking
-     * @return The player's response ("yes" or "no")
+     * @return The player's response ("yes", "typed", "search" or "no")
      */
-    private static String askToPlay(final boolean firstTime)
+    private String askToPlay(final boolean firstTime)
     {
         final String prompt;
         prompt = "Would you like to play word game" + (firstTime ? "?" : " again?");
-        return getValidInput(prompt, new String[]{"yes", "no"});
+        return getValidInput(prompt, new String[]{"yes", "typed", "search", "no"});
     }
 
     /*
-     * Ends the game session and displays results.
+     * Ends the game session, saves and displays results.
      *
-     * @param session The current game session
+     * @param saveScore Receives the session's score
      */
-    private static void endGameSession(final WordGame session)
+    private void endGameSession(final Consumer<Score> saveScore)
     {
         final Score sessionResults;
 
-        sessionResults = new Score(
-                LocalDateTime.now(),
-                session.gamesPlayed,
-                session.firstTryAns,
-                session.secondTryAns,
-                session.incorrectAns
-        );
+        sessionResults = session.toScore(LocalDateTime.now());
+        saveScore.accept(sessionResults);
+
+        output.println("Thanks for playing!\n");
+        output.println(sessionResults);
+        displayLifetimeSummary();
+    }
+
+    /*
+     * Displays lifetime and today's totals from the score summary.
+     */
+    private void displayLifetimeSummary()
+    {
+        final ScoreSummary summary;
+        final LocalDate today;
+        final StringBuilder text;
 
         try
         {
-            Score.appendScoreToFile(sessionResults, "src/res/test.txt");
+            summary = ScoreSummary.load(SCORE_FILE);
         } catch (final IOException e)
         {
-            throw new RuntimeException(e);
+            output.println("Lifetime statistics are unavailable.");
+            return;
+        }
+
+        if (summary.getSessions() == INITIAL_STAT)
+        {
+            return;
         }
 
-        System.out.println("Thanks for playing!\n");
-        System.out.println(sessionResults);
+        today = LocalDate.now();
+        text = new StringBuilder();
+
+        text.append("Lifetime Sessions: ").append(summary.getSessions()).append("\n");
+        text.append("Lifetime Games Played: ").append(summary.getGamesPlayed()).append("\n");
+        text.append("Lifetime Points: ").append(summary.getTotalPoints()).append("\n");
+        text.append("Average Points Per Game: ")
+                .append(String.format(AVERAGE_FORMAT, summary.getAveragePointsPerGame())).append("\n");
+        text.append("Best Score: ").append(summary.getBestScore())
+                .append(" points on ").append(summary.getBestDateTime().toLocalDate()).append("\n");
+        text.append("Today: ").append(summary.getDaySessions(today)).append(" sessions, ")
+                .append(summary.getDayPoints(today)).append(" points, best ")
+                .append(summary.getDayBest(today)).append("\n");
+
+        output.println(text);
     }
 
     /*
-     * Executes a complete game session with 10 questions.
+     * Asks for search words and lists the facts containing all of them.
      */
-    private void playWordGame()
+    private void searchFacts()
     {
-        this.gamesPlayed++;
+        final FactIndex facts;
+        final int[] matches;
+        final StringBuilder text;
 
-        for (int i = 0; i < TOTAL_QUESTIONS; i++)
+        output.println("Which words should the facts mention?");
+        facts = session.getWorld().getFactIndex();
+        matches = facts.search(input.nextLine());
+        text = new StringBuilder();
+
+        if (matches.length == INITIAL_STAT)
         {
-            switch (generateRandomQuestionType())
-            {
-                case FIRST_Q -> identifyCountryByCapital();
-                case SECOND_Q -> identifyCapitalByCountry();
-                case THIRD_Q -> identifyCountryByFact();
-                default -> throw new IllegalStateException("Invalid randomizer value");
-            }
+            output.println("No facts mention that.\n");
+            return;
+        }
+
+        for (int i = 0; i < matches.length && i < MAX_SEARCH_RESULTS; i++)
+        {
+            text.append(facts.getCountry(matches[i]).getName()).append(": ")
+                    .append(facts.getFact(matches[i])).append("\n");
         }
+        if (matches.length > MAX_SEARCH_RESULTS)
+        {
+            text.append("...and ").append(matches.length - MAX_SEARCH_RESULTS).append(" more\n");
+        }
+
+        output.println(text);
     }
 
     /*
-     * Generates a random question type index.
+     * Executes a complete game session with 10 questions, all built before
+     * the first is asked.
      *
-     * @return A random number between 0 and TOTAL_QUESTION_TYPES-1
+     * @param typed Whether answers are typed names rather than choice numbers
      */
-    private int generateRandomQuestionType()
+    private void playWordGame(final boolean typed)
     {
-        return new Random().nextInt(TOTAL_QUESTION_TYPES);
+        session.startRound();
+
+        while (session.isRoundActive())
+        {
+            if (typed)
+            {
+                askTypedQuestion(session.getCurrentQuestion());
+            } else
+            {
+                askQuestion(session.getCurrentQuestion());
+            }
+        }
     }
 
     /*
@@ -207,230 +369,143 @@ public final class WordGame
      * @param validOptions The array of valid options
      * @return The valid input from the player
      */
-    private static String getValidInput(final String prompt,
-                                        final String[] validOptions)
+    private String getValidInput(final String prompt,
+                                 final String[] validOptions)
     {
         while (true)
         {
-            System.out.println(prompt);
-            final String input;
+            output.println(prompt);
+            final String playerInput;
 
-            input = INPUT_SCANNER.nextLine().toLowerCase().trim();
+            playerInput = input.nextLine().toLowerCase().trim();
             for (final String option : validOptions)
             {
-                if (input.equals(option))
+                if (playerInput.equals(option))
                 {
-                    return input;
+                    return playerInput;
                 }
             }
-            System.out.println("Invalid input! Please try again.");
+            output.println("Invalid input! Please try again.");
         }
     }
 
     /*
-     * Handles the player's guesses for a question.
+     * Formats a question and its numbered choices for display.
      *
-     * @param guesses The current number of guesses
-     * @param playerGuess The player's guess
-     * @param correctIndex The index of the correct answer
-     * @param correctAns The correct answer text
-     * @return The updated number of guesses
+     * @param question The question to show
+     * @return The formatted question text
      */
-    private int handleQuestionGuesses(final int guesses,
-                                      final String playerGuess,
-                                      final int correctIndex,
-                                      final String correctAns)
+    private static String formatQuestion(final Question question)
     {
-        if (playerGuess.equals(String.valueOf(correctIndex + ANS_INDEX_SHIFT)))
-        {
-            handleCorrectGuess(guesses);
-            return TOTAL_ATTEMPTS; // Exit loop
-        } else
-        {
-            return handleIncorrectGuess(guesses, correctAns);
-        }
-    }
+        final StringBuilder text;
 
-    /*
-     * Handles a correct guess.
-     *
-     * @param guesses The current number of guesses
-     */
-    private void handleCorrectGuess(final int guesses)
-    {
-        switch (guesses)
+        text = new StringBuilder("\n").append(question.getText());
+        for (int i = 0; i < question.getChoiceCount(); i++)
         {
-            case FIRST_ANS ->
-            {
-                System.out.println("Correct on the first try!");
-                this.firstTryAns++;
-            }
-            case SECOND_ANS ->
-            {
-                System.out.println("Correct on the second try!");
-                this.secondTryAns++;
-            }
-            default -> throw new IllegalStateException("Invalid guesses for correct gameplay");
+            text.append("\n").append(i + ANS_INDEX_SHIFT).append("-->").append(question.getChoice(i));
         }
+        text.append("\n\ntype in the corresponding number next to the ")
+                .append(question.getType().getChoiceNoun())
+                .append("!");
+        return text.toString();
     }
 
     /*
-     * Handles an incorrect guess.
+     * Lists the inputs that select each choice: "1", "2" and so on.
      *
-     * @param guesses The current number of guesses
-     * @param correctAns The correct answer text
-     * @return The updated number of guesses
+     * @param question The question being answered
+     * @return The valid inputs
      */
-    private int handleIncorrectGuess(final int guesses,
-                                     final String correctAns)
+    private static String[] choiceInputs(final Question question)
     {
-        int currGuesses;
-        currGuesses = guesses;
-
-        System.out.print("Incorrect! ");
-        System.out.println((guesses == FIRST_ANS) ? "try again!\n" : "The answer was " + correctAns);
+        final String[] inputs;
 
-        currGuesses++;
-        if (currGuesses == TOTAL_ATTEMPTS)
+        inputs = new String[question.getChoiceCount()];
+        for (int i = 0; i < inputs.length; i++)
         {
-            this.incorrectAns++;
+            inputs[i] = String.valueOf(i + ANS_INDEX_SHIFT);
         }
-        return currGuesses;
+        return inputs;
     }
 
     /*
-     * Identifies a country by its capital city.
-     */
-    private void identifyCountryByCapital()
-    {
-        final Country[] countries;
-        final Country correctCountry;
-        final String question;
-
-        countries = prepareQuestionCountries();
-        correctCountry = countries[currentIndex];
-
-        question = "\nWhich country does the capital city of " +
-                correctCountry.getCapitalCityName() +
-                displayCountryChoices(countries);
-
-        askQuestion(question, correctCountry.getName());
-    }
-
-    /*
-     * Identifies a capital city by its country.
-     */
-    private void identifyCapitalByCountry()
-    {
-        final Country[] countries;
-        final Country correctCountry;
-        final String question;
-
-        countries = prepareQuestionCountries();
-        correctCountry = countries[currentIndex];
-
-        question = "\nWhich is the capital city of " +
-                correctCountry.getName() +
-                "\n1-->" + countries[FIRST_ANS].getCapitalCityName() +
-                "\n2-->" + countries[SECOND_ANS].getCapitalCityName() +
-                "\n3-->" + countries[THIRD_ANS].getCapitalCityName() +
-                "\n\ntype in the corresponding number next to the capital!";
-
-        askQuestion(question, correctCountry.getCapitalCityName());
-    }
-
-    /*
-     * Identifies a country by one of its facts.
-     */
-    private void identifyCountryByFact()
-    {
-        final Country[] countries;
-        final Country correctCountry;
-        final String question;
-
-        countries = prepareQuestionCountries();
-        correctCountry = countries[currentIndex];
-
-        question = "\nWhich country does this fact coincide with?\n" +
-                correctCountry.getFact(new Random().nextInt(TOTAL_FACTS)) +
-                displayCountryChoices(countries);
-
-        askQuestion(question, correctCountry.getName());
-    }
-
-    /*
-     * Prepares an array of countries for a question, with one correct answer.
+     * Asks a question until the session moves past it, reporting each outcome.
      *
-     * @return Array of countries with one correct answer
+     * @param question The question to ask
      */
-    private Country[] prepareQuestionCountries()
+    private void askQuestion(final Question question)
     {
-        final Country[] countries;
-        final Country correctCountry;
+        final String text;
+        final String[] inputs;
+        WordGameSession.Outcome outcome;
 
-        currentIndex = new Random().nextInt(TOTAL_ANSWERS);
-        countries = new Country[TOTAL_ANSWERS];
-        correctCountry = COUNTRIES.selectRandCountry();
+        text = formatQuestion(question);
+        inputs = choiceInputs(question);
 
-        countries[currentIndex] = correctCountry;
-
-        for (int i = 0; i < countries.length; i++)
+        do
         {
-            if (countries[i] == null)
-            {
-                do
-                {
-                    countries[i] = COUNTRIES.selectRandCountry();
-                } while (countries[i].equals(correctCountry));
-            }
-        }
-        return countries;
-    }
+            final String playerInput;
 
-    /*
-     * Displays the country choices for a question.
-     *
-     * @param countries The array of countries to display
-     * @return The formatted choices string
-     */
-    private static String displayCountryChoices(final Country[] countries)
-    {
-        return "\n1-->" + countries[FIRST_ANS].getName() +
-                "\n2-->" + countries[SECOND_ANS].getName() +
-                "\n3-->" + countries[THIRD_ANS].getName() +
-                "\n\ntype in the corresponding number next to the country!";
+            playerInput = getValidInput(text, inputs);
+            outcome = session.answer(Integer.parseInt(playerInput) - ANS_INDEX_SHIFT);
+            reportOutcome(question, outcome);
+        } while (outcome == WordGameSession.Outcome.TRY_AGAIN);
     }
 
     /*
-     * Asks a question and handles the player's response.
+     * Asks a question without listing its choices, reading typed names
+     * until the session moves past it. Names that match nothing are asked
+     * again without costing an attempt.
      *
      * @param question The question to ask
-     * @param correctAnswer The correct answer text
      */
-    private void askQuestion(final String question,
-                             final String correctAnswer)
+    private void askTypedQuestion(final Question question)
     {
-        int guesses;
+        final String text;
+        WordGameSession.Outcome outcome;
 
-        guesses = INITIAL_STAT;
+        text = "\n" + question.getText() + "\n\ntype in the " + question.getType().getChoiceNoun() + "!";
 
         do
         {
             final String playerInput;
+            final String matched;
 
-            playerInput = getValidInput(question, new String[]{"1", "2", "3"});
-            guesses = handleQuestionGuesses(guesses, playerInput, currentIndex, correctAnswer);
-        } while (guesses < TOTAL_ATTEMPTS);
+            output.println(text);
+            playerInput = input.nextLine();
+            matched = session.matchTyped(playerInput);
+
+            if (matched == null)
+            {
+                output.println("No " + question.getType().getChoiceNoun() + " by that name! Please try again.");
+                outcome = WordGameSession.Outcome.TRY_AGAIN;
+            } else
+            {
+                if (!AnswerIndex.fold(playerInput).equals(AnswerIndex.fold(matched)))
+                {
+                    output.println("Taking that as " + matched + ".");
+                }
+                outcome = session.answerTyped(matched);
+                reportOutcome(question, outcome);
+            }
+        } while (outcome == WordGameSession.Outcome.TRY_AGAIN);
     }
 
     /*
-     * Resets all game statistics to initial values.
+     * Tells the player how an answer was graded.
+     *
+     * @param question The question answered
+     * @param outcome How the answer was graded
      */
-    private void resetStats()
+    private void reportOutcome(final Question question,
+                               final WordGameSession.Outcome outcome)
     {
-        this.incorrectAns = INITIAL_STAT;
-        this.secondTryAns = INITIAL_STAT;
-        this.firstTryAns = INITIAL_STAT;
-        this.gamesPlayed = INITIAL_STAT;
+        switch (outcome)
+        {
+            case CORRECT_FIRST_TRY -> output.println("Correct on the first try!");
+            case CORRECT_SECOND_TRY -> output.println("Correct on the second try!");
+            case TRY_AGAIN -> output.println("Incorrect! try again!\n");
+            case INCORRECT -> output.println("Incorrect! The answer was " + question.getCorrectAnswer());
+        }
     }
-}
\ No newline at end of file
+}
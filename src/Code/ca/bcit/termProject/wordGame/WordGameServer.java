@@ -0,0 +1,148 @@
+package ca.bcit.termProject.wordGame;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Plain text socket server hosting one word game per connection.
+ *
+ * <p>Run with an optional port:
+ * <pre>
+ *   java -cp &lt;classes&gt; ca.bcit.termProject.wordGame.WordGameServer [port]
+ * </pre>
+ * then connect with any line-based client, such as {@code nc localhost 2522}.
+ *
+ * <p>Server Behaviour:
+ * <table border="1">
+ *   <tr><th>Resource</th><th>Sharing</th></tr>
+ *   <tr><td>{@link World}</td><td>Loaded once, read by every session</td></tr>
+ *   <tr><td>{@link WordGameSession}</td><td>One per connection</td></tr>
+ *   <tr><td>Thread</td><td>One virtual thread per connection</td></tr>
+ *   <tr><td>{@link ScoreBatchWriter}</td><td>One open file for the server; sessions wait for their group commit</td></tr>
+ * </table>
+ *
+ * <p>The dialogue is the same as the console game. A connection that closes
+ * or sits idle past the timeout before the player says "no" saves nothing.
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class WordGameServer
+{
+    /**
+     * Port used when none is given.
+     */
+    public static final int DEFAULT_PORT = 2522;
+
+    private static final int PORT_ARG           = 0;
+    private static final int IDLE_TIMEOUT_MS    = 10 * 60 * 1000;
+
+    private final World world;
+    private final ScoreBatchWriter scores;
+
+    /**
+     * Constructs a server over shared country data and score writer.
+     *
+     * @param world The countries every session asks about
+     * @param scores Where finished sessions' scores are queued
+     */
+    public WordGameServer(final World world,
+                          final ScoreBatchWriter scores)
+    {
+        this.world = world;
+        this.scores = scores;
+    }
+
+    /**
+     * Loads the countries and serves games until the process is stopped.
+     *
+     * @param args optional port number
+     * @throws IOException if the port cannot be opened
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final int port;
+        final ScoreBatchWriter scores;
+
+        port = args.length > PORT_ARG ? Integer.parseInt(args[PORT_ARG]) : DEFAULT_PORT;
+        scores = new ScoreBatchWriter(WordGame.SCORE_FILE);
+        Runtime.getRuntime().addShutdownHook(new Thread(scores::close, "word-score-drain"));
+
+        try (final ServerSocket server = new ServerSocket(port))
+        {
+            System.out.println("Word game server listening on port " + server.getLocalPort());
+            new WordGameServer(new World(), scores).serve(server);
+        }
+    }
+
+    /**
+     * Accepts connections until the server socket is closed, starting a
+     * virtual thread for each.
+     *
+     * @param server The bound server socket
+     */
+    public void serve(final ServerSocket server)
+    {
+        try (final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            while (!server.isClosed())
+            {
+                final Socket client;
+
+                try
+                {
+                    client = server.accept();
+                }
+                catch (final IOException e)
+                {
+                    if (!server.isClosed())
+                    {
+                        System.out.println("Failed to accept connection: " + e.getMessage());
+                    }
+                    continue;
+                }
+                connections.submit(() -> handle(client));
+            }
+        }
+    }
+
+    /*
+     * Plays one connection's game from welcome to goodbye.
+     *
+     * @param client the connected player
+     */
+    private void handle(final Socket client)
+    {
+        try (client;
+             final Scanner input = new Scanner(client.getInputStream(), StandardCharsets.UTF_8);
+             final PrintStream output = new PrintStream(client.getOutputStream(), true, StandardCharsets.UTF_8))
+        {
+            final WordGameSession session;
+
+            client.setSoTimeout(IDLE_TIMEOUT_MS);
+            session = new WordGameSession(world, ThreadLocalRandom.current().nextLong());
+            WordGame.play(input, output, session, score -> scores.submit(score).join());
+        }
+        catch (final NoSuchElementException e)
+        {
+            // Player disconnected or went idle mid-game
+        }
+        catch (final CompletionException e)
+        {
+            System.out.println("Failed to save score: " + e.getCause().getMessage());
+        }
+        catch (final IOException e)
+        {
+            System.out.println("Connection failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package ca.bcit.termProject.wordGame;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Game state for one word game player, with no console or network I/O.
+ *
+ * <p>Session Lifecycle:
+ * <ol>
+ *   <li>{@link #startRound()} builds a round of questions</li>
+ *   <li>{@link #getCurrentQuestion()} gives the question to present</li>
+ *   <li>{@link #answer(int)} or {@link #answerTyped(String)} grades an answer and moves on when the question is over</li>
+ *   <li>{@link #toScore(LocalDateTime)} summarises every round played</li>
+ * </ol>
+ *
+ * <p>Grading:
+ * <table border="1">
+ *   <tr><th>Outcome</th><th>Meaning</th></tr>
+ *   <tr><td>CORRECT_FIRST_TRY</td><td>Right on the first attempt; next question</td></tr>
+ *   <tr><td>CORRECT_SECOND_TRY</td><td>Right on the second attempt; next question</td></tr>
+ *   <tr><td>TRY_AGAIN</td><td>Wrong on the first attempt; same question</td></tr>
+ *   <tr><td>INCORRECT</td><td>Wrong on the second attempt; next question</td></tr>
+ * </table>
+ *
+ * <p>Questions are random unless the session has a {@link ReviewScheduler},
+ * which then picks each round's countries and question types and is told
+ * every finished question's outcome.
+ *
+ * <p>Many sessions can share one {@link World}. Each session is meant for
+ * one player and is not thread-safe.
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+public final class WordGameSession
+{
+    /**
+     * Questions asked per round.
+     */
+    public static final int QUESTIONS_PER_ROUND = 10;
+
+    private static final int INITIAL_STAT   = 0;
+    private static final int FIRST_TRY      = 0;
+    private static final int FIRST_CHOICE   = 0;
+    private static final int TOTAL_ATTEMPTS = 2;
+    private static final int NEXT           = 1;
+
+    /**
+     * Result of grading one answer.
+     */
+    public enum Outcome
+    {
+        CORRECT_FIRST_TRY,
+        CORRECT_SECOND_TRY,
+        TRY_AGAIN,
+        INCORRECT
+    }
+
+    private final World world;
+    private final QuestionGenerator questions;
+    private final AnswerIndex answers;
+    private final ReviewScheduler scheduler;
+    private List<Question> round;
+    private int[] roundItems;
+    private int questionIndex;
+    private int attempts;
+    private int gamesPlayed;
+    private int firstTryAns;
+    private int secondTryAns;
+    private int incorrectAns;
+
+    /**
+     * Constructs a session with no rounds played.
+     *
+     * @param world The countries to ask about
+     * @param seed Seed for this session's questions
+     */
+    public WordGameSession(final World world,
+                           final long seed)
+    {
+        this(world, seed, null);
+    }
+
+    /**
+     * Constructs a session with no rounds played whose questions are chosen
+     * by a player's review schedule.
+     *
+     * @param world The countries to ask about
+     * @param seed Seed for this session's choices and facts
+     * @param scheduler The player's schedule, or null for random questions
+     */
+    public WordGameSession(final World world,
+                           final long seed,
+                           final ReviewScheduler scheduler)
+    {
+        this.world = world;
+        this.questions = new QuestionGenerator(world, seed);
+        this.answers = world.getAnswerIndex();
+        this.scheduler = scheduler;
+        this.round = List.of();
+        this.roundItems = null;
+        this.questionIndex = INITIAL_STAT;
+        this.attempts = INITIAL_STAT;
+        this.gamesPlayed = INITIAL_STAT;
+        this.firstTryAns = INITIAL_STAT;
+        this.secondTryAns = INITIAL_STAT;
+        this.incorrectAns = INITIAL_STAT;
+    }
+
+    /**
+     * Builds the next round of questions and counts one more game played.
+     */
+    public void startRound()
+    {
+        if (isRoundActive())
+        {
+            throw new IllegalStateException("A round is already in progress");
+        }
+        if (scheduler == null)
+        {
+            round = questions.nextRound(QUESTIONS_PER_ROUND);
+        }
+        else
+        {
+            final Question[] scheduled;
+
+            roundItems = scheduler.nextItems(QUESTIONS_PER_ROUND);
+            scheduled = new Question[roundItems.length];
+            for (int i = 0; i < roundItems.length; i++)
+            {
+                scheduled[i] = questions.next(world.getCountry(ReviewScheduler.countryOf(roundItems[i])),
+                        ReviewScheduler.typeOf(roundItems[i]));
+            }
+            round = List.of(scheduled);
+        }
+        questionIndex = INITIAL_STAT;
+        attempts = INITIAL_STAT;
+        gamesPlayed++;
+    }
+
+    /**
+     * Checks if the current round still has questions to answer.
+     *
+     * @return true while a round is in progress
+     */
+    public boolean isRoundActive()
+    {
+        return questionIndex < round.size();
+    }
+
+    /**
+     * Gets the question waiting for an answer.
+     *
+     * @return the current question
+     */
+    public Question getCurrentQuestion()
+    {
+        if (!isRoundActive())
+        {
+            throw new IllegalStateException("No round in progress");
+        }
+        return round.get(questionIndex);
+    }
+
+    /**
+     * Gets the 1-based number of the current question within its round.
+     *
+     * @return question number
+     */
+    public int getQuestionNumber()
+    {
+        return questionIndex + NEXT;
+    }
+
+    /**
+     * Grades a choice for the current question.
+     *
+     * @param choice The chosen position, starting at 0
+     * @return how the answer was graded
+     */
+    public Outcome answer(final int choice)
+    {
+        final Question question;
+
+        question = getCurrentQuestion();
+        if (choice < FIRST_CHOICE ||
+                choice >= question.getChoiceCount())
+        {
+            throw new IllegalArgumentException("Invalid choice: " + choice);
+        }
+        return grade(question.isCorrect(choice));
+    }
+
+    /**
+     * Matches a typed name against the countries or capitals, forgiving
+     * accents, case and small typos. Names that match nothing are not graded.
+     *
+     * @param typed The player's text
+     * @return the name the text was taken as, or null if nothing matched
+     */
+    public String matchTyped(final String typed)
+    {
+        final AnswerIndex.Field field;
+
+        field = getCurrentQuestion().getType() == Question.Type.CAPITAL_BY_COUNTRY ?
+                AnswerIndex.Field.CAPITAL :
+                AnswerIndex.Field.COUNTRY;
+        return answers.match(typed, field);
+    }
+
+    /**
+     * Grades a typed name for the current question.
+     *
+     * @param typed The player's text
+     * @return how the answer was graded
+     */
+    public Outcome answerTyped(final String typed)
+    {
+        final String matched;
+
+        matched = matchTyped(typed);
+        if (matched == null)
+        {
+            throw new IllegalArgumentException("No country or capital matches: " + typed);
+        }
+        return grade(matched.equals(getCurrentQuestion().getCorrectAnswer()));
+    }
+
+    /*
+     * Records an attempt at the current question, moving on when it is over.
+     *
+     * @param correct whether the attempt was right
+     * @return how the attempt was graded
+     */
+    private Outcome grade(final boolean correct)
+    {
+        final Outcome outcome;
+
+        if (correct)
+        {
+            if (attempts == FIRST_TRY)
+            {
+                firstTryAns++;
+                outcome = Outcome.CORRECT_FIRST_TRY;
+            }
+            else
+            {
+                secondTryAns++;
+                outcome = Outcome.CORRECT_SECOND_TRY;
+            }
+        }
+        else if (attempts + NEXT < TOTAL_ATTEMPTS)
+        {
+            attempts++;
+            return Outcome.TRY_AGAIN;
+        }
+        else
+        {
+            incorrectAns++;
+            outcome = Outcome.INCORRECT;
+        }
+
+        if (scheduler != null)
+        {
+            scheduler.record(roundItems[questionIndex], outcome, Instant.now());
+        }
+        questionIndex++;
+        attempts = INITIAL_STAT;
+        return outcome;
+    }
+
+    /**
+     * Gets the countries this session asks about.
+     *
+     * @return the shared world
+     */
+    public World getWorld()
+    {
+        return world;
+    }
+
+    /**
+     * Gets the number of rounds started.
+     *
+     * @return games played
+     */
+    public int getGamesPlayed()
+    {
+        return gamesPlayed;
+    }
+
+    /**
+     * Summarises every round played in this session.
+     *
+     * @param dateTime When the session ended
+     * @return the session's score
+     */
+    public Score toScore(final LocalDateTime dateTime)
+    {
+        return new Score(dateTime, gamesPlayed, firstTryAns, secondTryAns, incorrectAns);
+    }
+}
@@ -0,0 +1,724 @@
+package ca.bcit.termProject.wordGame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the word game's data loading, question and answer components.
+ *
+ * <p>Each test works on a private copy of the country text files in a
+ * temporary directory, so compiled indexes and edits never touch src/res.
+ *
+ * <p>Test Coverage Includes:
+ * <table border="1">
+ *   <tr><th>Component</th><th>Test Cases</th></tr>
+ *   <tr><td>World</td><td>Index and text loading agree, missing and stale index rebuilt, unwritable index fallback, distinct sampling</td></tr>
+ *   <tr><td>FactStore</td><td>Facts match the text files, including after eviction</td></tr>
+ *   <tr><td>QuestionGenerator</td><td>Repeatable for a seed, distinct choices</td></tr>
+ *   <tr><td>WordGameSession</td><td>First-try, second-try and wrong grading</td></tr>
+ *   <tr><td>WordGame</td><td>A whole console session driven by scripted input</td></tr>
+ *   <tr><td>AnswerIndex</td><td>Folding, unique prefixes, typo budget</td></tr>
+ *   <tr><td>FactIndex</td><td>Every-word and prefix search, keyword questions and their fallback</td></tr>
+ *   <tr><td>ReviewScheduler</td><td>Due order, mastery changes, save and load, reordered countries, invalid levels</td></tr>
+ *   <tr><td>TextArena</td><td>Mixed encodings, growth past capacity, trimming</td></tr>
+ *   <tr><td>Country</td><td>Copying into a shared arena</td></tr>
+ * </table>
+ *
+ * @author Conner Ponton
+ * @version 1.0
+ */
+class WordGameTests
+{
+    private static final Path SOURCE_DIRECTORY = Paths.get(World.RESOURCE_DIRECTORY);
+
+    private Path resources;
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        // Fresh copy of the country text files for every test
+        resources = Files.createTempDirectory("word-game");
+        for (Path source : World.sourceFiles(SOURCE_DIRECTORY))
+        {
+            if (Files.exists(source))
+            {
+                Files.copy(source, resources.resolve(source.getFileName()));
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException
+    {
+        try (Stream<Path> files = Files.walk(resources))
+        {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+            {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void testIndexAndTextLoadingGiveSameCountries() throws IOException
+    {
+        List<Country> fromText = World.readTextFiles(resources);
+
+        // Without an index the first load compiles one
+        Path index = resources.resolve(World.INDEX_FILE_NAME);
+        World built = new World(resources);
+        assertTrue(Files.exists(index));
+        assertSameCountries(fromText, built);
+
+        // With a current index the countries come from the mapped file
+        int compiled = CountryIndexCompiler.compile(resources, index);
+        World fromIndex = new World(resources);
+
+        assertEquals(fromText.size(), compiled);
+        assertSameCountries(fromText, fromIndex);
+
+        // An edit keeping size and time leaves the index trusted, so it is what gets read
+        Path first = resources.resolve("a.txt");
+        FileTime modified = Files.getLastModifiedTime(first);
+        Files.writeString(first, Files.readString(first).replace("Kabul", "Kabux"));
+        Files.setLastModifiedTime(first, modified);
+        assertEquals("Kabul", new World(resources).getCountry(0).getCapitalCityName());
+    }
+
+    @Test
+    void testUnwritableIndexFallsBackToTextFiles() throws IOException
+    {
+        // A non-empty directory where the index goes can be neither mapped nor replaced
+        Path index = resources.resolve(World.INDEX_FILE_NAME);
+        Files.createDirectory(index);
+        Files.writeString(index.resolve("held"), "held");
+
+        World world = new World(resources);
+
+        assertSameCountries(World.readTextFiles(resources), world);
+        assertTrue(Files.isDirectory(index));
+        try (Stream<Path> files = Files.list(resources))
+        {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void testStaleIndexIsRebuilt() throws IOException
+    {
+        Path index = resources.resolve(World.INDEX_FILE_NAME);
+        CountryIndexCompiler.compile(resources, index);
+        Files.setLastModifiedTime(index, FileTime.fromMillis(0L));
+
+        // Editing a text file changes the fingerprint the index was built for
+        Files.writeString(resources.resolve("z.txt"),
+                "\nZtestland:Ztest City\nFirst fact.\nSecond fact.\nThird fact.\n",
+                StandardOpenOption.APPEND);
+        World world = new World(resources);
+        assertNotEquals(FileTime.fromMillis(0L), Files.getLastModifiedTime(index));
+        Country last = world.getCountry(world.getCountryCount() - 1);
+
+        assertEquals("Ztestland", last.getName());
+        assertEquals("Ztest City", last.getCapitalCityName());
+        assertEquals("Third fact.", last.getFact(2));
+    }
+
+    @Test
+    void testFactStoreMatchesTextAfterEviction() throws IOException
+    {
+        List<Country> fromText = World.readTextFiles(resources);
+        CountryIndexCompiler.compile(resources, resources.resolve(World.INDEX_FILE_NAME));
+        World fromIndex = new World(resources);
+
+        // More facts than the cache holds, so the second pass decodes evicted facts again
+        assertTrue(fromIndex.getCountryCount() * Country.FACT_TOTAL > World.FACT_CACHE_SIZE);
+        for (int pass = 0; pass < 2; pass++)
+        {
+            for (int c = 0; c < fromIndex.getCountryCount(); c++)
+            {
+                for (int f = 0; f < Country.FACT_TOTAL; f++)
+                {
+                    assertEquals(fromText.get(c).getFact(f), fromIndex.getCountry(c).getFact(f));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSampleDistinctReturnsDistinctCountries()
+    {
+        World world = new World(resources);
+
+        for (int k : new int[] {0, 1, 4, world.getCountryCount() / 2})
+        {
+            Country[] sample = world.sampleDistinct(k, new Random(k));
+            assertEquals(k, sample.length);
+            assertEquals(k, Set.of(sample).size());
+        }
+    }
+
+    @Test
+    void testSampleDistinctIsRepeatableForSeed()
+    {
+        World world = new World(resources);
+
+        // Same seed, same countries in the same order, across many draws
+        Random first = new Random(42);
+        Random second = new Random(42);
+        for (int i = 0; i < 100; i++)
+        {
+            assertEquals(List.of(world.sampleDistinct(4, first)), List.of(world.sampleDistinct(4, second)));
+        }
+    }
+
+    @Test
+    void testSampleDistinctEdgeSizes()
+    {
+        World world = new World(resources);
+        int size = world.getCountryCount();
+
+        // Every country exactly once when k is the whole world
+        Country[] all = world.sampleDistinct(size, new Random(7));
+        assertEquals(size, Set.of(all).size());
+
+        assertThrows(IllegalArgumentException.class, () -> world.sampleDistinct(size + 1, new Random(7)));
+        assertThrows(IllegalArgumentException.class, () -> world.sampleDistinct(-1, new Random(7)));
+    }
+
+    @Test
+    void testQuestionGeneratorIsRepeatableForSeed()
+    {
+        World world = new World(resources);
+        QuestionGenerator first = new QuestionGenerator(world, 99L);
+        QuestionGenerator second = new QuestionGenerator(world, 99L);
+
+        for (int i = 0; i < 200; i++)
+        {
+            assertEquals(describe(first.next()), describe(second.next()));
+        }
+    }
+
+    @Test
+    void testQuestionChoicesNeverRepeatACountry()
+    {
+        World world = new World(resources);
+        QuestionGenerator generator = new QuestionGenerator(world, 5L);
+
+        for (Question question : generator.nextRound(500))
+        {
+            assertDistinctChoices(question);
+        }
+
+        // Targeted questions place the requested country among other distinct ones
+        for (int c = 0; c < world.getCountryCount(); c++)
+        {
+            Question question = generator.next(world.getCountry(c), Question.Type.CAPITAL_BY_COUNTRY);
+            assertDistinctChoices(question);
+            assertEquals(world.getCountry(c).getCapitalCityName(), question.getCorrectAnswer());
+        }
+    }
+
+    @Test
+    void testSessionGradesFirstSecondAndWrongAnswers()
+    {
+        WordGameSession session = new WordGameSession(new World(resources), 11L);
+        session.startRound();
+
+        // Right first time
+        int correct = session.getCurrentQuestion().getCorrectIndex();
+        assertEquals(WordGameSession.Outcome.CORRECT_FIRST_TRY, session.answer(correct));
+
+        // Wrong, then right
+        correct = session.getCurrentQuestion().getCorrectIndex();
+        assertEquals(WordGameSession.Outcome.TRY_AGAIN, session.answer(wrongChoice(correct)));
+        assertEquals(WordGameSession.Outcome.CORRECT_SECOND_TRY, session.answer(correct));
+
+        // Wrong twice
+        correct = session.getCurrentQuestion().getCorrectIndex();
+        assertEquals(WordGameSession.Outcome.TRY_AGAIN, session.answer(wrongChoice(correct)));
+        assertEquals(WordGameSession.Outcome.INCORRECT, session.answer(wrongChoice(correct)));
+
+        assertEquals(4, session.getQuestionNumber());
+        assertThrows(IllegalArgumentException.class, () -> session.answer(QuestionGenerator.CHOICES));
+
+        Score score = session.toScore(LocalDateTime.now());
+        assertEquals(1, score.getGamesPlayed());
+        assertEquals(1, score.getCorrectFirstAttempts());
+        assertEquals(1, score.getCorrectSecondAttempts());
+        assertEquals(1, score.getIncorrectAttempts());
+        assertEquals(3, score.getScore());
+    }
+
+    @Test
+    void testPlayRunsScriptedSession()
+    {
+        World world = new World(resources);
+
+        // A second session with the same seed builds the same round, revealing the answers
+        WordGameSession preview = new WordGameSession(world, 21L);
+        preview.startRound();
+        StringBuilder script = new StringBuilder("maybe\nyes\n");
+        for (int q = 0; preview.isRoundActive(); q++)
+        {
+            int correct = preview.getCurrentQuestion().getCorrectIndex();
+            if (q == 0)
+            {
+                // Wrong, then right below
+                script.append(wrongChoice(correct) + 1).append('\n');
+            }
+            if (q == 1)
+            {
+                // Wrong twice
+                script.append(wrongChoice(correct) + 1).append('\n');
+                script.append(wrongChoice(correct) + 1).append('\n');
+                preview.answer(wrongChoice(correct));
+                preview.answer(wrongChoice(correct));
+                continue;
+            }
+            script.append(correct + 1).append('\n');
+            preview.answer(correct);
+        }
+        script.append("no\n");
+
+        List<Score> saved = new ArrayList<>();
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        WordGame.play(new Scanner(script.toString()), new PrintStream(printed, true),
+                new WordGameSession(world, 21L), saved::add);
+
+        assertEquals(1, saved.size());
+        assertEquals(1, saved.get(0).getGamesPlayed());
+        assertEquals(8, saved.get(0).getCorrectFirstAttempts());
+        assertEquals(1, saved.get(0).getCorrectSecondAttempts());
+        assertEquals(1, saved.get(0).getIncorrectAttempts());
+        assertTrue(printed.toString().contains("Invalid input! Please try again."));
+        assertTrue(printed.toString().contains("Thanks for playing!"));
+    }
+
+    @Test
+    void testAnswerIndexFoldsAccentsAndCase()
+    {
+        AnswerIndex answers = sampleAnswers();
+
+        assertEquals("Bogotá", answers.match("bogota", AnswerIndex.Field.CAPITAL));
+        assertEquals("Bogotá", answers.match("  BOGOTÁ ", AnswerIndex.Field.CAPITAL));
+        assertEquals("Côte d'Ivoire", answers.match("cote d ivoire", AnswerIndex.Field.COUNTRY));
+    }
+
+    @Test
+    void testAnswerIndexAcceptsUniquePrefixOnly()
+    {
+        AnswerIndex answers = sampleAnswers();
+
+        // Three characters that only one country starts with
+        assertEquals("Colombia", answers.match("col", AnswerIndex.Field.COUNTRY));
+
+        // Shared by Canada and Cape Verde
+        assertNull(answers.match("ca", AnswerIndex.Field.COUNTRY));
+        assertNull(answers.match("c", AnswerIndex.Field.COUNTRY));
+    }
+
+    @Test
+    void testAnswerIndexForgivesTyposWithinBudget()
+    {
+        AnswerIndex answers = sampleAnswers();
+
+        // Adjacent letters swapped: one edit
+        assertEquals("Colombia", answers.match("Colmobia", AnswerIndex.Field.COUNTRY));
+        assertEquals("Canada", answers.match("Cnaada", AnswerIndex.Field.COUNTRY));
+
+        // Three edits in an eight-letter name is past the budget of two
+        assertNull(answers.match("Kolumbya", AnswerIndex.Field.COUNTRY));
+        assertNull(answers.match("Norway", AnswerIndex.Field.COUNTRY));
+    }
+
+    @Test
+    void testFactIndexSearchNeedsEveryWord()
+    {
+        FactIndex facts = new FactIndex(sampleCountries());
+
+        // Facts are numbered country by country, three each
+        assertArrayEquals(new int[] {4, 6}, facts.search("Runners highlands"));
+        assertArrayEquals(new int[] {0, 3}, facts.search("home"));
+        assertEquals(0, facts.search("runners potatoes").length);
+        assertEquals("Chad", facts.getCountry(6).getName());
+        assertEquals("Runners race in the Andes highlands.", facts.getFact(6));
+
+        // Stop words and short words alone search nothing
+        assertEquals(0, facts.search("the and in").length);
+    }
+
+    @Test
+    void testFactIndexSearchMatchesPrefixes()
+    {
+        FactIndex facts = new FactIndex(sampleCountries());
+
+        assertArrayEquals(new int[] {2, 4, 6, 8}, facts.search("highl"));
+        assertArrayEquals(new int[] {1, 7}, facts.search("alti"));
+        assertEquals(0, facts.search("zzz").length);
+    }
+
+    @Test
+    void testFactIndexSearchResultsAreCopies()
+    {
+        FactIndex facts = new FactIndex(sampleCountries());
+
+        // Changing one result must not change the index
+        int[] first = facts.search("highlands");
+        first[0] = 99;
+        assertArrayEquals(new int[] {2, 4, 6, 8}, facts.search("highlands"));
+    }
+
+    @Test
+    void testKeywordQuestionsFallBackToFacts() throws IOException
+    {
+        writeCountries(sampleCountries());
+        World world = new World(resources);
+        QuestionGenerator generator = new QuestionGenerator(world, 3L);
+        Country kenya = world.getCountry(0);
+        Country chad = world.getCountry(2);
+
+        // Kenya's only capitalised word of its own is Maasai
+        assertTrue(world.getFactIndex().hasKnownFor(kenya));
+        Question keyword = generator.next(kenya, Question.Type.COUNTRY_BY_KEYWORD);
+        assertEquals(Question.Type.COUNTRY_BY_KEYWORD, keyword.getType());
+        assertEquals("Maasai", keyword.getSubject());
+        assertEquals("Kenya", keyword.getCorrectAnswer());
+
+        // Every word in Chad's facts is also in another country's
+        assertFalse(world.getFactIndex().hasKnownFor(chad));
+        Question fallback = generator.next(chad, Question.Type.COUNTRY_BY_KEYWORD);
+        assertEquals(Question.Type.COUNTRY_BY_FACT, fallback.getType());
+        assertEquals("Chad", fallback.getCorrectAnswer());
+        assertTrue(List.of(chad.getFact(0), chad.getFact(1), chad.getFact(2)).contains(fallback.getSubject()));
+    }
+
+    @Test
+    void testSchedulerTakesSoonestItemPerCountry() throws IOException
+    {
+        writeCountries(sampleCountries());
+        World world = new World(resources);
+        Instant now = Instant.ofEpochSecond(1_000_000L);
+        ReviewScheduler scheduler = ReviewScheduler.load(resources.resolve("review.dat"), world, now, 1L);
+
+        // Due in reverse item order, so the highest item is the soonest
+        int items = world.getCountryCount() * Question.Type.values().length;
+        for (int item = 0; item < items; item++)
+        {
+            scheduler.record(item, WordGameSession.Outcome.CORRECT_SECOND_TRY, now.plusSeconds((items - item) * 100L));
+        }
+
+        // Each country appears once, with its soonest item
+        assertArrayEquals(new int[] {11, 7, 3}, scheduler.nextItems(3));
+
+        // Taking items leaves them scheduled
+        assertArrayEquals(new int[] {11, 7, 3}, scheduler.nextItems(3));
+
+        // Answering moves an item behind the others
+        scheduler.record(11, WordGameSession.Outcome.CORRECT_SECOND_TRY, now.plusSeconds(10_000L));
+        assertArrayEquals(new int[] {10, 7, 3}, scheduler.nextItems(3));
+        assertThrows(IllegalStateException.class, () -> scheduler.nextItems(4));
+    }
+
+    @Test
+    void testSchedulerPromotesAndDemotes() throws IOException
+    {
+        writeCountries(sampleCountries());
+        World world = new World(resources);
+        Instant now = Instant.ofEpochSecond(1_000_000L);
+        ReviewScheduler scheduler = ReviewScheduler.load(resources.resolve("review.dat"), world, now, 1L);
+        int item = ReviewScheduler.itemOf(1, Question.Type.CAPITAL_BY_COUNTRY);
+
+        // First-try answers climb one level each
+        for (int i = 1; i <= 3; i++)
+        {
+            scheduler.record(item, WordGameSession.Outcome.CORRECT_FIRST_TRY, now);
+            assertEquals(i, scheduler.getLevel(item));
+        }
+
+        // Second-try answers hold the level, wrong answers reset it
+        scheduler.record(item, WordGameSession.Outcome.CORRECT_SECOND_TRY, now);
+        assertEquals(3, scheduler.getLevel(item));
+        scheduler.record(item, WordGameSession.Outcome.INCORRECT, now);
+        assertEquals(0, scheduler.getLevel(item));
+
+        // The level stops at the longest interval
+        for (int i = 0; i < 20; i++)
+        {
+            scheduler.record(item, WordGameSession.Outcome.CORRECT_FIRST_TRY, now);
+        }
+        assertEquals(7, scheduler.getLevel(item));
+        assertThrows(IllegalArgumentException.class,
+                () -> scheduler.record(item, WordGameSession.Outcome.TRY_AGAIN, now));
+    }
+
+    @Test
+    void testSchedulerSurvivesSaveAndLoad() throws IOException
+    {
+        writeCountries(sampleCountries());
+        World world = new World(resources);
+        Path file = resources.resolve("review.dat");
+        Instant now = Instant.ofEpochSecond(1_000_000L);
+        ReviewScheduler saved = ReviewScheduler.load(file, world, now, 1L);
+
+        // Give every item its own level and due time
+        int items = world.getCountryCount() * Question.Type.values().length;
+        for (int item = 0; item < items; item++)
+        {
+            for (int i = 0; i < item % 8; i++)
+            {
+                saved.record(item, WordGameSession.Outcome.CORRECT_FIRST_TRY, now.plusSeconds(item));
+            }
+        }
+        saved.save(file);
+
+        // A different seed must not matter once the file exists
+        ReviewScheduler loaded = ReviewScheduler.load(file, world, now, 2L);
+        for (int item = 0; item < items; item++)
+        {
+            assertEquals(saved.getLevel(item), loaded.getLevel(item));
+        }
+        assertArrayEquals(saved.nextItems(3), loaded.nextItems(3));
+    }
+
+    @Test
+    void testSchedulerStartsFreshWhenCountriesAreReordered() throws IOException
+    {
+        writeCountries(sampleCountries());
+        World world = new World(resources);
+        Path file = resources.resolve("review.dat");
+        Instant now = Instant.ofEpochSecond(1_000_000L);
+        ReviewScheduler saved = ReviewScheduler.load(file, world, now, 1L);
+        int kenyaCapital = ReviewScheduler.itemOf(0, Question.Type.CAPITAL_BY_COUNTRY);
+        saved.record(kenyaCapital, WordGameSession.Outcome.CORRECT_FIRST_TRY, now);
+        saved.save(file);
+
+        // Same count, same names, but Kenya and Peru swap places
+        Country[] countries = sampleCountries();
+        Country first = countries[0];
+        countries[0] = countries[1];
+        countries[1] = first;
+        writeCountries(countries);
+        World reordered = new World(resources);
+
+        // Kenya's progress must not move to Peru
+        ReviewScheduler loaded = ReviewScheduler.load(file, reordered, now, 1L);
+        assertEquals(0, loaded.getLevel(kenyaCapital));
+        assertEquals(1, ReviewScheduler.load(file, world, now, 1L).getLevel(kenyaCapital));
+    }
+
+    @Test
+    void testSchedulerRejectsInvalidLevels() throws IOException
+    {
+        writeCountries(sampleCountries());
+        World world = new World(resources);
+        Path file = resources.resolve("review.dat");
+        Instant now = Instant.ofEpochSecond(1_000_000L);
+        ReviewScheduler.load(file, world, now, 1L).save(file);
+
+        // Header of four ints and a fingerprint, then a due time and a level per item
+        byte[] bytes = Files.readAllBytes(file);
+        int secondLevel = 4 * Integer.BYTES + Long.BYTES + 2 * (Long.BYTES + 1) - 1;
+        bytes[secondLevel] = 8;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> ReviewScheduler.load(file, world, now, 1L));
+
+        bytes[secondLevel] = -1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> ReviewScheduler.load(file, world, now, 1L));
+    }
+
+    @Test
+    void testTextArenaRoundTripsMixedEncodings()
+    {
+        String[] texts = {"Canada", "", "Bogotá", "Côte d'Ivoire", "日本", "", "Ελλάδα", "😀"};
+        TextArena arena = new TextArena(1, 1);
+
+        for (int i = 0; i < texts.length; i++)
+        {
+            assertEquals(i, arena.add(texts[i]));
+        }
+        for (int i = 0; i < texts.length; i++)
+        {
+            assertEquals(texts[i], arena.get(i));
+        }
+        assertEquals(texts.length, arena.size());
+
+        // Latin-1 names take a byte per character, the rest are UTF-8
+        assertEquals(6 + 0 + 6 + 13 + 6 + 0 + 12 + 4, arena.getByteCount());
+        assertThrows(IllegalArgumentException.class, () -> arena.add(null));
+    }
+
+    @Test
+    void testTextArenaGrowsAndTrims()
+    {
+        TextArena arena = new TextArena(1, 1);
+
+        // Far past the initial room for one string of one byte
+        for (int i = 0; i < 1000; i++)
+        {
+            arena.add("country-" + i);
+        }
+        int bytes = arena.getByteCount();
+        arena.trim();
+
+        assertEquals(1000, arena.size());
+        assertEquals(bytes, arena.getByteCount());
+        for (int i = 0; i < 1000; i++)
+        {
+            assertEquals("country-" + i, arena.get(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> arena.get(1000));
+        assertThrows(IllegalArgumentException.class, () -> arena.get(-1));
+
+        // Trimming leaves no spare room, but adding still works
+        assertEquals(1000, arena.add("Ελλάδα"));
+        assertEquals("Ελλάδα", arena.get(1000));
+        assertEquals("country-999", arena.get(999));
+
+        TextArena empty = new TextArena(0, 0);
+        empty.trim();
+        assertEquals(0, empty.add(""));
+        assertEquals(1, empty.add("x"));
+        assertEquals("", empty.get(0));
+        assertEquals("x", empty.get(1));
+    }
+
+    @Test
+    void testCountryCopyIntoKeepsEverything()
+    {
+        TextArena arena = new TextArena(1, 1);
+        arena.add("already here");
+
+        // Each copy adds its name, capital and three facts after what is there
+        Country[] originals = sampleCountries();
+        Country[] copies = new Country[originals.length];
+        for (int c = 0; c < originals.length; c++)
+        {
+            copies[c] = originals[c].copyInto(arena);
+        }
+        assertEquals(1 + originals.length * (2 + Country.FACT_TOTAL), arena.size());
+        assertEquals("already here", arena.get(0));
+
+        for (int c = 0; c < originals.length; c++)
+        {
+            assertEquals(originals[c].getName(), copies[c].getName());
+            assertEquals(originals[c].getCapitalCityName(), copies[c].getCapitalCityName());
+            for (int f = 0; f < Country.FACT_TOTAL; f++)
+            {
+                assertEquals(originals[c].getFact(f), copies[c].getFact(f));
+            }
+        }
+    }
+
+    private static Country[] sampleCountries()
+    {
+        return new Country[] {
+                new Country("Kenya", "Nairobi", new String[] {
+                        "Home to the Maasai Mara reserve.",
+                        "Runners train at high altitude.",
+                        "Tea grows in the highlands."}),
+                new Country("Peru", "Lima", new String[] {
+                        "Home to Machu Picchu.",
+                        "Runners race in the Andes highlands.",
+                        "Potatoes come in thousands of varieties."}),
+                new Country("Chad", "N'Djamena", new String[] {
+                        "Runners race in the Andes highlands.",
+                        "Runners train at high altitude.",
+                        "Tea grows in the highlands."})};
+    }
+
+    private void writeCountries(Country[] countries) throws IOException
+    {
+        // Empty every copied file, then put the countries in the first
+        List<Path> files = World.sourceFiles(resources);
+        for (Path file : files)
+        {
+            Files.write(file, new byte[0]);
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (Country country : countries)
+        {
+            text.append(country.getName()).append(':').append(country.getCapitalCityName()).append('\n');
+            for (int f = 0; f < Country.FACT_TOTAL; f++)
+            {
+                text.append(country.getFact(f)).append('\n');
+            }
+            text.append('\n');
+        }
+        Files.writeString(files.get(0), text);
+    }
+
+    private static AnswerIndex sampleAnswers()
+    {
+        String[] facts = {"One.", "Two.", "Three."};
+        return new AnswerIndex(new Country[] {
+                new Country("Colombia", "Bogotá", facts),
+                new Country("Canada", "Ottawa", facts),
+                new Country("Cape Verde", "Praia", facts),
+                new Country("Côte d'Ivoire", "Yamoussoukro", facts)});
+    }
+
+    private static int wrongChoice(int correct)
+    {
+        return (correct + 1) % QuestionGenerator.CHOICES;
+    }
+
+    private static String describe(Question question)
+    {
+        StringBuilder text = new StringBuilder(question.getType() + "|" + question.getText());
+        for (int i = 0; i < question.getChoiceCount(); i++)
+        {
+            text.append('|').append(question.getChoice(i));
+        }
+        return text.append('|').append(question.getCorrectIndex()).toString();
+    }
+
+    private static void assertDistinctChoices(Question question)
+    {
+        Set<String> choices = new HashSet<>();
+        for (int i = 0; i < question.getChoiceCount(); i++)
+        {
+            choices.add(question.getChoice(i));
+        }
+        assertEquals(QuestionGenerator.CHOICES, choices.size());
+    }
+
+    private static void assertSameCountries(List<Country> expected, World actual)
+    {
+        assertEquals(expected.size(), actual.getCountryCount());
+        for (int c = 0; c < expected.size(); c++)
+        {
+            Country want = expected.get(c);
+            Country got = actual.getCountry(c);
+
+            assertEquals(want.getName(), got.getName());
+            assertEquals(want.getCapitalCityName(), got.getCapitalCityName());
+            assertEquals(List.of(want.getFact(0), want.getFact(1), want.getFact(2)),
+                    List.of(got.getFact(0), got.getFact(1), got.getFact(2)));
+        }
+    }
+}
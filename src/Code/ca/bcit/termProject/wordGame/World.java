@@ -1,19 +1,37 @@
 package ca.bcit.termProject.wordGame;
 
 import java.io.FileNotFoundException;
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.io.File;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
- * Data repository class that loads and manages country information from text files.
+ * Data repository class that loads and manages country information.
  *
  * <p>This class serves as the data layer for geographical trivia games, providing:
  * <ul>
- *   <li>File-based country data loading</li>
+ *   <li>Binary index loading, with text files as a fallback</li>
  *   <li>In-memory storage of country details</li>
- *   <li>Random country selection</li>
+ *   <li>Random country selection and distinct sampling</li>
  *   <li>Data validation and error handling</li>
  * </ul>
  *
@@ -23,11 +41,23 @@ import java.util.Scanner;
  *   <tr><td>File Location</td><td>src/res/[a-z].txt (excluding some letters)</td></tr>
  *   <tr><td>Country Entry</td><td>CountryName:CapitalCity</td></tr>
  *   <tr><td>Facts</td><td>3 lines following each country entry</td></tr>
+ *   <tr><td>Compiled Index</td><td>src/res/countries.idx, see {@link CountryIndexCompiler}</td></tr>
  * </table>
  *
  * <p>Implementation Details:
  * <ul>
- *   <li>Uses HashMap for O(1) country name lookups</li>
+ *   <li>Drops repeated country names while loading, keeping the last entry in the first one's place</li>
+ *   <li>Packs every name, capital and in-memory fact into one {@link TextArena}, with each {@link Country} a view of it</li>
+ *   <li>Keeps countries in an immutable array, in load order, for O(1) random access</li>
+ *   <li>Samples k distinct countries with a partial Fisher–Yates shuffle in O(k)</li>
+ *   <li>Maps the compiled index with {@link FileChannel#map} when it matches the text files</li>
+ *   <li>Decodes only names and capitals from the index; facts are read on demand through {@link FactStore}</li>
+ *   <li>Compiles the index from the text files when it is missing or stale, then maps it</li>
+ *   <li>Reads the text files directly when the index cannot be written or read</li>
+ *   <li>Parses the text files concurrently on virtual threads, merging in file order</li>
+ *   <li>Builds an {@link AnswerIndex} over names and capitals once, for typed answers</li>
+ *   <li>Builds a {@link FactIndex} over every fact on first use, for searches and "known for" questions</li>
+ *   <li>Can load in the background through {@link #loadAsync()}</li>
  *   <li>Handles missing files gracefully</li>
  *   <li>Validates data format during loading</li>
  *   <li>Provides thread-safe read operations</li>
@@ -38,20 +68,48 @@ import java.util.Scanner;
  */
 public final class World
 {
+    /**
+     * Directory holding the country data.
+     */
+    static final String RESOURCE_DIRECTORY = "src/res";
+
+    /**
+     * File name of the compiled country index inside the resource directory.
+     */
+    static final String INDEX_FILE_NAME = "countries.idx";
+
+    /**
+     * Most decoded facts kept in memory when loading from the compiled index.
+     */
+    static final int FACT_CACHE_SIZE = 256;
+
     private static final int NAME_INDEX         = 0;
     private static final int CAPITAL_INDEX      = 1;
     private static final int FIRST_COUNTRY      = 0;
     private static final int VALID_COUNTRY_DATA = 2;
     private static final int MAX_FACTS          = 3;
+    private static final int NEXT               = 1;
+    private static final long START_OF_FILE     = 0;
+    private static final int MIN_SAMPLE         = 0;
+    private static final int COUNTRY_STRINGS    = 5;
+    private static final int COUNTRY_TEXT_BYTES = 256;
+    private static final int INDEXED_STRINGS    = 2;
+    private static final int INDEXED_TEXT_BYTES = 32;
 
-    private final HashMap<String, Country> countries;
+    private final Country[] countryArray;
+    private final Random randomizer;
+    private final AnswerIndex answerIndex;
+    private final Object factIndexLock;
+    private volatile FactIndex factIndex;
 
     /**
-     * Constructs a new World by loading country data from files.
+     * Constructs a new World by loading country data from src/res.
      *
      * <p>Loading Process:
      * <ol>
-     *   <li>Scans files from a.txt to z.txt (skipping certain letters)</li>
+     *   <li>Maps the compiled index if its fingerprint matches the text files</li>
+     *   <li>Otherwise recompiles the index and maps that</li>
+     *   <li>If the index cannot be written, scans files from a.txt to z.txt (skipping certain letters)</li>
      *   <li>Parses each line as country:capital pairs</li>
      *   <li>Reads subsequent 3 lines as country facts</li>
      *   <li>Validates format before creating Country objects</li>
@@ -59,94 +117,410 @@ public final class World
      */
     public World()
     {
+        this(Paths.get(RESOURCE_DIRECTORY));
+    }
+
+    /*
+     * Constructs a World from the country data in the given directory.
+     *
+     * @param resources directory holding the text files and compiled index
+     */
+    World(final Path resources)
+    {
+        final Map<String, Country> loaded;
+
+        loaded = new LinkedHashMap<>();
+        if (loadIndex(resources.resolve(INDEX_FILE_NAME), resources, loaded) ||
+                (compileIndex(resources) && loadIndex(resources.resolve(INDEX_FILE_NAME), resources, loaded)))
+        {
+            this.countryArray = loaded.values().toArray(Country[]::new);
+        }
+        else
+        {
+            final TextArena text;
+            int next;
+
+            for (final Country country : readTextFiles(resources))
+            {
+                loaded.put(country.getName(), country);
+            }
+
+            text = new TextArena(loaded.size() * COUNTRY_STRINGS, loaded.size() * COUNTRY_TEXT_BYTES);
+            this.countryArray = new Country[loaded.size()];
+            next = FIRST_COUNTRY;
+            for (final Country country : loaded.values())
+            {
+                this.countryArray[next++] = country.copyInto(text);
+            }
+            text.trim();
+        }
+
+        this.randomizer = new Random();
+        this.answerIndex = new AnswerIndex(this.countryArray);
+        this.factIndexLock = new Object();
+    }
+
+    /**
+     * Starts loading a World from src/res in the background.
+     *
+     * @return a future completed with the loaded World
+     */
+    public static CompletableFuture<World> loadAsync()
+    {
+        return CompletableFuture.supplyAsync(World::new);
+    }
 
-        this.countries = new HashMap<>();
+    /**
+     * Selects a random country from the loaded dataset.
+     *
+     * @return uniformly distributed random Country object
+     */
+    public Country selectRandCountry()
+    {
+        return countryArray[randomizer.nextInt(countryArray.length)];
+    }
+
+    /**
+     * Selects k different countries, uniformly at random, using the shared generator.
+     *
+     * @param k the number of countries to select
+     * @return k distinct countries in random order
+     */
+    public Country[] sampleDistinct(final int k)
+    {
+        return sampleDistinct(k, randomizer);
+    }
+
+    /**
+     * Selects k different countries, uniformly at random, in O(k) time.
+     *
+     * <p>Runs the first k steps of a Fisher–Yates shuffle over the country
+     * positions. Only the positions a step displaced are recorded, in a map
+     * local to the call, so concurrent callers never share state. The result
+     * depends only on the generator's state, so a seeded generator gives
+     * repeatable samples.
+     *
+     * @param k the number of countries to select
+     * @param random the source of randomness
+     * @return k distinct countries in random order
+     */
+    public Country[] sampleDistinct(final int k,
+                                    final Random random)
+    {
+        final Country[] sample;
+        final Map<Integer, Integer> displaced;
+
+        if (k < MIN_SAMPLE ||
+                k > countryArray.length)
+        {
+            throw new IllegalArgumentException("Cannot sample " + k + " of " + countryArray.length + " countries");
+        }
+
+        sample = new Country[k];
+        displaced = new HashMap<>();
+        for (int i = 0; i < k; i++)
+        {
+            final int target;
+            final int chosen;
+
+            target = i + random.nextInt(countryArray.length - i);
+            chosen = displaced.getOrDefault(target, target);
+            // Position i is never drawn from again, so only target needs its new occupant
+            displaced.put(target, displaced.getOrDefault(i, i));
+            sample[i] = countryArray[chosen];
+        }
+        return sample;
+    }
+
+    /**
+     * Gets a country by its position in load order.
+     *
+     * @param index The country's position, starting at 0
+     * @return the country
+     */
+    public Country getCountry(final int index)
+    {
+        if (index < FIRST_COUNTRY ||
+                index >= countryArray.length)
+        {
+            throw new IllegalArgumentException("Invalid country index: " + index);
+        }
+        return countryArray[index];
+    }
+
+    /**
+     * Gets the number of loaded countries.
+     *
+     * @return country count
+     */
+    public int getCountryCount()
+    {
+        return countryArray.length;
+    }
+
+    /**
+     * Gets the index for matching typed country and capital names.
+     *
+     * @return answer index
+     */
+    public AnswerIndex getAnswerIndex()
+    {
+        return answerIndex;
+    }
 
+    /**
+     * Gets the inverted index over every country's facts, building it on
+     * the first call. Building reads every fact, so it is left until a
+     * search or keyword question needs it.
+     *
+     * @return fact index
+     */
+    public FactIndex getFactIndex()
+    {
+        FactIndex index;
+
+        index = factIndex;
+        if (index == null)
+        {
+            synchronized (factIndexLock)
+            {
+                index = factIndex;
+                if (index == null)
+                {
+                    index = new FactIndex(countryArray);
+                    factIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /*
+     * Lists the country text files in load order: a.txt to z.txt, skipping w and x.
+     *
+     * @param resources directory holding the text files
+     * @return the text file paths
+     */
+    static List<Path> sourceFiles(final Path resources)
+    {
+        final List<Path> files;
+
+        files = new ArrayList<>();
         for (char i = 'a'; i <= 'z'; i++)
         {
             if (i == 'w')
             {
                 i = 'y';
             }
+            files.add(resources.resolve(i + ".txt"));
+        }
+        return files;
+    }
 
-            final String currentFile;
+    /*
+     * Parses every country text file, one virtual thread per file.
+     *
+     * @param resources directory holding the text files
+     * @return the countries in file order
+     */
+    static List<Country> readTextFiles(final Path resources)
+    {
+        final List<Callable<List<Country>>> files;
+        final List<Country> loaded;
 
-            currentFile = "src/res/" + i + ".txt";
+        files = new ArrayList<>();
+        loaded = new ArrayList<>();
+        for (final Path currentFile : sourceFiles(resources))
+        {
+            files.add(() -> readTextFile(currentFile));
+        }
 
-            try
+        try (final ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            // invokeAll keeps submission order, so the merge is deterministic
+            for (final Future<List<Country>> result : pool.invokeAll(files))
             {
-                final File countryFile;
-                final Scanner reader;
+                loaded.addAll(result.get());
+            }
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Country loading interrupted", e);
+        }
+        catch (final ExecutionException e)
+        {
+            throw new IllegalStateException("Country loading failed", e.getCause());
+        }
+        return loaded;
+    }
+
+    /*
+     * Parses one country text file.
+     *
+     * @param currentFile the text file
+     * @return the countries in the file, in order; empty if it is missing
+     */
+    private static List<Country> readTextFile(final Path currentFile)
+    {
+        final List<Country> loaded;
 
-                countryFile = new File(currentFile);
-                reader = new Scanner(countryFile);
+        loaded = new ArrayList<>();
+        try
+        {
+            final File countryFile;
+            final Scanner reader;
+
+            countryFile = currentFile.toFile();
+            reader = new Scanner(countryFile);
 
-                while (reader.hasNextLine())
+            while (reader.hasNextLine())
+            {
+                final String nameAndCapitalLine;
+                final String name;
+                final String capital;
+                final String[] facts;
+                final String[] nameAndCapital;
+
+                nameAndCapitalLine = reader.nextLine();
+                if (nameAndCapitalLine.isBlank())
                 {
-                    final Country newCountry;
-                    final String nameAndCapitalLine;
-                    final String name;
-                    final String capital;
-                    final String[] facts;
-                    final String[] nameAndCapital;
-
-                    nameAndCapitalLine = reader.nextLine();
-                    if (nameAndCapitalLine.isBlank())
-                    {
-                        continue;
-                    }
+                    continue;
+                }
 
-                    nameAndCapital = nameAndCapitalLine.split(":");
-                    if (nameAndCapital.length != VALID_COUNTRY_DATA)
-                    {
-                        System.out.println("Invalid format in file: " + currentFile);
-                        continue;
-                    }
+                nameAndCapital = nameAndCapitalLine.split(":");
+                if (nameAndCapital.length != VALID_COUNTRY_DATA)
+                {
+                    System.out.println("Invalid format in file: " + currentFile);
+                    continue;
+                }
 
-                    name = nameAndCapital[NAME_INDEX];
-                    capital = nameAndCapital[CAPITAL_INDEX];
+                name = nameAndCapital[NAME_INDEX];
+                capital = nameAndCapital[CAPITAL_INDEX];
 
-                    facts = new String[MAX_FACTS];
-                    for (int j = 0; j < MAX_FACTS; j++)
+                facts = new String[MAX_FACTS];
+                for (int j = 0; j < MAX_FACTS; j++)
+                {
+                    if (reader.hasNextLine())
+                    {
+                        facts[j] = reader.nextLine().trim();
+                    } else
                     {
-                        if (reader.hasNextLine())
-                        {
-                            facts[j] = reader.nextLine().trim();
-                        } else
-                        {
-                            facts[j] = ""; // Handle missing facts
-                        }
+                        facts[j] = ""; // Handle missing facts
                     }
-
-                    newCountry = new Country(name, capital, facts);
-                    this.countries.put(name, newCountry);
                 }
-                reader.close();
 
-            } catch (final FileNotFoundException e)
-            {
-                System.out.println("File not found: " + currentFile);
+                loaded.add(new Country(name, capital, facts));
             }
+            reader.close();
+
+        } catch (final FileNotFoundException e)
+        {
+            System.out.println("File not found: " + currentFile);
         }
+        return loaded;
     }
 
-    /**
-     * Selects a random country from the loaded dataset.
+    /*
+     * Rebuilds the compiled index from the text files in the given directory.
      *
-     * @return uniformly distributed random Country object
+     * @param resources directory holding the text files and compiled index
+     * @return true if the index was written; false to fall back to text
      */
-    public Country selectRandCountry()
+    private static boolean compileIndex(final Path resources)
     {
-        final Country[] countryArray;
-        final Country country;
-        final Random randomizer;
+        try
+        {
+            CountryIndexCompiler.compile(resources, resources.resolve(INDEX_FILE_NAME));
+            return true;
+        }
+        catch (final IOException e)
+        {
+            System.out.println("Country index not written, loading text files: " + e.getMessage());
+            return false;
+        }
+    }
 
-        countryArray = this.countries.values().toArray(new Country[FIRST_COUNTRY]);
+    /*
+     * Maps the compiled index and loads every country from it.
+     *
+     * @param indexFile the compiled index
+     * @param resources directory holding the text files, to check the fingerprint
+     * @param loaded receives each country by name, in index order, with names
+     *               and capitals packed into one arena
+     * @return true if the index was current and loaded; false to fall back to text
+     */
+    private static boolean loadIndex(final Path indexFile,
+                                     final Path resources,
+                                     final Map<String, Country> loaded)
+    {
+        if (Files.notExists(indexFile))
+        {
+            return false;
+        }
+
+        try (final FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ))
+        {
+            final MappedByteBuffer index;
+            final int countryCount;
+            final int factCount;
+            final int stringCount;
+            final int factTable;
+            final int offsetTable;
+            final int stringData;
+            final FactStore factStore;
+            final TextArena text;
+
+            index = channel.map(FileChannel.MapMode.READ_ONLY, START_OF_FILE, channel.size());
+            if (index.getInt() != CountryIndexCompiler.MAGIC ||
+                    index.getInt() != CountryIndexCompiler.VERSION ||
+                    index.getLong() != CountryIndexCompiler.fingerprint(sourceFiles(resources)))
+            {
+                return false;
+            }
 
-        randomizer = new Random();
+            countryCount = index.getInt();
+            factCount = index.getInt();
+            stringCount = index.getInt();
+            factTable = CountryIndexCompiler.HEADER_BYTES + countryCount * CountryIndexCompiler.COUNTRY_BYTES;
+            offsetTable = factTable + factCount * CountryIndexCompiler.FACT_BYTES;
+            stringData = offsetTable + (stringCount + NEXT) * Integer.BYTES;
 
-        country = countryArray[randomizer.nextInt(this.countries.size())];
+            if (stringData + index.getInt(offsetTable + stringCount * Integer.BYTES) > index.limit())
+            {
+                throw new IndexOutOfBoundsException("Truncated string data");
+            }
 
-        return country;
+            // The mapping stays valid after the channel closes
+            factStore = new FactStore(index, factTable, offsetTable, stringData, factCount, FACT_CACHE_SIZE);
+            text = new TextArena(countryCount * INDEXED_STRINGS, countryCount * INDEXED_TEXT_BYTES);
+            for (int i = 0; i < countryCount; i++)
+            {
+                final String name;
+                final String capital;
+                final int firstFact;
+
+                name = factStore.decode(index.getInt());
+                capital = factStore.decode(index.getInt());
+                firstFact = index.getInt();
+                if (index.getInt() != Country.FACT_TOTAL ||
+                        firstFact + Country.FACT_TOTAL > factCount)
+                {
+                    throw new IllegalArgumentException("Invalid fact range for " + name);
+                }
+                loaded.put(name, new Country(text, name, capital, factStore, firstFact));
+            }
+            text.trim();
+            return true;
+        }
+        catch (final IOException |
+                     BufferUnderflowException |
+                     IndexOutOfBoundsException |
+                     IllegalArgumentException e)
+        {
+            System.out.println("Country index unreadable, loading text files: " + e.getMessage());
+            loaded.clear();
+            return false;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,4 +1,6 @@
 import ca.bcit.termProject.wordGame.Score;
+import ca.bcit.termProject.wordGame.ScoreBatchWriter;
+import ca.bcit.termProject.wordGame.ScoreSummary;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,9 +10,13 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ScoreTest {
@@ -127,6 +133,73 @@ class ScoreTest {
         assertEquals(10, scores2.size(), "There should be 10 scores after the second write and read.");
     }
 
+    @Test
+    void testBatchWriterKeepsEveryScoreInOrder() throws IOException {
+        // Submit scores through the shared writer, then drain it
+        ScoreBatchWriter writer = new ScoreBatchWriter(SCORE_FILE);
+        for (int i = 0; i < 100; i++) {
+            writer.submit(new Score(LocalDateTime.now(), 1, i % 10, 0, 10 - (i % 10)));
+        }
+        writer.close();
+
+        // Every queued score should be in the file, in submission order
+        List<Score> scores = Score.readScoresFromFile(SCORE_FILE);
+        assertEquals(100, scores.size(), "All 100 queued scores should have been written.");
+        for (int i = 0; i < 100; i++) {
+            assertEquals((i % 10) * 2, scores.get(i).getScore(), "Score " + i + " should be in submission order.");
+        }
+    }
+
+    @Test
+    void testBatchWriterRejectsScoresAfterClose() throws IOException {
+        // Submitting to a closed writer fails at once instead of leaving a future that never completes
+        ScoreBatchWriter writer = new ScoreBatchWriter(SCORE_FILE);
+        writer.close();
+        CompletableFuture<Void> durable = writer.submit(new Score(LocalDateTime.now(), 1, 1, 0, 0));
+        assertTrue(durable.isCompletedExceptionally(), "A closed writer should reject new scores.");
+        CompletionException e = assertThrows(CompletionException.class, durable::join);
+        assertTrue(e.getCause() instanceof IllegalStateException, "The rejection should say the writer is closed.");
+    }
+
+    @Test
+    void testReadLastScoresMatchesFullRead() throws IOException {
+        // Write 50 scores in a few batches
+        for (int batch = 0; batch < 5; batch++) {
+            List<Score> scores = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                scores.add(new Score(LocalDateTime.now(), 1, batch * 10 + i, 0, 0));
+            }
+            Score.appendScoresToFile(scores, SCORE_FILE);
+        }
+
+        // The indexed tail read should match the end of a full read
+        List<Score> all = Score.readScoresFromFile(SCORE_FILE);
+        List<Score> last = Score.readLastScores(SCORE_FILE, 4);
+        assertEquals(4, last.size(), "Four scores should have been read from the end.");
+        for (int i = 0; i < 4; i++) {
+            assertEquals(all.get(46 + i).getScore(), last.get(i).getScore(), "Tail score " + i + " should match the full read.");
+        }
+    }
+
+    @Test
+    void testSummaryTracksTotalsAndBest() throws IOException {
+        // Append scores one at a time and as a batch
+        LocalDateTime now = LocalDateTime.now();
+        Score.appendScoreToFile(new Score(now, 1, 6, 2, 2), SCORE_FILE); // 14 points
+        Score.appendScoresToFile(List.of(
+                new Score(now, 2, 9, 1, 10),  // 19 points
+                new Score(now, 1, 3, 0, 7)), SCORE_FILE); // 6 points
+
+        // The summary should match the history without re-reading it
+        ScoreSummary summary = ScoreSummary.load(SCORE_FILE);
+        assertEquals(3, summary.getSessions(), "Three sessions should be summarised.");
+        assertEquals(4, summary.getGamesPlayed(), "Four games should have been played.");
+        assertEquals(39, summary.getTotalPoints(), "Total points should be 14 + 19 + 6.");
+        assertEquals(19, summary.getBestScore(), "The best score should be 19 points.");
+        assertEquals(3, summary.getDaySessions(now.toLocalDate()), "All three sessions were today.");
+        assertEquals(39, summary.getDayPoints(now.toLocalDate()), "All points were scored today.");
+    }
+
     @Test
     void testEmptyScoreFile() throws IOException {
         // Test reading from an empty score file, should return an empty list
@@ -136,7 +209,9 @@ class ScoreTest {
 
     @AfterEach
     void tearDown() {
-        // Clean up by deleting the test score file after each test
+        // Clean up by deleting the test score file and its sidecars after each test
         new File(SCORE_FILE).delete();
+        new File(SCORE_FILE + ".idx").delete();
+        new File(SCORE_FILE + ".sum").delete();
     }
 }